@@ -0,0 +1,53 @@
+package com.example.planetmapper.client.renderer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two CPU passes of planet texture generation. Texture upload needs a render context
+ * and is left out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlanetTextureGeneratorBenchmark {
+    private static final long SEED = 0x5DEECE66DL;
+
+    @Param({"256", "1024"})
+    public int resolution;
+
+    private PlanetTextureGenerator.PlanetFields fields;
+    private int[] albedo;
+    private int[] normal;
+
+    @Setup
+    public void setup() {
+        fields = PlanetTextureGenerator.generateFields(SEED, resolution, resolution);
+        albedo = new int[resolution * resolution];
+        normal = new int[resolution * resolution];
+    }
+
+    @Benchmark
+    public PlanetTextureGenerator.PlanetFields noiseFields() {
+        return PlanetTextureGenerator.generateFields(SEED, resolution, resolution);
+    }
+
+    @Benchmark
+    public long[] shade() {
+        return PlanetTextureGenerator.shade(fields, 0.1, albedo, normal);
+    }
+}
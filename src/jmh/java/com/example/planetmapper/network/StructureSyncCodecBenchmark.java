@@ -0,0 +1,81 @@
+package com.example.planetmapper.network;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compressed NBT round trip of a structure sync payload laid out like
+ * {@code PhysicsStructureEntity}'s "Structure" list. Block states are written by hand so no
+ * registries are needed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StructureSyncCodecBenchmark {
+    private static final String[] BLOCKS = {
+            "minecraft:oak_planks", "minecraft:stone_bricks", "minecraft:glass", "minecraft:iron_block"
+    };
+    private static final String[] FACINGS = {"north", "south", "east", "west"};
+
+    @Param({"10000", "200000"})
+    public int blocks;
+
+    private CompoundTag tag;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7L);
+        int side = (int) Math.ceil(Math.cbrt(blocks));
+        ListTag list = new ListTag();
+        for (int i = 0; i < blocks; i++) {
+            int x = i % side;
+            int y = (i / side) % side;
+            int z = i / (side * side);
+            CompoundTag entry = new CompoundTag();
+            entry.putLong("Pos", ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF));
+            CompoundTag state = new CompoundTag();
+            state.putString("Name", BLOCKS[random.nextInt(BLOCKS.length)]);
+            if (random.nextInt(8) == 0) {
+                CompoundTag properties = new CompoundTag();
+                properties.putString("facing", FACINGS[random.nextInt(FACINGS.length)]);
+                state.put("Properties", properties);
+            }
+            entry.put("State", state);
+            list.add(entry);
+        }
+        tag = new CompoundTag();
+        tag.putFloat("OriginOffsetX", 0.5f);
+        tag.putFloat("OriginOffsetY", 0.0f);
+        tag.putFloat("OriginOffsetZ", -0.5f);
+        tag.put("Structure", list);
+        encoded = StructureSyncCodec.encode(tag);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return StructureSyncCodec.encode(tag);
+    }
+
+    @Benchmark
+    public CompoundTag decode() {
+        return StructureSyncCodec.decode(encoded);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.planetmapper.physics;
+
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.phys.shapes.VoxelShape;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player-sized collision, support and ray queries against N hull-shaped bodies laid out on a
+ * grid. Every other body is yawed 30 degrees so both the grid-aligned and oriented paths run.
+ * Colliders are registered directly; the native engine is never touched.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhysicsColliderBenchmark {
+    private static final ResourceKey<Level> DIMENSION =
+            ResourceKey.create(Registries.DIMENSION, ResourceLocation.fromNamespaceAndPath("planetmapper", "benchmark"));
+    private static final int SPACING = 48;
+    private static final int QUERIES = 1024;
+
+    @Param({"16", "256"})
+    public int bodies;
+
+    private AABB[] playerBoxes;
+    private Vec3[] movements;
+    private Vec3[] rayOrigins;
+    private Vec3[] rayDirections;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        PhysicsColliderManager.resetAll();
+        List<AABB> hull = VoxelShapeOptimizer.optimizeLongSet(SyntheticShapes.hull(32));
+        int perRow = (int) Math.ceil(Math.sqrt(bodies));
+        for (int i = 0; i < bodies; i++) {
+            double ox = (i % perRow) * SPACING;
+            double oz = (i / perRow) * SPACING;
+            List<AABB> worldBoxes = hull.stream().map(box -> box.move(ox, 64.0, oz)).toList();
+            long bodyId = i + 1L;
+            PhysicsColliderManager.registerDynamicBody(DIMENSION, bodyId, worldBoxes, null);
+            Vector3f center = PhysicsColliderManager.getBodyCenter(bodyId);
+            Quaternionf rotation = i % 2 == 0 ? new Quaternionf() : new Quaternionf().rotateY((float) Math.toRadians(30.0));
+            PhysicsColliderManager.updateBodyTransform(bodyId, center.x, center.y, center.z, rotation);
+        }
+
+        Random random = new Random(42L);
+        double extent = perRow * SPACING;
+        playerBoxes = new AABB[QUERIES];
+        movements = new Vec3[QUERIES];
+        rayOrigins = new Vec3[QUERIES];
+        rayDirections = new Vec3[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            double x = random.nextDouble() * extent;
+            double y = 62.0 + random.nextDouble() * 8.0;
+            double z = random.nextDouble() * extent;
+            playerBoxes[i] = new AABB(x - 0.3, y, z - 0.3, x + 0.3, y + 1.8, z + 0.3);
+            movements[i] = new Vec3(random.nextGaussian() * 0.3, -0.08, random.nextGaussian() * 0.3);
+            rayOrigins[i] = new Vec3(x, y + 1.6, z);
+            rayDirections[i] = new Vec3(random.nextGaussian(), random.nextGaussian() - 0.5, random.nextGaussian()).normalize();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        PhysicsColliderManager.resetAll();
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public List<VoxelShape> collisionShapes() {
+        int i = next();
+        return PhysicsColliderManager.collectCollisionShapes(DIMENSION, playerBoxes[i].expandTowards(movements[i]));
+    }
+
+    @Benchmark
+    public Vec3 orientedSweep() {
+        int i = next();
+        return PhysicsColliderManager.sweepOriented(DIMENSION, playerBoxes[i], movements[i]);
+    }
+
+    @Benchmark
+    public PhysicsColliderManager.PlatformSupport platformSupport() {
+        return PhysicsColliderManager.getPlatformSupport(DIMENSION, playerBoxes[next()], null);
+    }
+
+    @Benchmark
+    public PhysicsColliderManager.BodyRayHit raycastAll() {
+        int i = next();
+        return PhysicsColliderManager.raycastAll(DIMENSION, rayOrigins[i], rayDirections[i], 64.0);
+    }
+}
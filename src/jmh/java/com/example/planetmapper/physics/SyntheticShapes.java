@@ -0,0 +1,82 @@
+package com.example.planetmapper.physics;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+
+import java.util.Random;
+
+/**
+ * Block sets shaped like the structures players build, for benchmarks.
+ */
+final class SyntheticShapes {
+    private SyntheticShapes() {
+    }
+
+    static LongOpenHashSet create(String kind, int length) {
+        return switch (kind) {
+            case "hull" -> hull(length);
+            case "shell" -> shell(length / 2);
+            case "noisy" -> noisyBlock(length);
+            default -> throw new IllegalArgumentException("Unknown shape " + kind);
+        };
+    }
+
+    /**
+     * Ship hull: a deck plate over a V-shaped keel that narrows towards bow and stern, with a
+     * hollow interior so the diagonal sides cannot be covered by a few large boxes.
+     */
+    static LongOpenHashSet hull(int length) {
+        LongOpenHashSet blocks = new LongOpenHashSet();
+        int halfWidth = Math.max(4, length / 6);
+        int depth = Math.max(4, length / 8);
+        for (int z = 0; z < length; z++) {
+            double taper = 1.0 - Math.pow(Math.abs(z - length * 0.5) / (length * 0.5), 2.0);
+            int width = Math.max(1, (int) Math.round(halfWidth * taper));
+            for (int y = 0; y < depth; y++) {
+                int rowWidth = Math.max(1, width * (y + 1) / depth);
+                for (int x = -rowWidth; x <= rowWidth; x++) {
+                    boolean side = Math.abs(x) >= rowWidth - 1;
+                    boolean deck = y == depth - 1;
+                    boolean keel = y == 0;
+                    if (side || deck || keel) {
+                        blocks.add(BlockPos.asLong(x, y, z));
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+
+    /** Hollow sphere three blocks thick. */
+    static LongOpenHashSet shell(int radius) {
+        LongOpenHashSet blocks = new LongOpenHashSet();
+        for (int x = -radius; x <= radius; x++) {
+            for (int y = -radius; y <= radius; y++) {
+                for (int z = -radius; z <= radius; z++) {
+                    double r = Math.sqrt(x * x + y * y + z * z);
+                    if (r <= radius && r > radius - 3) {
+                        blocks.add(BlockPos.asLong(x, y, z));
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+
+    /** Solid block with 2% of the cells missing at random. */
+    static LongOpenHashSet noisyBlock(int size) {
+        LongOpenHashSet blocks = new LongOpenHashSet();
+        Random random = new Random(1234L);
+        int height = Math.max(1, size / 2);
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < height; y++) {
+                for (int z = 0; z < size; z++) {
+                    if (random.nextFloat() >= 0.02f) {
+                        blocks.add(BlockPos.asLong(x, y, z));
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+}
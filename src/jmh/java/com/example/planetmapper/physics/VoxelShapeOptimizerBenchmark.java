@@ -0,0 +1,87 @@
+package com.example.planetmapper.physics;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.phys.AABB;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meshing throughput on synthetic structures. {@code hashedBaseline} is the previous
+ * hash-set mesher, kept for comparison with the dense bit-grid path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VoxelShapeOptimizerBenchmark {
+    @Param({"hull", "shell", "noisy"})
+    public String shape;
+
+    @Param({"64", "160"})
+    public int size;
+
+    private LongOpenHashSet blocks;
+    private Set<BlockPos> positions;
+
+    @Setup
+    public void setup() {
+        blocks = SyntheticShapes.create(shape, size);
+        positions = new HashSet<>(blocks.size());
+        LongIterator iterator = blocks.iterator();
+        while (iterator.hasNext()) {
+            positions.add(BlockPos.of(iterator.nextLong()));
+        }
+    }
+
+    @Benchmark
+    public List<AABB> optimizeLongSet() {
+        return VoxelShapeOptimizer.optimizeLongSet(blocks);
+    }
+
+    @Benchmark
+    public List<AABB> optimizeLongSetSequential() {
+        return VoxelShapeOptimizer.optimizeLongSet(blocks, false, false);
+    }
+
+    @Benchmark
+    public List<AABB> optimizeBlockPosSet() {
+        return VoxelShapeOptimizer.optimize(positions);
+    }
+
+    @Benchmark
+    public List<AABB> hashedBaseline() {
+        return VoxelShapeOptimizer.optimizeLongSetHashed(blocks);
+    }
+
+    /**
+     * Every strategy on the same input, so the JMH report lines them up per shape.
+     */
+    @State(Scope.Benchmark)
+    public static class StrategyState {
+        @Param({"GREEDY", "BEST_AXIS_ORDER", "OCTREE", "MAXIMAL_CUBOID"})
+        public DecompositionStrategy strategy;
+    }
+
+    @Benchmark
+    public VoxelShapeOptimizer.DecompositionResult decompose(StrategyState state) {
+        return VoxelShapeOptimizer.decompose(blocks, state.strategy);
+    }
+}
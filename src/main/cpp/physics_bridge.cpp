@@ -9,6 +9,7 @@
 #include <Jolt/Physics/Collision/Shape/BoxShape.h>
 #include <Jolt/Physics/Collision/Shape/StaticCompoundShape.h>
 #include <Jolt/Physics/Collision/Shape/MutableCompoundShape.h>
+#include <Jolt/Physics/Collision/Shape/OffsetCenterOfMassShape.h>
 #include <Jolt/Physics/Body/BodyCreationSettings.h>
 #include <Jolt/Physics/Body/BodyActivationListener.h>
 #include <Jolt/Physics/Body/BodyLock.h>
@@ -221,6 +222,34 @@ static constexpr float kDefaultRestitution = 0.0f;
 static constexpr float kDefaultLinearDamping = 0.05f;
 static constexpr float kDefaultAngularDamping = 0.1f;
 
+// massProperties layout: [cx, cy, cz, Ixx, Iyy, Izz, Ixy, Ixz, Iyz], inertia already scaled by mass.
+static JPH::MassProperties MakeMassProperties(const jfloat* massProperties, float mass) {
+    JPH::MassProperties properties;
+    properties.mMass = mass;
+    properties.mInertia = JPH::Mat44::sIdentity();
+    properties.mInertia(0, 0) = massProperties[3];
+    properties.mInertia(1, 1) = massProperties[4];
+    properties.mInertia(2, 2) = massProperties[5];
+    properties.mInertia(0, 1) = properties.mInertia(1, 0) = massProperties[6];
+    properties.mInertia(0, 2) = properties.mInertia(2, 0) = massProperties[7];
+    properties.mInertia(1, 2) = properties.mInertia(2, 1) = massProperties[8];
+    return properties;
+}
+
+// Moves the shape's center of mass to centerOfMass (shape space) without moving its geometry.
+static JPH::RefConst<JPH::Shape> WithCenterOfMass(const JPH::Shape* shape, JPH::Vec3Arg centerOfMass) {
+    JPH::Vec3 offset = centerOfMass - shape->GetCenterOfMass();
+    if (offset.IsNearZero()) {
+        return shape;
+    }
+    JPH::OffsetCenterOfMassShapeSettings settings(offset, shape);
+    JPH::ShapeSettings::ShapeResult result = settings.Create();
+    if (result.HasError()) {
+        return shape;
+    }
+    return result.Get();
+}
+
 static jlong CreateRigidBodyInternal(PhysicsWorld* pw,
                                      const jfloat* minData,
                                      const jfloat* maxData,
@@ -229,12 +258,16 @@ static jlong CreateRigidBodyInternal(PhysicsWorld* pw,
                                      float friction,
                                      float restitution,
                                      float linearDamping,
-                                     float angularDamping) {
+                                     float angularDamping,
+                                     const jfloat* massProperties = nullptr) {
     if (!pw || !pw->mPhysicsSystem || boxCount <= 0) {
         return 0;
     }
 
-    JPH::Vec3 bodyCenter = ComputeWeightedCenter(minData, maxData, boxCount);
+    // With explicit mass properties the body sits on the given center instead of the box volume center.
+    JPH::Vec3 bodyCenter = massProperties != nullptr
+            ? JPH::Vec3(massProperties[0], massProperties[1], massProperties[2])
+            : ComputeWeightedCenter(minData, maxData, boxCount);
     JPH::BodyInterface& bi = pw->mPhysicsSystem->GetBodyInterface();
 
     JPH::MutableCompoundShapeSettings compoundSettings;
@@ -252,9 +285,19 @@ static jlong CreateRigidBodyInternal(PhysicsWorld* pw,
     JPH::ShapeSettings::ShapeResult result = compoundSettings.Create();
     if (result.HasError()) return 0;
 
-    JPH::BodyCreationSettings settings(result.Get(), bodyCenter, JPH::Quat::sIdentity(), JPH::EMotionType::Dynamic, Layers::MOVING);
-    settings.mOverrideMassProperties = JPH::EOverrideMassProperties::CalculateInertia;
-    settings.mMassPropertiesOverride.mMass = std::max(1.0f, mass);
+    JPH::RefConst<JPH::Shape> shape = result.Get();
+    if (massProperties != nullptr) {
+        shape = WithCenterOfMass(shape, JPH::Vec3::sZero());
+    }
+
+    JPH::BodyCreationSettings settings(shape, bodyCenter, JPH::Quat::sIdentity(), JPH::EMotionType::Dynamic, Layers::MOVING);
+    if (massProperties != nullptr) {
+        settings.mOverrideMassProperties = JPH::EOverrideMassProperties::MassAndInertiaProvided;
+        settings.mMassPropertiesOverride = MakeMassProperties(massProperties, std::max(1.0f, mass));
+    } else {
+        settings.mOverrideMassProperties = JPH::EOverrideMassProperties::CalculateInertia;
+        settings.mMassPropertiesOverride.mMass = std::max(1.0f, mass);
+    }
     settings.mFriction = friction;
     settings.mRestitution = restitution;
     settings.mLinearDamping = linearDamping;
@@ -335,6 +378,30 @@ JNIEXPORT jlong JNICALL Java_com_example_planetmapper_physics_NativePhysicsEngin
     return bodyId;
 }
 
+JNIEXPORT jlong JNICALL Java_com_example_planetmapper_physics_NativePhysicsEngine_nativeCreateRigidBodyWithMass(
+    JNIEnv* env, jclass clazz, jlong worldPtr, jfloatArray mins, jfloatArray maxs, jint boxCount, jfloat mass,
+    jfloat friction, jfloat restitution, jfloat linearDamping, jfloat angularDamping, jfloatArray massProperties) {
+    auto* pw = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    if (!pw || !pw->mPhysicsSystem || env->GetArrayLength(massProperties) < 9) return 0;
+
+    jfloat* minData = env->GetFloatArrayElements(mins, nullptr);
+    jfloat* maxData = env->GetFloatArrayElements(maxs, nullptr);
+    jfloat massData[9];
+    env->GetFloatArrayRegion(massProperties, 0, 9, massData);
+    if (!minData || !maxData || boxCount <= 0) {
+        if (minData) env->ReleaseFloatArrayElements(mins, minData, 0);
+        if (maxData) env->ReleaseFloatArrayElements(maxs, maxData, 0);
+        return 0;
+    }
+
+    jlong bodyId = CreateRigidBodyInternal(pw, minData, maxData, boxCount, mass,
+            friction, restitution, linearDamping, angularDamping, massData);
+
+    env->ReleaseFloatArrayElements(mins, minData, 0);
+    env->ReleaseFloatArrayElements(maxs, maxData, 0);
+    return bodyId;
+}
+
 JNIEXPORT jlong JNICALL Java_com_example_planetmapper_physics_NativePhysicsEngine_nativeCreateStaticBody(JNIEnv* env, jclass clazz, jlong worldPtr, jfloatArray mins, jfloatArray maxs, jint boxCount) {
     auto* pw = reinterpret_cast<PhysicsWorld*>(worldPtr);
     if (!pw || !pw->mPhysicsSystem) return 0;
@@ -410,6 +477,43 @@ JNIEXPORT void JNICALL Java_com_example_planetmapper_physics_NativePhysicsEngine
     env->SetFloatArrayRegion(outState, 0, 13, state);
 }
 
+JNIEXPORT void JNICALL Java_com_example_planetmapper_physics_NativePhysicsEngine_nativeSetBodyState(JNIEnv* env, jclass clazz, jlong worldPtr, jlong bodyId, jfloatArray inState) {
+    auto* pw = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    if (!pw || !pw->mPhysicsSystem || !inState || env->GetArrayLength(inState) < 13) return;
+
+    jfloat state[13];
+    env->GetFloatArrayRegion(inState, 0, 13, state);
+
+    JPH::BodyID id(static_cast<JPH::uint32>(bodyId));
+    JPH::BodyInterface& bi = pw->mPhysicsSystem->GetBodyInterface();
+    if (!bi.IsAdded(id)) return;
+
+    JPH::Quat rot(state[3], state[4], state[5], state[6]);
+    bi.SetPositionAndRotation(id, JPH::RVec3(state[0], state[1], state[2]), rot.Normalized(), JPH::EActivation::Activate);
+    bi.SetLinearAndAngularVelocity(id, JPH::Vec3(state[7], state[8], state[9]), JPH::Vec3(state[10], state[11], state[12]));
+}
+
+JNIEXPORT jboolean JNICALL Java_com_example_planetmapper_physics_NativePhysicsEngine_nativeSetBodyEnabled(JNIEnv* env, jclass clazz, jlong worldPtr, jlong bodyId, jboolean enabled) {
+    auto* pw = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    if (!pw || !pw->mPhysicsSystem) return JNI_FALSE;
+
+    JPH::BodyID id(static_cast<JPH::uint32>(bodyId));
+    {
+        JPH::BodyLockRead lock(pw->mPhysicsSystem->GetBodyLockInterface(), id);
+        if (!lock.Succeeded()) return JNI_FALSE;
+    }
+
+    // RemoveBody keeps the body and its state alive; only the broadphase entry and activation go away.
+    JPH::BodyInterface& bi = pw->mPhysicsSystem->GetBodyInterface();
+    bool added = bi.IsAdded(id);
+    if (enabled && !added) {
+        bi.AddBody(id, JPH::EActivation::Activate);
+    } else if (!enabled && added) {
+        bi.RemoveBody(id);
+    }
+    return JNI_TRUE;
+}
+
 JNIEXPORT void JNICALL Java_com_example_planetmapper_physics_NativePhysicsEngine_nativeApplyForce(JNIEnv* env, jclass clazz, jlong worldPtr, jlong bodyId, jfloat fx, jfloat fy, jfloat fz) {
     auto* pw = reinterpret_cast<PhysicsWorld*>(worldPtr);
     if (!pw || !pw->mPhysicsSystem) return;
@@ -487,6 +591,154 @@ JNIEXPORT void JNICALL Java_com_example_planetmapper_physics_NativePhysicsEngine
     }
 }
 
+JNIEXPORT jboolean JNICALL Java_com_example_planetmapper_physics_NativePhysicsEngine_nativeUpdateBodyShapeWithMass(
+    JNIEnv* env, jclass clazz, jlong worldPtr, jlong bodyId, jfloatArray mins, jfloatArray maxs, jint boxCount,
+    jfloat mass, jfloatArray massProperties) {
+    auto* pw = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    if (!pw || !pw->mPhysicsSystem || boxCount <= 0 || env->GetArrayLength(massProperties) < 9) return JNI_FALSE;
+
+    JPH::BodyID id(static_cast<JPH::uint32>(bodyId));
+    JPH::BodyInterface& bi = pw->mPhysicsSystem->GetBodyInterface();
+    if (!bi.IsAdded(id)) return JNI_FALSE;
+
+    jfloat massData[9];
+    env->GetFloatArrayRegion(massProperties, 0, 9, massData);
+    jfloat* minData = env->GetFloatArrayElements(mins, nullptr);
+    jfloat* maxData = env->GetFloatArrayElements(maxs, nullptr);
+    if (!minData || !maxData) {
+        if (minData) env->ReleaseFloatArrayElements(mins, minData, JNI_ABORT);
+        if (maxData) env->ReleaseFloatArrayElements(maxs, maxData, JNI_ABORT);
+        return JNI_FALSE;
+    }
+
+    JPH::MutableCompoundShapeSettings compoundSettings;
+    for (int i = 0; i < boxCount; ++i) {
+        int offset = i * 3;
+        JPH::Vec3 min(minData[offset], minData[offset + 1], minData[offset + 2]);
+        JPH::Vec3 max(maxData[offset], maxData[offset + 1], maxData[offset + 2]);
+        compoundSettings.AddShape((min + max) * 0.5f, JPH::Quat::sIdentity(), new JPH::BoxShape((max - min) * 0.5f), i);
+    }
+
+    env->ReleaseFloatArrayElements(mins, minData, JNI_ABORT);
+    env->ReleaseFloatArrayElements(maxs, maxData, JNI_ABORT);
+
+    JPH::ShapeSettings::ShapeResult result = compoundSettings.Create();
+    if (result.HasError()) return JNI_FALSE;
+
+    // Boxes are body-local, so the requested center is already in shape space.
+    JPH::RefConst<JPH::Shape> shape = WithCenterOfMass(result.Get(), JPH::Vec3(massData[0], massData[1], massData[2]));
+    bi.SetShape(id, shape, false, JPH::EActivation::Activate);
+
+    JPH::BodyLockWrite lock(pw->mPhysicsSystem->GetBodyLockInterface(), id);
+    if (!lock.Succeeded()) return JNI_FALSE;
+    JPH::Body& body = lock.GetBody();
+    if (JPH::MotionProperties* motion = body.GetMotionProperties()) {
+        motion->SetMassProperties(JPH::EAllowedDOFs::All, MakeMassProperties(massData, std::max(1.0f, mass)));
+    }
+    return JNI_TRUE;
+}
+
+JNIEXPORT jboolean JNICALL Java_com_example_planetmapper_physics_NativePhysicsEngine_nativeSetBodyMassProperties(
+    JNIEnv* env, jclass clazz, jlong worldPtr, jlong bodyId, jfloat mass, jfloatArray massProperties) {
+    auto* pw = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    if (!pw || !pw->mPhysicsSystem || env->GetArrayLength(massProperties) < 9) return JNI_FALSE;
+
+    JPH::BodyID id(static_cast<JPH::uint32>(bodyId));
+    JPH::BodyInterface& bi = pw->mPhysicsSystem->GetBodyInterface();
+    if (!bi.IsAdded(id)) return JNI_FALSE;
+
+    jfloat massData[9];
+    env->GetFloatArrayRegion(massProperties, 0, 9, massData);
+
+    // Re-wrap the collision geometry rather than stacking another offset on top of the last one.
+    JPH::RefConst<JPH::Shape> shape = bi.GetShape(id);
+    if (shape == nullptr) return JNI_FALSE;
+    if (shape->GetSubType() == JPH::EShapeSubType::OffsetCenterOfMass) {
+        shape = static_cast<const JPH::OffsetCenterOfMassShape*>(shape.GetPtr())->GetInnerShape();
+    }
+    bi.SetShape(id, WithCenterOfMass(shape, JPH::Vec3(massData[0], massData[1], massData[2])), false,
+                JPH::EActivation::DontActivate);
+
+    JPH::BodyLockWrite lock(pw->mPhysicsSystem->GetBodyLockInterface(), id);
+    if (!lock.Succeeded()) return JNI_FALSE;
+    JPH::Body& body = lock.GetBody();
+    JPH::MotionProperties* motion = body.GetMotionProperties();
+    if (!motion) return JNI_FALSE;
+    motion->SetMassProperties(JPH::EAllowedDOFs::All, MakeMassProperties(massData, std::max(1.0f, mass)));
+    return JNI_TRUE;
+}
+
+JNIEXPORT jboolean JNICALL Java_com_example_planetmapper_physics_NativePhysicsEngine_nativePatchBodyShape(
+    JNIEnv* env, jclass clazz, jlong worldPtr, jlong bodyId, jint expectedCount, jint newCount,
+    jintArray indices, jfloatArray mins, jfloatArray maxs, jint patchCount) {
+    auto* pw = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    if (!pw || !pw->mPhysicsSystem || newCount <= 0) return JNI_FALSE;
+
+    JPH::BodyID id(static_cast<JPH::uint32>(bodyId));
+    JPH::BodyInterface& bi = pw->mPhysicsSystem->GetBodyInterface();
+    if (!bi.IsAdded(id)) return JNI_FALSE;
+
+    JPH::RefConst<JPH::Shape> shape = bi.GetShape(id);
+    if (shape == nullptr) return JNI_FALSE;
+    // Bodies with explicit mass properties wrap their compound in a center of mass offset.
+    const JPH::Shape* inner = shape.GetPtr();
+    if (inner->GetSubType() == JPH::EShapeSubType::OffsetCenterOfMass) {
+        inner = static_cast<const JPH::OffsetCenterOfMassShape*>(inner)->GetInnerShape();
+    }
+    if (inner->GetSubType() != JPH::EShapeSubType::MutableCompound) return JNI_FALSE;
+    // Every body owns its compound, so editing it in place does not affect other bodies.
+    auto* compound = const_cast<JPH::MutableCompoundShape*>(static_cast<const JPH::MutableCompoundShape*>(inner));
+    if (static_cast<jint>(compound->GetNumSubShapes()) != expectedCount) return JNI_FALSE;
+
+    jint* indexData = env->GetIntArrayElements(indices, nullptr);
+    jfloat* minData = env->GetFloatArrayElements(mins, nullptr);
+    jfloat* maxData = env->GetFloatArrayElements(maxs, nullptr);
+    if (!indexData || !minData || !maxData) {
+        if (indexData) env->ReleaseIntArrayElements(indices, indexData, JNI_ABORT);
+        if (minData) env->ReleaseFloatArrayElements(mins, minData, JNI_ABORT);
+        if (maxData) env->ReleaseFloatArrayElements(maxs, maxData, JNI_ABORT);
+        return JNI_FALSE;
+    }
+
+    JPH::Vec3 previousCenterOfMass = shape->GetCenterOfMass();
+    bool ok = true;
+
+    // Existing slots first, then trim, then append; indices arrive sorted.
+    for (int i = 0; i < patchCount; ++i) {
+        jint index = indexData[i];
+        if (index >= expectedCount || index >= newCount) continue;
+        int offset = i * 3;
+        JPH::Vec3 min(minData[offset], minData[offset + 1], minData[offset + 2]);
+        JPH::Vec3 max(maxData[offset], maxData[offset + 1], maxData[offset + 2]);
+        compound->ModifyShape(static_cast<JPH::uint>(index), (min + max) * 0.5f, JPH::Quat::sIdentity(),
+                              new JPH::BoxShape((max - min) * 0.5f));
+    }
+    while (static_cast<jint>(compound->GetNumSubShapes()) > newCount) {
+        compound->RemoveShape(compound->GetNumSubShapes() - 1);
+    }
+    for (int i = 0; i < patchCount && ok; ++i) {
+        jint index = indexData[i];
+        if (index < expectedCount || index >= newCount) continue;
+        if (static_cast<jint>(compound->GetNumSubShapes()) != index) {
+            ok = false;
+            break;
+        }
+        int offset = i * 3;
+        JPH::Vec3 min(minData[offset], minData[offset + 1], minData[offset + 2]);
+        JPH::Vec3 max(maxData[offset], maxData[offset + 1], maxData[offset + 2]);
+        compound->AddShape((min + max) * 0.5f, JPH::Quat::sIdentity(), new JPH::BoxShape((max - min) * 0.5f),
+                           static_cast<JPH::uint32>(index));
+    }
+
+    env->ReleaseIntArrayElements(indices, indexData, JNI_ABORT);
+    env->ReleaseFloatArrayElements(mins, minData, JNI_ABORT);
+    env->ReleaseFloatArrayElements(maxs, maxData, JNI_ABORT);
+
+    // Mass properties stay as they are, matching nativeUpdateBodyShape.
+    bi.NotifyShapeChanged(id, previousCenterOfMass, false, JPH::EActivation::Activate);
+    return ok && static_cast<jint>(compound->GetNumSubShapes()) == newCount ? JNI_TRUE : JNI_FALSE;
+}
+
 JNIEXPORT void JNICALL Java_com_example_planetmapper_physics_NativePhysicsEngine_nativeRemoveBody(JNIEnv* env, jclass clazz, jlong worldPtr, jlong bodyId) {
     auto* pw = reinterpret_cast<PhysicsWorld*>(worldPtr);
     if (!pw || !pw->mPhysicsSystem) return;
@@ -1,5 +1,6 @@
 package com.example.planetmapper;
 
+import com.example.planetmapper.physics.DecompositionStrategy;
 import net.neoforged.neoforge.common.ModConfigSpec;
 
 public class Config {
@@ -16,6 +17,22 @@ public class Config {
     public static final ModConfigSpec.BooleanValue PHYSICS_WORLD_PHYSICS_ENABLED;
     public static final ModConfigSpec.IntValue PHYSICS_EXPLOSION_MAX_BLOCKS;
     public static final ModConfigSpec.IntValue PHYSICS_EXPLOSION_COLLAPSE_HEIGHT;
+    public static final ModConfigSpec.IntValue PHYSICS_EXPLOSION_MAX_BODIES;
+    public static final ModConfigSpec.IntValue PHYSICS_EXPLOSION_MIN_FRAGMENT_BLOCKS;
+    public static final ModConfigSpec.IntValue PHYSICS_DEBRIS_MAX_BODIES;
+    public static final ModConfigSpec.IntValue PHYSICS_DEBRIS_SETTLE_SLEEP_TICKS;
+    public static final ModConfigSpec.IntValue PHYSICS_DEBRIS_LIFETIME_TICKS;
+    public static final ModConfigSpec.EnumValue<DecompositionStrategy> PHYSICS_STRUCTURE_DECOMPOSITION;
+    public static final ModConfigSpec.EnumValue<DecompositionStrategy> PHYSICS_STATIC_DECOMPOSITION;
+    public static final ModConfigSpec.IntValue PHYSICS_SHELL_DEPTH;
+    public static final ModConfigSpec.IntValue PHYSICS_REBUILD_QUIET_TICKS;
+    public static final ModConfigSpec.IntValue PHYSICS_REBUILD_MAX_LATENCY_TICKS;
+    public static final ModConfigSpec.IntValue PHYSICS_MAX_CONCURRENT_REBUILDS;
+    public static final ModConfigSpec.BooleanValue PHYSICS_SPLIT_DETACHED;
+    public static final ModConfigSpec.IntValue PHYSICS_FREEZE_DISTANCE_CHUNKS;
+    public static final ModConfigSpec.IntValue PHYSICS_SETTLE_SLEEP_TICKS;
+    public static final ModConfigSpec.DoubleValue PHYSICS_SETTLE_MAX_ANGLE_DEGREES;
+    public static final ModConfigSpec.IntValue SHIPYARD_COMPACTION_INTERVAL_TICKS;
 
     static {
         BUILDER.push("general");
@@ -30,7 +47,7 @@ public class Config {
                 .comment("Maximum selection volume for physics structures (blocks).")
                 .defineInRange("maxSelectionVolume", 10000000, 1000, Integer.MAX_VALUE);
         PHYSICS_BLOCKS_PER_TICK = BUILDER
-                .comment("How many blocks to process per tick when building a structure.")
+                .comment("How many blocks to lift out of the world per tick when building a structure. Empty sections are skipped and blocks are classified off-thread.")
                 .defineInRange("blocksPerTick", 2000, 100, 200000);
         PHYSICS_COLLISION_BLOCKS_PER_TICK = BUILDER
                 .comment("How many blocks to scan per tick for chunk collision.")
@@ -50,6 +67,57 @@ public class Config {
         PHYSICS_EXPLOSION_COLLAPSE_HEIGHT = BUILDER
                 .comment("Additional unsupported blocks to pull from above an explosion. Set to 0 to disable.")
                 .defineInRange("explosionCollapseHeight", 16, 0, 128);
+        PHYSICS_EXPLOSION_MAX_BODIES = BUILDER
+                .comment("Maximum number of physics structures one explosion splits its debris into. Fragments past the budget become loose debris.")
+                .defineInRange("explosionMaxBodies", 16, 1, 256);
+        PHYSICS_EXPLOSION_MIN_FRAGMENT_BLOCKS = BUILDER
+                .comment("Explosion fragments with fewer blocks than this become loose debris instead of physics structures.")
+                .defineInRange("explosionMinFragmentBlocks", 4, 1, 4096);
+        PHYSICS_DEBRIS_MAX_BODIES = BUILDER
+                .comment("Maximum number of live loose debris blocks per dimension. Blocks past the cap break into drops. Set to 0 to disable debris.")
+                .defineInRange("debrisMaxBodies", 256, 0, 4096);
+        PHYSICS_DEBRIS_SETTLE_SLEEP_TICKS = BUILDER
+                .comment("Debris whose body has slept this many ticks is placed back as a block where it rests. Set to 0 to disable.")
+                .defineInRange("debrisSettleAfterSleepTicks", 40, 0, 72000);
+        PHYSICS_DEBRIS_LIFETIME_TICKS = BUILDER
+                .comment("Ticks after which debris that could not be placed back despawns.")
+                .defineInRange("debrisLifetimeTicks", 1200, 20, 72000);
+        PHYSICS_STRUCTURE_DECOMPOSITION = BUILDER
+                .comment("Box decomposition for physics structure rebuilds. Other strategies are only used when they beat GREEDY on box count.")
+                .defineEnum("structureDecomposition", DecompositionStrategy.GREEDY);
+        PHYSICS_STATIC_DECOMPOSITION = BUILDER
+                .comment("Box decomposition for static chunk colliders. Slower strategies usually give fewer boxes.")
+                .defineEnum("staticDecomposition", DecompositionStrategy.GREEDY);
+        PHYSICS_SHELL_DEPTH = BUILDER
+                .comment("Only blocks within this many blocks of an open face get collision boxes on physics structures; solid interiors still count for mass. Shell meshes fall back to full rebuilds on every edit. Set to 0 to disable.")
+                .defineInRange("shellDepth", 0, 0, 64);
+        PHYSICS_REBUILD_QUIET_TICKS = BUILDER
+                .comment("Ticks without further edits before a structure's collision shape is rebuilt.")
+                .defineInRange("rebuildQuietTicks", 4, 0, 200);
+        PHYSICS_REBUILD_MAX_LATENCY_TICKS = BUILDER
+                .comment("Longest a structure waits for a rebuild while edits keep arriving, in ticks.")
+                .defineInRange("rebuildMaxLatencyTicks", 40, 1, 1200);
+        PHYSICS_MAX_CONCURRENT_REBUILDS = BUILDER
+                .comment("Structure collision rebuilds allowed in flight at once, across all dimensions.")
+                .defineInRange("maxConcurrentRebuilds", 2, 1, 16);
+        PHYSICS_SPLIT_DETACHED = BUILDER
+                .comment("Parts of a physics structure that lose their last connection to the rest become bodies of their own.")
+                .define("splitDetachedParts", true);
+        PHYSICS_FREEZE_DISTANCE_CHUNKS = BUILDER
+                .comment("Physics structures with no player within this many chunks leave the simulation and stop forcing their shipyard chunks. Set to 0 to always simulate them.")
+                .defineInRange("freezeDistanceChunks", 8, 0, 64);
+        PHYSICS_SETTLE_SLEEP_TICKS = BUILDER
+                .comment("Physics structures whose body has slept this many ticks turn back into world blocks, if upright and close to the block grid. 0 (the default) disables settling.")
+                .defineInRange("settleAfterSleepTicks", 0, 0, 72000);
+        PHYSICS_SETTLE_MAX_ANGLE_DEGREES = BUILDER
+                .comment("How far (degrees) a structure may be turned from the nearest quarter turn about the vertical axis and still settle.")
+                .defineInRange("settleMaxAngleDegrees", 5.0, 0.0, 45.0);
+        BUILDER.pop();
+
+        BUILDER.push("shipyard");
+        SHIPYARD_COMPACTION_INTERVAL_TICKS = BUILDER
+                .comment("Every this many ticks, move the furthest-out shipyard region without a loaded structure into freed space closer in. Set to 0 to disable.")
+                .defineInRange("compactionIntervalTicks", 0, 0, 72000);
         BUILDER.pop();
         SPEC = BUILDER.build();
     }
@@ -7,7 +7,6 @@ import net.minecraft.client.renderer.entity.EntityRenderer;
 import net.minecraft.client.renderer.entity.EntityRendererProvider;
 import net.minecraft.client.renderer.texture.TextureAtlas;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 
 public class PhysicsBlockRenderer extends EntityRenderer<PhysicsBlockEntity> {
@@ -30,9 +29,7 @@ public class PhysicsBlockRenderer extends EntityRenderer<PhysicsBlockEntity> {
         // Move back to corner to render 1x1x1 block
         poseStack.translate(-0.5, -0.5, -0.5);
 
-        // Render a generic stone block for now. 
-        // In the future, PhysicsBlockEntity should store the BlockState it represents.
-        BlockState renderState = Blocks.STONE.defaultBlockState();
+        BlockState renderState = entity.getDisplayState();
         
         var blockRenderer = net.minecraft.client.Minecraft.getInstance().getBlockRenderer();
         blockRenderer.renderSingleBlock(renderState, poseStack, buffer, packedLight, 
@@ -257,14 +257,48 @@ public class PlanetTextureGenerator {
         int width = PLANET_TEXTURE_WIDTH;
         int height = PLANET_TEXTURE_HEIGHT;
 
+        long seed = mixSeed(dimensionSeed, dimensionKey.hashCode(), body.getId().getLeastSignificantBits());
+        PlanetFields fields = generateFields(seed, width, height);
+        double planetRelief = computeReliefScale(body.getRadius());
+
+        int[] albedoPixels = new int[width * height];
+        int[] normalPixels = new int[width * height];
+        long[] accum = shade(fields, planetRelief, albedoPixels, normalPixels);
+
         NativeImage albedo = new NativeImage(width, height, false);
         NativeImage normal = new NativeImage(width, height, false);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                albedo.setPixelRGBA(x, y, albedoPixels[y * width + x]);
+                normal.setPixelRGBA(x, y, normalPixels[y * width + x]);
+            }
+        }
+
+        DynamicTexture albedoTex = new DynamicTexture(albedo);
+        DynamicTexture normalTex = new DynamicTexture(normal);
+
+        String baseKey = "planet_" + body.getId().toString().replace("-", "");
+        ResourceLocation albedoLoc = Minecraft.getInstance().getTextureManager().register(baseKey + "_albedo", albedoTex);
+        ResourceLocation normalLoc = Minecraft.getInstance().getTextureManager().register(baseKey + "_normal", normalTex);
+
+        int pixels = width * height;
+        float avgR = (float) (accum[0] / (double) pixels) / 255.0f;
+        float avgG = (float) (accum[1] / (double) pixels) / 255.0f;
+        float avgB = (float) (accum[2] / (double) pixels) / 255.0f;
 
+        return new PlanetMaterial(albedoLoc, normalLoc, fields.heights(), fields.minHeight(), fields.maxHeight(),
+                avgR, avgG, avgB, (float) planetRelief);
+    }
+
+    /**
+     * Noise pass: height and climate fields for an equirectangular map. Pure Java, so it
+     * runs without a render context.
+     */
+    static PlanetFields generateFields(long seed, int width, int height) {
         float[][] heights = new float[width][height];
         float[][] temps = new float[width][height];
         float[][] humids = new float[width][height];
 
-        long seed = mixSeed(dimensionSeed, dimensionKey.hashCode(), body.getId().getLeastSignificantBits());
         RandomSource random = RandomSource.create(seed);
 
         PerlinNoise continentNoise = PerlinNoise.create(random, IntStream.range(0, 8).boxed().collect(Collectors.toList())); 
@@ -273,12 +307,9 @@ public class PlanetTextureGenerator {
         PerlinNoise climateTempNoise = PerlinNoise.create(random, IntStream.range(0, 4).boxed().collect(Collectors.toList()));
         PerlinNoise climateHumidNoise = PerlinNoise.create(random, IntStream.range(1, 5).boxed().collect(Collectors.toList()));
         PerlinNoise warpNoise = PerlinNoise.create(random, IntStream.range(0, 3).boxed().collect(Collectors.toList()));
-        
-        float[] dir = new float[3];
 
         float minH = Float.MAX_VALUE;
         float maxH = -Float.MAX_VALUE;
-        double planetRelief = computeReliefScale(body.getRadius());
 
         // Pass 1: generate height + climate fields
         for (int x = 0; x < width; x++) {
@@ -357,11 +388,25 @@ public class PlanetTextureGenerator {
             }
         }
 
+        return new PlanetFields(heights, temps, humids, minH, maxH);
+    }
+
+    /**
+     * Shading pass: writes ABGR albedo and tangent-space normal pixels (row-major) and
+     * returns the summed albedo R, G and B.
+     */
+    static long[] shade(PlanetFields fields, double planetRelief, int[] albedo, int[] normal) {
+        float[][] heights = fields.heights();
+        float[][] temps = fields.temps();
+        float[][] humids = fields.humids();
+
         // Pass 2: color + normal
         long accumR = 0;
         long accumG = 0;
         long accumB = 0;
 
+        int width = heights.length;
+        int height = heights[0].length;
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
                 float h = heights[x][y];
@@ -371,7 +416,7 @@ public class PlanetTextureGenerator {
                 float humid = humids[x][y];
 
                 int color = colorFor(h, temp, humid, slope);
-                albedo.setPixelRGBA(x, y, color);
+                albedo[y * width + x] = color;
 
                 accumR += (color) & 0xFF;
                 accumG += (color >> 8) & 0xFF;
@@ -392,23 +437,10 @@ public class PlanetTextureGenerator {
                 int ng = (int) (clamp(ny * 0.5 + 0.5, 0.0, 1.0) * 255.0);
                 int nb = (int) (clamp(nz * 0.5 + 0.5, 0.0, 1.0) * 255.0);
                 int packedNormal = (0xFF << 24) | (nb << 16) | (ng << 8) | nr; // ABGR
-                normal.setPixelRGBA(x, y, packedNormal);
+                normal[y * width + x] = packedNormal;
             }
         }
-
-        DynamicTexture albedoTex = new DynamicTexture(albedo);
-        DynamicTexture normalTex = new DynamicTexture(normal);
-
-        String baseKey = "planet_" + body.getId().toString().replace("-", "");
-        ResourceLocation albedoLoc = Minecraft.getInstance().getTextureManager().register(baseKey + "_albedo", albedoTex);
-        ResourceLocation normalLoc = Minecraft.getInstance().getTextureManager().register(baseKey + "_normal", normalTex);
-
-        int pixels = width * height;
-        float avgR = (float) (accumR / (double) pixels) / 255.0f;
-        float avgG = (float) (accumG / (double) pixels) / 255.0f;
-        float avgB = (float) (accumB / (double) pixels) / 255.0f;
-
-        return new PlanetMaterial(albedoLoc, normalLoc, heights, minH, maxH, avgR, avgG, avgB, (float) planetRelief);
+        return new long[]{accumR, accumG, accumB};
     }
 
     private static double computeReliefScale(float radius) {
@@ -542,6 +574,9 @@ public class PlanetTextureGenerator {
         return a + (b - a) * t;
     }
 
+    record PlanetFields(float[][] heights, float[][] temps, float[][] humids, float minHeight, float maxHeight) {
+    }
+
     /**
      * Planet material bundle: albedo + normal + height map with displacement scale.
      */
@@ -1,6 +1,7 @@
 package com.example.planetmapper.command;
 
 import com.example.planetmapper.entity.PhysicsStructureEntity;
+import com.example.planetmapper.physics.MassDistribution;
 import com.example.planetmapper.physics.NativePhysicsEngine;
 import com.example.planetmapper.physics.PhysicsColliderManager;
 import com.example.planetmapper.physics.PhysicsWorldManager;
@@ -105,7 +106,9 @@ public class SpawnPlatformCommand {
         StructurePhysicsProperties physicsProperties = StructurePhysicsProperties.fromBlocks(blocks);
         StructurePhysicsProperties.MaterialSummary material = physicsProperties.snapshot();
         float mass = Math.max(1.0f, material.mass());
-        long bodyId = engine.createRigidBody(worldBoxes, material);
+        MassDistribution distribution = physicsProperties.massDistribution();
+        long bodyId = engine.createRigidBody(worldBoxes, material, distribution == null ? null
+                : distribution.offset(worldOrigin.x, worldOrigin.y, worldOrigin.z));
         if (bodyId <= 0) {
             source.sendFailure(Component.literal("Failed to create physics body."));
             return 0;
@@ -1,17 +1,28 @@
 package com.example.planetmapper.command;
 
+import com.example.planetmapper.Config;
+import com.example.planetmapper.physics.PhysicsColliderManager;
+import com.example.planetmapper.physics.structure.PhysicsStructure;
 import com.example.planetmapper.physics.structure.StructureBuildManager;
+import com.example.planetmapper.physics.structure.StructureDisassembler;
+import com.example.planetmapper.physics.structure.StructurePhysicsManager;
 import com.example.planetmapper.physics.structure.StructureSelection;
 import com.example.planetmapper.physics.structure.StructureSelectionManager;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.Collection;
 
 public class StructureCommand {
+    private static final int SETTLE_RANGE = 64;
 
     public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
         dispatcher.register(Commands.literal("pm_structure_create")
@@ -21,6 +32,52 @@ public class StructureCommand {
         dispatcher.register(Commands.literal("pm_structure_clear")
                 .requires(s -> s.hasPermission(2))
                 .executes(StructureCommand::clear));
+
+        dispatcher.register(Commands.literal("pm_structure_stats")
+                .requires(s -> s.hasPermission(2))
+                .executes(StructureCommand::stats));
+
+        dispatcher.register(Commands.literal("pm_structure_settle")
+                .requires(s -> s.hasPermission(2))
+                .executes(context -> settle(context, Config.PHYSICS_SETTLE_MAX_ANGLE_DEGREES.get()))
+                .then(Commands.argument("maxAngle", DoubleArgumentType.doubleArg(0.0, 45.0))
+                        .executes(context -> settle(context, DoubleArgumentType.getDouble(context, "maxAngle")))));
+    }
+
+    private static int settle(CommandContext<CommandSourceStack> context, double maxAngle) {
+        CommandSourceStack source = context.getSource();
+        Vec3 position = source.getPosition();
+        PhysicsStructure nearest = null;
+        double nearestDistance = SETTLE_RANGE * SETTLE_RANGE;
+        for (PhysicsStructure structure : StructurePhysicsManager.getStructures(source.getLevel().dimension())) {
+            AABB bounds = PhysicsColliderManager.getBodyBounds(structure.getBodyId());
+            if (bounds == null) {
+                continue;
+            }
+            double distance = bounds.distanceToSqr(position);
+            if (distance <= nearestDistance) {
+                nearestDistance = distance;
+                nearest = structure;
+            }
+        }
+        if (nearest == null) {
+            source.sendFailure(Component.literal("No physics structure within " + SETTLE_RANGE + " blocks."));
+            return 0;
+        }
+
+        long bodyId = nearest.getBodyId();
+        int blocks = nearest.getBlockCount();
+        StructureDisassembler.Result result = StructureDisassembler.disassemble(source.getLevel(), nearest, maxAngle);
+        switch (result) {
+            case SETTLED -> {
+                source.sendSuccess(() -> Component.literal("Settled body " + bodyId + " into " + blocks + " blocks."), true);
+                return 1;
+            }
+            case NOT_ALIGNED -> source.sendFailure(Component.literal("Body " + bodyId + " is not within " + maxAngle + " degrees of an upright grid orientation."));
+            case OBSTRUCTED -> source.sendFailure(Component.literal("Body " + bodyId + " overlaps blocks or unloaded chunks; move it first."));
+            default -> source.sendFailure(Component.literal("Body " + bodyId + " cannot be settled right now."));
+        }
+        return 0;
     }
 
     private static int create(CommandContext<CommandSourceStack> context) {
@@ -54,6 +111,24 @@ public class StructureCommand {
         return 0;
     }
 
+    private static int stats(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        Collection<PhysicsStructure> structures = StructurePhysicsManager.getStructures(source.getLevel().dimension());
+        if (structures.isEmpty()) {
+            source.sendSuccess(() -> Component.literal("No physics structures in this dimension."), false);
+            return 0;
+        }
+        for (PhysicsStructure structure : structures) {
+            PhysicsStructure.RebuildStats stats = structure.getRebuildStats();
+            String line = "Body " + structure.getBodyId() + ": " + structure.getBlockCount() + " blocks, "
+                    + stats.count() + " rebuilds, latency last " + stats.lastLatencyMillis() + " ms / avg "
+                    + stats.averageLatencyMillis() + " ms / max " + stats.maxLatencyMillis() + " ms"
+                    + (structure.isDirty() ? " (pending)" : "");
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+        return structures.size();
+    }
+
     private static int clear(CommandContext<CommandSourceStack> context) {
         CommandSourceStack source = context.getSource();
         ServerPlayer player;
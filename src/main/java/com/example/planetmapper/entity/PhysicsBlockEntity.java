@@ -1,6 +1,7 @@
 package com.example.planetmapper.entity;
 
 import com.example.planetmapper.physics.PhysicsBodyEntity;
+import com.example.planetmapper.physics.PhysicsDebrisManager;
 import com.example.planetmapper.physics.PhysicsWorldManager;
 import com.example.planetmapper.physics.NativePhysicsEngine;
 import com.example.planetmapper.shipyard.ShipyardManager;
@@ -14,6 +15,8 @@ import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.Vec3;
 import org.joml.Quaternionf;
 import org.joml.Vector3f;
@@ -22,6 +25,7 @@ public class PhysicsBlockEntity extends Entity implements PhysicsBodyEntity {
     
     // We sync the physics body ID to the client so it knows which body to query/render
     private static final EntityDataAccessor<Long> BODY_ID = SynchedEntityData.defineId(PhysicsBlockEntity.class, EntityDataSerializers.LONG);
+    private static final EntityDataAccessor<BlockState> DISPLAY_STATE = SynchedEntityData.defineId(PhysicsBlockEntity.class, EntityDataSerializers.BLOCK_STATE);
     
     // Local buffers for reading native state
     private final float[] stateBuffer = new float[13];
@@ -47,15 +51,7 @@ public class PhysicsBlockEntity extends Entity implements PhysicsBodyEntity {
         if (this.level().isClientSide) {
             prevRotation.set(rotation); // Keep this for interpolation
             applyClientInterpolation();
-            // Update collider with current interpolated transform
-            long id = getBodyId();
-            if (id > 0) {
-                com.example.planetmapper.physics.PhysicsColliderManager.updateBodyState(
-                    id, (float)getX(), (float)getY(), (float)getZ(), rotation, 
-                    (float)getDeltaMovement().x, (float)getDeltaMovement().y, (float)getDeltaMovement().z,
-                    this.angularVelocity.x, this.angularVelocity.y, this.angularVelocity.z
-                );
-            }
+            // The collider is placed from its server-stamped history, see PhysicsColliderClientHandler
         } else {
             updateStateFromNative();
         }
@@ -70,9 +66,21 @@ public class PhysicsBlockEntity extends Entity implements PhysicsBodyEntity {
         return this.entityData.get(BODY_ID);
     }
 
+    /**
+     * Block the renderer draws for this body; stone unless set, e.g. for debris.
+     */
+    public BlockState getDisplayState() {
+        return this.entityData.get(DISPLAY_STATE);
+    }
+
+    public void setDisplayState(BlockState state) {
+        this.entityData.set(DISPLAY_STATE, state);
+    }
+
     @Override
     protected void defineSynchedData(SynchedEntityData.Builder builder) {
         builder.define(BODY_ID, 0L);
+        builder.define(DISPLAY_STATE, Blocks.STONE.defaultBlockState());
     }
 
     @Override
@@ -83,6 +91,12 @@ public class PhysicsBlockEntity extends Entity implements PhysicsBodyEntity {
     protected void addAdditionalSaveData(CompoundTag compound) {
     }
 
+    // Debris bodies are pooled and do not survive a reload.
+    @Override
+    public boolean shouldBeSaved() {
+        return super.shouldBeSaved() && !PhysicsDebrisManager.isDebris(getBodyId());
+    }
+
     @Override
     public boolean canBeCollidedWith() {
         return false;
@@ -112,6 +126,10 @@ public class PhysicsBlockEntity extends Entity implements PhysicsBodyEntity {
         // Cleanup native body and sync to clients to remove ghost collision
         if (!this.level().isClientSide) {
              long id = getBodyId();
+             if (id > 0 && this.level() instanceof net.minecraft.server.level.ServerLevel debrisLevel
+                     && PhysicsDebrisManager.onEntityRemoved(debrisLevel, id)) {
+                 return;
+             }
              if (id > 0) {
                  com.example.planetmapper.physics.structure.StructurePhysicsManager.unregisterStructure(id);
                  if (this.level() instanceof net.minecraft.server.level.ServerLevel serverLevel) {
@@ -192,7 +210,7 @@ public class PhysicsBlockEntity extends Entity implements PhysicsBodyEntity {
         net.neoforged.neoforge.network.PacketDistributor.sendToPlayersTrackingEntityAndSelf(
             this,
             new com.example.planetmapper.network.PhysicsEntitySyncPacket(
-                this.getId(), getBodyId(), px, py, pz, rot.x, rot.y, rot.z, rot.w, vx, vy, vz, avx, avy, avz
+                this.getId(), getBodyId(), this.level().getGameTime(), px, py, pz, rot.x, rot.y, rot.z, rot.w, vx, vy, vz, avx, avy, avz
             )
         );
     }
@@ -0,0 +1,33 @@
+package com.example.planetmapper.handler;
+
+import com.example.planetmapper.PlanetMapper;
+import com.example.planetmapper.physics.PhysicsColliderManager;
+import net.minecraft.client.Minecraft;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.RenderFrameEvent;
+
+/**
+ * Places client colliders from their server-stamped history once per frame, so picking and the
+ * local player's next movement tick see them at the frame's time rather than the last tick's.
+ */
+@EventBusSubscriber(modid = PlanetMapper.MODID, value = Dist.CLIENT, bus = EventBusSubscriber.Bus.GAME)
+public class PhysicsColliderClientHandler {
+
+    private PhysicsColliderClientHandler() {
+    }
+
+    @SubscribeEvent
+    public static void onRenderFrame(RenderFrameEvent.Pre event) {
+        Minecraft minecraft = Minecraft.getInstance();
+        if (minecraft.level == null || minecraft.isPaused()) {
+            return;
+        }
+        // The client clock trails the server by roughly the same latency as the packets,
+        // so sampling at the local game time lands at or just past the newest sample.
+        float partialTick = event.getPartialTick().getGameTimeDeltaPartialTick(false);
+        PhysicsColliderManager.advanceClientColliders(minecraft.level.dimension(),
+                minecraft.level.getGameTime() + partialTick);
+    }
+}
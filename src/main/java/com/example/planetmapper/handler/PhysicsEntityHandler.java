@@ -48,6 +48,7 @@ public class PhysicsEntityHandler {
                     new com.example.planetmapper.network.PhysicsEntitySyncPacket(
                             physicsEntity.getId(),
                             bodyId,
+                            level.getGameTime(),
                             state[0], state[1], state[2],
                             state[3], state[4], state[5], state[6],
                             state[7], state[8], state[9],
@@ -55,7 +56,7 @@ public class PhysicsEntityHandler {
                     ));
         }
 
-        List<AABB> boxes = PhysicsColliderManager.getWorldBoxes(level, bodyId);
+        List<AABB> boxes = PhysicsColliderManager.getUnrotatedBoxes(level, bodyId);
         org.joml.Vector3f center = PhysicsColliderManager.getBodyCenter(bodyId);
         if (!boxes.isEmpty() && center != null) {
             float[] state = new float[13];
@@ -13,6 +13,7 @@ import net.neoforged.neoforge.client.event.ClientTickEvent;
 @EventBusSubscriber(modid = PlanetMapper.MODID, value = Dist.CLIENT, bus = EventBusSubscriber.Bus.GAME)
 public class PhysicsPlatformClientHandler {
     private static final double TICK_SECONDS = 1.0 / 20.0;
+    private static final PhysicsColliderManager.SupportCache SUPPORT_CACHE = new PhysicsColliderManager.SupportCache();
 
     private PhysicsPlatformClientHandler() {
     }
@@ -27,11 +28,12 @@ public class PhysicsPlatformClientHandler {
             return;
         }
         if (!minecraft.player.onGround()) {
+            SUPPORT_CACHE.invalidate();
             return;
         }
 
         AABB box = minecraft.player.getBoundingBox();
-        Vec3 platformVelocity = PhysicsColliderManager.getPlatformVelocityClient(minecraft.level, box);
+        Vec3 platformVelocity = PhysicsColliderManager.getPlatformVelocityClient(minecraft.level, box, SUPPORT_CACHE);
         if (platformVelocity == null || platformVelocity.lengthSqr() < 1.0E-6) {
             return;
         }
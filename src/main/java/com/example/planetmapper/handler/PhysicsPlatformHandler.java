@@ -8,13 +8,19 @@ import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 import net.neoforged.neoforge.event.tick.PlayerTickEvent;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
 @EventBusSubscriber(modid = PlanetMapper.MODID, bus = EventBusSubscriber.Bus.GAME)
 public class PhysicsPlatformHandler {
 
     private static final double TICK_SECONDS = 1.0 / 20.0;
     private static final double MAX_PENETRATION_CORRECTION = 0.4;
+    private static final Map<UUID, PhysicsColliderManager.SupportCache> SUPPORT_CACHES = new HashMap<>();
 
     private PhysicsPlatformHandler() {
     }
@@ -35,7 +41,8 @@ public class PhysicsPlatformHandler {
         }
 
         AABB box = player.getBoundingBox();
-        PhysicsColliderManager.PlatformSupport support = PhysicsColliderManager.getPlatformSupport(level, box);
+        PhysicsColliderManager.SupportCache cache = SUPPORT_CACHES.computeIfAbsent(player.getUUID(), id -> new PhysicsColliderManager.SupportCache());
+        PhysicsColliderManager.PlatformSupport support = PhysicsColliderManager.getPlatformSupport(level, box, cache);
         if (support == null) {
             return;
         }
@@ -54,4 +61,9 @@ public class PhysicsPlatformHandler {
         Vec3 delta = platformVelocity.scale(TICK_SECONDS);
         player.setDeltaMovement(player.getDeltaMovement().add(delta));
     }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        SUPPORT_CACHES.remove(event.getEntity().getUUID());
+    }
 }
@@ -26,6 +26,7 @@ public class ShipyardHandler {
 
     @SubscribeEvent
     public static void onServerStopping(ServerStoppingEvent event) {
+        ShipyardManager.finishPendingClears(ShipyardManager.getShipyardLevel(event.getServer()));
         ShipyardManager.reset();
     }
 
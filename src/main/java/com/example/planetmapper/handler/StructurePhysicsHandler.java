@@ -1,6 +1,7 @@
 package com.example.planetmapper.handler;
 
 import com.example.planetmapper.PlanetMapper;
+import com.example.planetmapper.physics.PhysicsDebrisManager;
 import com.example.planetmapper.physics.structure.StructurePhysicsManager;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
@@ -59,12 +60,14 @@ public class StructurePhysicsHandler {
         }
         if (event.getLevel() instanceof ServerLevel level) {
             StructurePhysicsManager.onLevelTick(level);
+            PhysicsDebrisManager.onLevelTick(level);
         }
     }
 
     @SubscribeEvent
     public static void onServerStopping(ServerStoppingEvent event) {
         StructurePhysicsManager.shutdown();
+        PhysicsDebrisManager.shutdown();
     }
 
     @SubscribeEvent
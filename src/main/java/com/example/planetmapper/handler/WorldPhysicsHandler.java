@@ -2,10 +2,18 @@ package com.example.planetmapper.handler;
 
 import com.example.planetmapper.Config;
 import com.example.planetmapper.PlanetMapper;
+import com.example.planetmapper.physics.PhysicsDebrisManager;
+import com.example.planetmapper.physics.WorldCollisionManager;
+import com.example.planetmapper.physics.structure.BlockComponents;
 import com.example.planetmapper.physics.structure.WorldStructureSpawner;
+import com.example.planetmapper.util.SectionBlockWriter;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.neoforged.bus.api.SubscribeEvent;
@@ -44,6 +52,8 @@ public class WorldPhysicsHandler {
             }
         }
 
+        // Blocks above the blast that lose their support; not in the explosion's own list.
+        LongOpenHashSet collapsed = new LongOpenHashSet();
         if (collapseHeight > 0 && !selection.isEmpty() && selection.size() < maxBlocks) {
             LongOpenHashSet base = new LongOpenHashSet(selection);
             for (long key : base) {
@@ -63,13 +73,62 @@ public class WorldPhysicsHandler {
                         break;
                     }
                     selection.add(above.asLong());
+                    collapsed.add(above.asLong());
                 }
             }
         }
 
-        if (!selection.isEmpty()) {
-            affected.removeIf(pos -> selection.contains(pos.asLong()));
-            WorldStructureSpawner.spawnFromWorld(level, selection);
+        if (selection.isEmpty()) {
+            return;
+        }
+
+        // Each fragment gets its own body. Fragments past the budget, or too small to be worth
+        // a structure, become loose debris while the debris cap allows; whatever is left goes
+        // to the explosion so it breaks into drops as usual.
+        int maxBodies = Config.PHYSICS_EXPLOSION_MAX_BODIES.get();
+        int minFragmentBlocks = Config.PHYSICS_EXPLOSION_MIN_FRAGMENT_BLOCKS.get();
+        int debrisBudget = PhysicsDebrisManager.remaining(level);
+        LongOpenHashSet converted = new LongOpenHashSet(selection.size());
+        Long2ObjectOpenHashMap<BlockState> debris = new Long2ObjectOpenHashMap<>();
+        SectionBlockWriter remover = new SectionBlockWriter(level);
+        int bodies = 0;
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        for (LongArrayList fragment : BlockComponents.split(selection)) {
+            if (bodies < maxBodies && fragment.size() >= minFragmentBlocks) {
+                LongOpenHashSet positions = new LongOpenHashSet(fragment);
+                converted.addAll(positions);
+                WorldStructureSpawner.spawnFromWorld(level, positions);
+                bodies++;
+                continue;
+            }
+            for (int i = 0; i < fragment.size() && debris.size() < debrisBudget; i++) {
+                long key = fragment.getLong(i);
+                BlockState state = level.getBlockState(cursor.set(key));
+                if (state.hasBlockEntity()) {
+                    continue;
+                }
+                debris.put(key, state);
+                converted.add(key);
+                remover.remove(cursor);
+            }
+        }
+
+        LongIterator chunks = remover.flush().iterator();
+        while (chunks.hasNext()) {
+            WorldCollisionManager.markChunkDirtyNow(level, new ChunkPos(chunks.nextLong()));
+        }
+        debris.long2ObjectEntrySet().fastForEach(entry ->
+                PhysicsDebrisManager.spawn(level, BlockPos.of(entry.getLongKey()), entry.getValue()));
+        if (!converted.isEmpty()) {
+            affected.removeIf(pos -> converted.contains(pos.asLong()));
+        }
+        // Collapse blocks left out of every body and the debris would float; the blast breaks them instead.
+        LongIterator leftover = collapsed.iterator();
+        while (leftover.hasNext()) {
+            long key = leftover.nextLong();
+            if (!converted.contains(key)) {
+                affected.add(BlockPos.of(key));
+            }
         }
     }
 
@@ -94,8 +94,14 @@ public abstract class EntityMixin {
         return merged;
     }
 
-    @Inject(method = "collide", at = @At("RETURN"))
+    @Inject(method = "collide", at = @At("RETURN"), cancellable = true)
     private void planetmapper$clearPhysicsColliders(Vec3 movement, CallbackInfoReturnable<Vec3> cir) {
         this.planetmapper$physicsShapes = Collections.emptyList();
+        Entity entity = (Entity) (Object) this;
+        Vec3 resolved = cir.getReturnValue();
+        Vec3 oriented = PhysicsColliderManager.collideOriented(entity, resolved);
+        if (oriented != resolved) {
+            cir.setReturnValue(oriented);
+        }
     }
 }
@@ -16,7 +16,7 @@ public class PacketHandler {
 
     @SubscribeEvent
     public static void register(final net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent event) {
-        final PayloadRegistrar registrar = event.registrar("1");
+        final PayloadRegistrar registrar = event.registrar("2");
 
         registrar.playToServer(
                 CelestialBodyCreationPacket.TYPE,
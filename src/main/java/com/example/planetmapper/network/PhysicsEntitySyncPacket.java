@@ -13,7 +13,7 @@ import net.minecraft.world.entity.Entity;
 import net.neoforged.neoforge.network.handling.IPayloadContext;
 import org.joml.Quaternionf;
 
-public record PhysicsEntitySyncPacket(int entityId, long bodyId, double x, double y, double z,
+public record PhysicsEntitySyncPacket(int entityId, long bodyId, long serverTick, double x, double y, double z,
                                       float qx, float qy, float qz, float qw,
                                       float vx, float vy, float vz,
                                       float avx, float avy, float avz) implements CustomPacketPayload {
@@ -25,6 +25,7 @@ public record PhysicsEntitySyncPacket(int entityId, long bodyId, double x, doubl
             (ByteBuf buf, PhysicsEntitySyncPacket val) -> {
                 ByteBufCodecs.VAR_INT.encode(buf, val.entityId);
                 ByteBufCodecs.VAR_LONG.encode(buf, val.bodyId);
+                ByteBufCodecs.VAR_LONG.encode(buf, val.serverTick);
                 ByteBufCodecs.DOUBLE.encode(buf, val.x);
                 ByteBufCodecs.DOUBLE.encode(buf, val.y);
                 ByteBufCodecs.DOUBLE.encode(buf, val.z);
@@ -42,6 +43,7 @@ public record PhysicsEntitySyncPacket(int entityId, long bodyId, double x, doubl
             (ByteBuf buf) -> new PhysicsEntitySyncPacket(
                     ByteBufCodecs.VAR_INT.decode(buf),
                     ByteBufCodecs.VAR_LONG.decode(buf),
+                    ByteBufCodecs.VAR_LONG.decode(buf),
                     ByteBufCodecs.DOUBLE.decode(buf),
                     ByteBufCodecs.DOUBLE.decode(buf),
                     ByteBufCodecs.DOUBLE.decode(buf),
@@ -71,8 +73,9 @@ public record PhysicsEntitySyncPacket(int entityId, long bodyId, double x, doubl
                     Quaternionf rot = new Quaternionf(payload.qx, payload.qy, payload.qz, payload.qw);
                     physicsEntity.updateFromPacket(payload.x, payload.y, payload.z, rot);
                     
-                    // Also update the static collision body on the client so the player doesn't phase/jitter
-                    PhysicsColliderManager.updateBodyState(payload.bodyId, (float) payload.x, (float) payload.y, (float) payload.z,
+                    // Feed the collider history; the client tick places the collider at the current time from it
+                    PhysicsColliderManager.recordClientState(payload.bodyId, payload.serverTick,
+                            (float) payload.x, (float) payload.y, (float) payload.z,
                             rot, payload.vx, payload.vy, payload.vz, payload.avx, payload.avy, payload.avz);
                 }
             }
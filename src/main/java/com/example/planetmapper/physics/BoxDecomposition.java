@@ -0,0 +1,343 @@
+package com.example.planetmapper.physics;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.phys.AABB;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Persistent box decomposition of a structure's collidable blocks that can be repaired
+ * one cell at a time. Box order mirrors the sub-shape order of the body's native compound,
+ * and every change is recorded so only the touched sub-shapes need to be sent as a {@link Patch}.
+ * <p>
+ * Removal uses swap-with-last so sub-shape indices of untouched boxes never shift.
+ */
+public final class BoxDecomposition {
+    private static final int BUCKET_SHIFT = 4;
+    // Repairs only split boxes, so the count creeps up; past this a full re-mesh is cheaper.
+    private static final float MAX_GROWTH = 1.5f;
+    private static final int MAX_EXTRA_BOXES = 64;
+
+    // Box bounds by stable id: minX, minY, minZ, maxX, maxY, maxZ in decomposition space.
+    private int[] bounds = new int[64 * 6];
+    private int[] indexOfId = new int[64];
+    private final IntArrayList idAtIndex = new IntArrayList();
+    private final IntArrayList freeIds = new IntArrayList();
+    private int nextId;
+    // 16^3 buckets of the ids of every box overlapping them, for cell lookups.
+    private final Long2ObjectOpenHashMap<IntArrayList> buckets = new Long2ObjectOpenHashMap<>();
+    private final IntOpenHashSet dirtyIndices = new IntOpenHashSet();
+    private int syncedCount;
+    private final int baselineCount;
+    // Structure-local = decomposition space + offset; lets shiftLocal stay O(1).
+    private int offsetX;
+    private int offsetY;
+    private int offsetZ;
+
+    /**
+     * @param localBoxes the boxes the native compound was built from, in the same order
+     */
+    public BoxDecomposition(List<AABB> localBoxes) {
+        for (AABB box : localBoxes) {
+            addBox((int) Math.floor(box.minX), (int) Math.floor(box.minY), (int) Math.floor(box.minZ),
+                    (int) Math.floor(box.maxX), (int) Math.floor(box.maxY), (int) Math.floor(box.maxZ));
+        }
+        dirtyIndices.clear();
+        syncedCount = idAtIndex.size();
+        baselineCount = syncedCount;
+    }
+
+    public int getBoxCount() {
+        return idAtIndex.size();
+    }
+
+    /**
+     * True once repairs have fragmented the decomposition enough that a full re-mesh pays off.
+     */
+    public boolean needsRebuild() {
+        return idAtIndex.size() > baselineCount * MAX_GROWTH + MAX_EXTRA_BOXES;
+    }
+
+    /** Follows {@code PhysicsStructure.shiftLocal}: every cell moves by (dx, dy, dz). */
+    public void translate(int dx, int dy, int dz) {
+        offsetX += dx;
+        offsetY += dy;
+        offsetZ += dz;
+    }
+
+    /**
+     * Removes one structure-local cell, splitting the box that covered it into at most six.
+     * Returns false if no box covered the cell.
+     */
+    public boolean removeCell(int x, int y, int z) {
+        int cx = x - offsetX;
+        int cy = y - offsetY;
+        int cz = z - offsetZ;
+        int id = findOwner(cx, cy, cz);
+        if (id < 0) {
+            return false;
+        }
+        int o = id * 6;
+        int minX = bounds[o];
+        int minY = bounds[o + 1];
+        int minZ = bounds[o + 2];
+        int maxX = bounds[o + 3];
+        int maxY = bounds[o + 4];
+        int maxZ = bounds[o + 5];
+
+        int[] pieces = new int[6 * 6];
+        int count = 0;
+        count = appendPiece(pieces, count, minX, minY, minZ, cx, maxY, maxZ);
+        count = appendPiece(pieces, count, cx + 1, minY, minZ, maxX, maxY, maxZ);
+        count = appendPiece(pieces, count, cx, minY, minZ, cx + 1, cy, maxZ);
+        count = appendPiece(pieces, count, cx, cy + 1, minZ, cx + 1, maxY, maxZ);
+        count = appendPiece(pieces, count, cx, cy, minZ, cx + 1, cy + 1, cz);
+        count = appendPiece(pieces, count, cx, cy, cz + 1, cx + 1, cy + 1, maxZ);
+
+        if (count == 0) {
+            removeBox(id);
+            return true;
+        }
+        // Reusing the id turns the largest piece into an in-place modify instead of remove + add.
+        int largest = 0;
+        long largestVolume = -1;
+        for (int i = 0; i < count; i++) {
+            int p = i * 6;
+            long volume = (long) (pieces[p + 3] - pieces[p]) * (pieces[p + 4] - pieces[p + 1]) * (pieces[p + 5] - pieces[p + 2]);
+            if (volume > largestVolume) {
+                largest = i;
+                largestVolume = volume;
+            }
+        }
+        int l = largest * 6;
+        setBox(id, pieces[l], pieces[l + 1], pieces[l + 2], pieces[l + 3], pieces[l + 4], pieces[l + 5]);
+        for (int i = 0; i < count; i++) {
+            if (i == largest) {
+                continue;
+            }
+            int p = i * 6;
+            addBox(pieces[p], pieces[p + 1], pieces[p + 2], pieces[p + 3], pieces[p + 4], pieces[p + 5]);
+        }
+        return true;
+    }
+
+    /**
+     * Adds one structure-local cell, extending a neighbouring box whose face matches the
+     * cell exactly, or adding a unit box. Returns false if the cell was already covered.
+     */
+    public boolean addCell(int x, int y, int z) {
+        int cx = x - offsetX;
+        int cy = y - offsetY;
+        int cz = z - offsetZ;
+        if (findOwner(cx, cy, cz) >= 0) {
+            return false;
+        }
+        for (int axis = 0; axis < 3; axis++) {
+            for (int side = -1; side <= 1; side += 2) {
+                int nx = cx + (axis == 0 ? side : 0);
+                int ny = cy + (axis == 1 ? side : 0);
+                int nz = cz + (axis == 2 ? side : 0);
+                int id = findOwner(nx, ny, nz);
+                if (id >= 0 && tryExtend(id, axis, side, cx, cy, cz)) {
+                    return true;
+                }
+            }
+        }
+        addBox(cx, cy, cz, cx + 1, cy + 1, cz + 1);
+        return true;
+    }
+
+    /**
+     * Returns the boxes in sub-shape order, offset into body-local space.
+     */
+    public List<AABB> toBoxes(Vector3f originOffset) {
+        List<AABB> result = new ArrayList<>(idAtIndex.size());
+        double ox = offsetX + originOffset.x;
+        double oy = offsetY + originOffset.y;
+        double oz = offsetZ + originOffset.z;
+        for (int i = 0; i < idAtIndex.size(); i++) {
+            int o = idAtIndex.getInt(i) * 6;
+            result.add(new AABB(bounds[o] + ox, bounds[o + 1] + oy, bounds[o + 2] + oz,
+                    bounds[o + 3] + ox, bounds[o + 4] + oy, bounds[o + 5] + oz));
+        }
+        return result;
+    }
+
+    /**
+     * Collects every sub-shape changed since the last drain, in body-local space, and marks
+     * the decomposition as synced with the native compound.
+     */
+    public Patch drainPatch(Vector3f originOffset) {
+        int newCount = idAtIndex.size();
+        int[] indices = dirtyIndices.intStream().filter(i -> i < newCount).sorted().toArray();
+        float[] mins = new float[indices.length * 3];
+        float[] maxs = new float[indices.length * 3];
+        float ox = offsetX + originOffset.x;
+        float oy = offsetY + originOffset.y;
+        float oz = offsetZ + originOffset.z;
+        for (int i = 0; i < indices.length; i++) {
+            int o = idAtIndex.getInt(indices[i]) * 6;
+            int p = i * 3;
+            mins[p] = bounds[o] + ox;
+            mins[p + 1] = bounds[o + 1] + oy;
+            mins[p + 2] = bounds[o + 2] + oz;
+            maxs[p] = bounds[o + 3] + ox;
+            maxs[p + 1] = bounds[o + 4] + oy;
+            maxs[p + 2] = bounds[o + 5] + oz;
+        }
+        Patch patch = new Patch(syncedCount, newCount, indices, mins, maxs);
+        dirtyIndices.clear();
+        syncedCount = newCount;
+        return patch;
+    }
+
+    private boolean tryExtend(int id, int axis, int side, int cx, int cy, int cz) {
+        int o = id * 6;
+        int[] cell = {cx, cy, cz};
+        for (int a = 0; a < 3; a++) {
+            if (a == axis) {
+                continue;
+            }
+            if (bounds[o + a] != cell[a] || bounds[o + 3 + a] != cell[a] + 1) {
+                return false;
+            }
+        }
+        int[] next = Arrays.copyOfRange(bounds, o, o + 6);
+        if (side < 0) {
+            // Neighbour below on this axis: its max face touches the cell.
+            next[3 + axis] = cell[axis] + 1;
+        } else {
+            next[axis] = cell[axis];
+        }
+        setBox(id, next[0], next[1], next[2], next[3], next[4], next[5]);
+        return true;
+    }
+
+    private int findOwner(int x, int y, int z) {
+        IntArrayList ids = buckets.get(bucketKey(x >> BUCKET_SHIFT, y >> BUCKET_SHIFT, z >> BUCKET_SHIFT));
+        if (ids == null) {
+            return -1;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            int id = ids.getInt(i);
+            int o = id * 6;
+            if (x >= bounds[o] && x < bounds[o + 3]
+                    && y >= bounds[o + 1] && y < bounds[o + 4]
+                    && z >= bounds[o + 2] && z < bounds[o + 5]) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    private int addBox(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int id = freeIds.isEmpty() ? nextId++ : freeIds.popInt();
+        if (id * 6 + 6 > bounds.length) {
+            bounds = Arrays.copyOf(bounds, Math.max(bounds.length * 2, id * 6 + 6));
+            indexOfId = Arrays.copyOf(indexOfId, bounds.length / 6);
+        }
+        writeBounds(id, minX, minY, minZ, maxX, maxY, maxZ);
+        int index = idAtIndex.size();
+        idAtIndex.add(id);
+        indexOfId[id] = index;
+        insertIntoBuckets(id);
+        dirtyIndices.add(index);
+        return id;
+    }
+
+    private void setBox(int id, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        removeFromBuckets(id);
+        writeBounds(id, minX, minY, minZ, maxX, maxY, maxZ);
+        insertIntoBuckets(id);
+        dirtyIndices.add(indexOfId[id]);
+    }
+
+    private void removeBox(int id) {
+        removeFromBuckets(id);
+        int index = indexOfId[id];
+        int last = idAtIndex.size() - 1;
+        if (index != last) {
+            int moved = idAtIndex.getInt(last);
+            idAtIndex.set(index, moved);
+            indexOfId[moved] = index;
+            dirtyIndices.add(index);
+        }
+        idAtIndex.removeInt(last);
+        indexOfId[id] = -1;
+        freeIds.add(id);
+    }
+
+    private void writeBounds(int id, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int o = id * 6;
+        bounds[o] = minX;
+        bounds[o + 1] = minY;
+        bounds[o + 2] = minZ;
+        bounds[o + 3] = maxX;
+        bounds[o + 4] = maxY;
+        bounds[o + 5] = maxZ;
+    }
+
+    private void insertIntoBuckets(int id) {
+        int o = id * 6;
+        for (int bx = bounds[o] >> BUCKET_SHIFT; bx <= (bounds[o + 3] - 1) >> BUCKET_SHIFT; bx++) {
+            for (int by = bounds[o + 1] >> BUCKET_SHIFT; by <= (bounds[o + 4] - 1) >> BUCKET_SHIFT; by++) {
+                for (int bz = bounds[o + 2] >> BUCKET_SHIFT; bz <= (bounds[o + 5] - 1) >> BUCKET_SHIFT; bz++) {
+                    buckets.computeIfAbsent(bucketKey(bx, by, bz), k -> new IntArrayList()).add(id);
+                }
+            }
+        }
+    }
+
+    private void removeFromBuckets(int id) {
+        int o = id * 6;
+        for (int bx = bounds[o] >> BUCKET_SHIFT; bx <= (bounds[o + 3] - 1) >> BUCKET_SHIFT; bx++) {
+            for (int by = bounds[o + 1] >> BUCKET_SHIFT; by <= (bounds[o + 4] - 1) >> BUCKET_SHIFT; by++) {
+                for (int bz = bounds[o + 2] >> BUCKET_SHIFT; bz <= (bounds[o + 5] - 1) >> BUCKET_SHIFT; bz++) {
+                    long key = bucketKey(bx, by, bz);
+                    IntArrayList ids = buckets.get(key);
+                    if (ids == null) {
+                        continue;
+                    }
+                    ids.rem(id);
+                    if (ids.isEmpty()) {
+                        buckets.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int appendPiece(int[] pieces, int count, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        if (minX >= maxX || minY >= maxY || minZ >= maxZ) {
+            return count;
+        }
+        int o = count * 6;
+        pieces[o] = minX;
+        pieces[o + 1] = minY;
+        pieces[o + 2] = minZ;
+        pieces[o + 3] = maxX;
+        pieces[o + 4] = maxY;
+        pieces[o + 5] = maxZ;
+        return count + 1;
+    }
+
+    private static long bucketKey(int bx, int by, int bz) {
+        return BlockPos.asLong(bx, by, bz);
+    }
+
+    /**
+     * Sub-shape changes for the native compound: write each listed index (indices below
+     * {@code previousCount} are modified, the rest appended in order), then trim to {@code newCount}.
+     */
+    public record Patch(int previousCount, int newCount, int[] indices, float[] mins, float[] maxs) {
+        public boolean isEmpty() {
+            return indices.length == 0 && previousCount == newCount;
+        }
+    }
+}
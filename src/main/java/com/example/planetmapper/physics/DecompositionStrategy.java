@@ -0,0 +1,21 @@
+package com.example.planetmapper.physics;
+
+/**
+ * How {@link VoxelShapeOptimizer} splits a block set into boxes. All are heuristics, listed
+ * roughly from fastest to fewest boxes; Jolt cost grows with sub-shape count, so content
+ * that rarely changes can afford the slower passes.
+ */
+public enum DecompositionStrategy {
+    /** Grow each box along X, then Y, then Z. Fastest; the only one meshed in parallel. */
+    GREEDY,
+    /** Greedy growth, with the axis order picked per 32^3 region to minimise its box count. */
+    BEST_AXIS_ORDER,
+    /** Keep full power-of-two octree nodes as boxes, then merge neighbours with matching faces. */
+    OCTREE,
+    /**
+     * Heuristic, not an optimal cover: from each seed, grow greedily in all six axis orders
+     * and keep the largest box, then merge matching faces. Usually beats GREEDY on box count
+     * at several times its cost.
+     */
+    MAXIMAL_CUBOID
+}
@@ -0,0 +1,84 @@
+package com.example.planetmapper.physics;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+
+/**
+ * Center of mass and inertia of a set of unit cells with uniform density, independent of
+ * the boxes used for collision. Inertia is per unit mass about the center, laid out as the
+ * entries of the inertia matrix (off-diagonal terms are the negated products of inertia).
+ */
+public record MassDistribution(int cellCount,
+                               double centerX, double centerY, double centerZ,
+                               double ixx, double iyy, double izz,
+                               double ixy, double ixz, double iyz) {
+    // A unit cube about its own center: (1 + 1) / 12 per axis.
+    private static final double CELL_INERTIA = 1.0 / 6.0;
+
+    /**
+     * Sums the first and second moments of every cell. Coordinates are taken relative to the
+     * first cell so large world positions do not cancel out the second moments.
+     */
+    public static MassDistribution of(LongOpenHashSet cells) {
+        if (cells == null || cells.isEmpty()) {
+            return null;
+        }
+        LongIterator iterator = cells.iterator();
+        long first = iterator.nextLong();
+        int baseX = BlockPos.getX(first);
+        int baseY = BlockPos.getY(first);
+        int baseZ = BlockPos.getZ(first);
+        double sx = 0.0, sy = 0.0, sz = 0.0;
+        double sxx = 0.0, syy = 0.0, szz = 0.0;
+        double sxy = 0.0, sxz = 0.0, syz = 0.0;
+        iterator = cells.iterator();
+        while (iterator.hasNext()) {
+            long key = iterator.nextLong();
+            double x = BlockPos.getX(key) - baseX;
+            double y = BlockPos.getY(key) - baseY;
+            double z = BlockPos.getZ(key) - baseZ;
+            sx += x;
+            sy += y;
+            sz += z;
+            sxx += x * x;
+            syy += y * y;
+            szz += z * z;
+            sxy += x * y;
+            sxz += x * z;
+            syz += y * z;
+        }
+
+        int n = cells.size();
+        double cx = sx / n;
+        double cy = sy / n;
+        double cz = sz / n;
+        // Central second moments via E[ab] - E[a]E[b].
+        double mxx = sxx / n - cx * cx;
+        double myy = syy / n - cy * cy;
+        double mzz = szz / n - cz * cz;
+        double mxy = sxy / n - cx * cy;
+        double mxz = sxz / n - cx * cz;
+        double myz = syz / n - cy * cz;
+        return new MassDistribution(n,
+                baseX + cx + 0.5, baseY + cy + 0.5, baseZ + cz + 0.5,
+                myy + mzz + CELL_INERTIA, mxx + mzz + CELL_INERTIA, mxx + myy + CELL_INERTIA,
+                -mxy, -mxz, -myz);
+    }
+
+    public MassDistribution offset(double dx, double dy, double dz) {
+        return new MassDistribution(cellCount, centerX + dx, centerY + dy, centerZ + dz, ixx, iyy, izz, ixy, ixz, iyz);
+    }
+
+    /**
+     * Packs center and inertia scaled by {@code mass} for the native engine:
+     * [cx, cy, cz, Ixx, Iyy, Izz, Ixy, Ixz, Iyz].
+     */
+    public float[] toNativeArray(float mass) {
+        return new float[]{
+                (float) centerX, (float) centerY, (float) centerZ,
+                (float) (ixx * mass), (float) (iyy * mass), (float) (izz * mass),
+                (float) (ixy * mass), (float) (ixz * mass), (float) (iyz * mass)
+        };
+    }
+}
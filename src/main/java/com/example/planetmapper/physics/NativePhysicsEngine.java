@@ -22,6 +22,18 @@ public class NativePhysicsEngine {
     private static volatile boolean updateShapeWarningLogged = false;
     private static volatile boolean bodyMaterialAvailable = true;
     private static volatile boolean bodyMaterialWarningLogged = false;
+    private static volatile boolean syncAllAvailable = true;
+    private static volatile boolean syncAllWarningLogged = false;
+    private static volatile boolean patchShapeAvailable = true;
+    private static volatile boolean patchShapeWarningLogged = false;
+    private static volatile boolean massPropertiesAvailable = true;
+    private static volatile boolean massPropertiesWarningLogged = false;
+    private static volatile boolean bodyStateAvailable = true;
+    private static volatile boolean bodyStateWarningLogged = false;
+    private static volatile boolean bodyEnabledAvailable = true;
+    private static volatile boolean bodyEnabledWarningLogged = false;
+    private static volatile boolean bodyMassAvailable = true;
+    private static volatile boolean bodyMassWarningLogged = false;
     private long worldPointer = 0;
 
     // Native methods - implemented in C++
@@ -32,11 +44,21 @@ public class NativePhysicsEngine {
     private static native long nativeCreateRigidBodyWithProperties(long worldPtr, float[] mins, float[] maxs, int boxCount,
                                                                     float mass, float friction, float restitution,
                                                                     float linearDamping, float angularDamping);
+    private static native long nativeCreateRigidBodyWithMass(long worldPtr, float[] mins, float[] maxs, int boxCount,
+                                                              float mass, float friction, float restitution,
+                                                              float linearDamping, float angularDamping, float[] massProperties);
     private static native long nativeCreateStaticBody(long worldPtr, float[] mins, float[] maxs, int boxCount);
     private static native void nativeGetBodyState(long worldPtr, long bodyId, float[] outState);
+    private static native void nativeSetBodyState(long worldPtr, long bodyId, float[] state);
+    private static native boolean nativeSetBodyEnabled(long worldPtr, long bodyId, boolean enabled);
     private static native void nativeApplyForce(long worldPtr, long bodyId, float fx, float fy, float fz);
     private static native void nativeActivateBody(long worldPtr, long bodyId);
     private static native void nativeUpdateBodyShape(long worldPtr, long bodyId, float[] mins, float[] maxs, int boxCount);
+    private static native boolean nativeUpdateBodyShapeWithMass(long worldPtr, long bodyId, float[] mins, float[] maxs, int boxCount,
+                                                                float mass, float[] massProperties);
+    private static native boolean nativePatchBodyShape(long worldPtr, long bodyId, int expectedCount, int newCount,
+                                                       int[] indices, float[] mins, float[] maxs, int patchCount);
+    private static native boolean nativeSetBodyMassProperties(long worldPtr, long bodyId, float mass, float[] massProperties);
     private static native void nativeSetBodyMaterial(long worldPtr, long bodyId, float friction, float restitution,
                                                      float linearDamping, float angularDamping);
     private static native void nativeRemoveBody(long worldPtr, long bodyId);
@@ -173,6 +195,53 @@ public class NativePhysicsEngine {
         return bodyId;
     }
 
+    /**
+     * Creates a rigid body whose center of mass and inertia come from {@code distribution}
+     * (in the same frame as {@code boxes}) instead of the boxes themselves. Used when the
+     * boxes only cover the surface of a solid. Falls back to box-derived mass properties if
+     * the native library predates explicit mass properties.
+     */
+    public synchronized long createRigidBody(List<AABB> boxes, com.example.planetmapper.physics.structure.StructurePhysicsProperties.MaterialSummary material,
+                                             MassDistribution distribution) {
+        if (distribution == null || material == null || !massPropertiesAvailable) {
+            return createRigidBody(boxes, material);
+        }
+        if (worldPointer == 0) return -1;
+
+        int count = boxes.size();
+        float[] mins = new float[count * 3];
+        float[] maxs = new float[count * 3];
+
+        for (int i = 0; i < count; i++) {
+            AABB box = boxes.get(i);
+            int offset = i * 3;
+            mins[offset] = (float) box.minX;
+            mins[offset + 1] = (float) box.minY;
+            mins[offset + 2] = (float) box.minZ;
+
+            maxs[offset] = (float) box.maxX;
+            maxs[offset + 1] = (float) box.maxY;
+            maxs[offset + 2] = (float) box.maxZ;
+        }
+
+        float mass = Math.max(1.0f, material.mass());
+        try {
+            long bodyId = nativeCreateRigidBodyWithMass(worldPointer, mins, maxs, count, mass,
+                    material.friction(), material.restitution(), material.linearDamping(), material.angularDamping(),
+                    distribution.toNativeArray(mass));
+            if (bodyId > 0) {
+                return bodyId;
+            }
+        } catch (UnsatisfiedLinkError e) {
+            massPropertiesAvailable = false;
+            if (!massPropertiesWarningLogged) {
+                massPropertiesWarningLogged = true;
+                PlanetMapper.LOGGER.warn("nativeCreateRigidBodyWithMass missing in native_physics.dll. Mass properties will follow collision boxes.", e);
+            }
+        }
+        return createRigidBody(boxes, material);
+    }
+
     /**
      * Creates a static rigid body from a set of AABBs.
      */
@@ -208,6 +277,70 @@ public class NativePhysicsEngine {
         }
     }
 
+    /**
+     * Teleports the body and sets its velocities, using the same layout as {@link #getBodyState}.
+     * Returns false if the native library cannot set body state.
+     */
+    public synchronized boolean setBodyState(long bodyId, float[] state) {
+        if (worldPointer == 0 || state == null || state.length < 13 || !bodyStateAvailable) {
+            return false;
+        }
+        try {
+            nativeSetBodyState(worldPointer, bodyId, state);
+            return true;
+        } catch (UnsatisfiedLinkError e) {
+            bodyStateAvailable = false;
+            if (!bodyStateWarningLogged) {
+                bodyStateWarningLogged = true;
+                PlanetMapper.LOGGER.warn("nativeSetBodyState missing in native_physics.dll. Split parts will spawn unrotated and at rest.", e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Takes the body out of the simulation or puts it back. A disabled body keeps its shape,
+     * transform and velocities natively but is not stepped, synced or hit by queries.
+     * Returns false if the body does not exist or the native library cannot do this.
+     */
+    public synchronized boolean setBodyEnabled(long bodyId, boolean enabled) {
+        if (worldPointer == 0 || bodyId <= 0 || !bodyEnabledAvailable) {
+            return false;
+        }
+        try {
+            return nativeSetBodyEnabled(worldPointer, bodyId, enabled);
+        } catch (UnsatisfiedLinkError e) {
+            bodyEnabledAvailable = false;
+            if (!bodyEnabledWarningLogged) {
+                bodyEnabledWarningLogged = true;
+                PlanetMapper.LOGGER.warn("nativeSetBodyEnabled missing in native_physics.dll. Unobserved structures will keep simulating.", e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Sets the body's mass, center of mass and inertia from {@code distribution}, given in
+     * body-local coordinates, keeping its collision shape. Does not wake the body.
+     * Returns false if the body is not simulated or the native library cannot do this.
+     */
+    public synchronized boolean setBodyMassProperties(long bodyId, MassDistribution distribution, float mass) {
+        if (worldPointer == 0 || bodyId <= 0 || distribution == null || !bodyMassAvailable) {
+            return false;
+        }
+        float bodyMass = Math.max(1.0f, mass);
+        try {
+            return nativeSetBodyMassProperties(worldPointer, bodyId, bodyMass, distribution.toNativeArray(bodyMass));
+        } catch (UnsatisfiedLinkError e) {
+            bodyMassAvailable = false;
+            if (!bodyMassWarningLogged) {
+                bodyMassWarningLogged = true;
+                PlanetMapper.LOGGER.warn("nativeSetBodyMassProperties missing in native_physics.dll. Mass properties will only change on shape rebuilds.", e);
+            }
+            return false;
+        }
+    }
+
     public synchronized void applyForce(long bodyId, Vector3f force) {
         if (worldPointer != 0) {
             nativeApplyForce(worldPointer, bodyId, force.x(), force.y(), force.z());
@@ -270,6 +403,76 @@ public class NativePhysicsEngine {
         }
     }
 
+    /**
+     * Replaces the body's shape and sets its center of mass and inertia from
+     * {@code distribution}, given in body-local coordinates. Falls back to a plain shape
+     * update when explicit mass properties are unavailable.
+     */
+    public synchronized void updateBodyShape(long bodyId, List<AABB> localBoxes, MassDistribution distribution, float mass) {
+        if (distribution == null || !massPropertiesAvailable) {
+            updateBodyShape(bodyId, localBoxes);
+            return;
+        }
+        if (worldPointer == 0 || localBoxes == null || localBoxes.isEmpty()) {
+            return;
+        }
+        int count = localBoxes.size();
+        float[] mins = new float[count * 3];
+        float[] maxs = new float[count * 3];
+
+        for (int i = 0; i < count; i++) {
+            AABB box = localBoxes.get(i);
+            int offset = i * 3;
+            mins[offset] = (float) box.minX;
+            mins[offset + 1] = (float) box.minY;
+            mins[offset + 2] = (float) box.minZ;
+
+            maxs[offset] = (float) box.maxX;
+            maxs[offset + 1] = (float) box.maxY;
+            maxs[offset + 2] = (float) box.maxZ;
+        }
+
+        float bodyMass = Math.max(1.0f, mass);
+        try {
+            if (nativeUpdateBodyShapeWithMass(worldPointer, bodyId, mins, maxs, count, bodyMass,
+                    distribution.toNativeArray(bodyMass))) {
+                return;
+            }
+        } catch (UnsatisfiedLinkError e) {
+            massPropertiesAvailable = false;
+            if (!massPropertiesWarningLogged) {
+                massPropertiesWarningLogged = true;
+                PlanetMapper.LOGGER.warn("nativeUpdateBodyShapeWithMass missing in native_physics.dll. Mass properties will follow collision boxes.", e);
+            }
+        }
+        updateBodyShape(bodyId, localBoxes);
+    }
+
+    /**
+     * Applies a {@link BoxDecomposition.Patch} to the body's compound shape in place.
+     * Returns false if the native side cannot patch (missing symbol, different sub-shape count,
+     * non-mutable shape); the caller should then upload the full shape.
+     */
+    public synchronized boolean patchBodyShape(long bodyId, BoxDecomposition.Patch patch) {
+        if (!patchShapeAvailable || worldPointer == 0 || patch == null || patch.newCount() <= 0) {
+            return false;
+        }
+        if (patch.isEmpty()) {
+            return true;
+        }
+        try {
+            return nativePatchBodyShape(worldPointer, bodyId, patch.previousCount(), patch.newCount(),
+                    patch.indices(), patch.mins(), patch.maxs(), patch.indices().length);
+        } catch (UnsatisfiedLinkError e) {
+            patchShapeAvailable = false;
+            if (!patchShapeWarningLogged) {
+                patchShapeWarningLogged = true;
+                PlanetMapper.LOGGER.warn("nativePatchBodyShape missing in native_physics.dll. Falling back to full shape uploads.", e);
+            }
+            return false;
+        }
+    }
+
     public synchronized void removeBody(long bodyId) {
         if (worldPointer != 0) {
             nativeRemoveBody(worldPointer, bodyId);
@@ -321,11 +524,21 @@ public class NativePhysicsEngine {
      * [Float VelX (4)] [Float VelY (4)] [Float VelZ (4)]
      * [Float AngVelX (4)] [Float AngVelY (4)] [Float AngVelZ (4)]
      * TotalStride: 60 bytes.
-     * @return Number of bodies synced.
+     * @return Number of bodies synced, or -1 if the native library does not provide bulk sync.
      */
     public synchronized int syncAllBodies(java.nio.ByteBuffer buffer, int maxBodies) {
+        if (!syncAllAvailable) return -1;
         if (worldPointer == 0) return 0;
-        return nativeSyncAllBodies(worldPointer, buffer, maxBodies);
+        try {
+            return nativeSyncAllBodies(worldPointer, buffer, maxBodies);
+        } catch (UnsatisfiedLinkError e) {
+            syncAllAvailable = false;
+            if (!syncAllWarningLogged) {
+                syncAllWarningLogged = true;
+                PlanetMapper.LOGGER.warn("nativeSyncAllBodies missing in native_physics.dll. Falling back to per-body state reads.", e);
+            }
+            return -1;
+        }
     }
 
     public synchronized void close() {
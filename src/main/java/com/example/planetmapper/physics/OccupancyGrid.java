@@ -0,0 +1,286 @@
+package com.example.planetmapper.physics;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+
+/**
+ * Dense bit array over the bounding box of a block set, one bit per cell.
+ * Each (y, z) row is packed along X into {@code wordsPerRow} longs so runs can be
+ * found and cleared with word operations instead of per-cell hash lookups.
+ */
+final class OccupancyGrid {
+    // Past this the bit array itself gets too large to be worth allocating (32 MiB).
+    private static final long MAX_WORDS = 1L << 22;
+    // Bounding boxes this much larger than the block count are too sparse for a dense grid.
+    private static final long MAX_EMPTY_RATIO = 64L;
+
+    final int minX;
+    final int minY;
+    final int minZ;
+    final int sizeX;
+    final int sizeY;
+    final int sizeZ;
+    final int wordsPerRow;
+    final long[] words;
+
+    private OccupancyGrid(int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.wordsPerRow = (sizeX + 63) >>> 6;
+        this.words = new long[wordsPerRow * sizeY * sizeZ];
+    }
+
+    /**
+     * Packs the blocks into a new grid, or returns null if the set is empty or its
+     * bounding box is too large or too sparse for a dense representation.
+     */
+    static OccupancyGrid of(LongOpenHashSet blocks) {
+        if (blocks.isEmpty()) {
+            return null;
+        }
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        LongIterator iterator = blocks.iterator();
+        while (iterator.hasNext()) {
+            long key = iterator.nextLong();
+            int x = BlockPos.getX(key);
+            int y = BlockPos.getY(key);
+            int z = BlockPos.getZ(key);
+            if (x < minX) minX = x;
+            if (y < minY) minY = y;
+            if (z < minZ) minZ = z;
+            if (x > maxX) maxX = x;
+            if (y > maxY) maxY = y;
+            if (z > maxZ) maxZ = z;
+        }
+
+        long sizeX = (long) maxX - minX + 1;
+        long sizeY = (long) maxY - minY + 1;
+        long sizeZ = (long) maxZ - minZ + 1;
+        long wordCount = ((sizeX + 63) >>> 6) * sizeY * sizeZ;
+        if (wordCount > MAX_WORDS || sizeX * sizeY * sizeZ > blocks.size() * MAX_EMPTY_RATIO + 4096L) {
+            return null;
+        }
+
+        OccupancyGrid grid = new OccupancyGrid(minX, minY, minZ, (int) sizeX, (int) sizeY, (int) sizeZ);
+        iterator = blocks.iterator();
+        while (iterator.hasNext()) {
+            long key = iterator.nextLong();
+            grid.set(BlockPos.getX(key) - minX, BlockPos.getY(key) - minY, BlockPos.getZ(key) - minZ);
+        }
+        return grid;
+    }
+
+    /** Index of the first word of row (y, z), in grid-local coordinates. */
+    int row(int y, int z) {
+        return (z * sizeY + y) * wordsPerRow;
+    }
+
+    void set(int x, int y, int z) {
+        words[row(y, z) + (x >>> 6)] |= 1L << x;
+    }
+
+    boolean get(int x, int y, int z) {
+        return (words[row(y, z) + (x >>> 6)] & (1L << x)) != 0L;
+    }
+
+    /** First set X at or after {@code fromX} in the row, or -1. */
+    int nextSetBit(int row, int fromX) {
+        int wordIndex = fromX >>> 6;
+        if (wordIndex >= wordsPerRow) {
+            return -1;
+        }
+        long word = words[row + wordIndex] & (-1L << fromX);
+        while (true) {
+            if (word != 0L) {
+                return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++wordIndex == wordsPerRow) {
+                return -1;
+            }
+            word = words[row + wordIndex];
+        }
+    }
+
+    /** Number of consecutive set bits starting at {@code x} (which must be set). */
+    int runLength(int row, int x) {
+        int length = 0;
+        int wordIndex = x >>> 6;
+        int bit = x & 63;
+        while (wordIndex < wordsPerRow) {
+            // Shifted-in high zeros invert to ones, so the run never counts past the word end.
+            int run = Long.numberOfTrailingZeros(~(words[row + wordIndex] >>> bit));
+            length += run;
+            if (bit + run < 64) {
+                break;
+            }
+            wordIndex++;
+            bit = 0;
+        }
+        return length;
+    }
+
+    /** True if every bit in [x, x + width) of the row is set. */
+    boolean isRangeSet(int row, int x, int width) {
+        int last = x + width - 1;
+        int firstWord = x >>> 6;
+        int lastWord = last >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long mask = rangeMask(w, firstWord, lastWord, x, last);
+            if ((words[row + w] & mask) != mask) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void clearRange(int row, int x, int width) {
+        int last = x + width - 1;
+        int firstWord = x >>> 6;
+        int lastWord = last >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            words[row + w] &= ~rangeMask(w, firstWord, lastWord, x, last);
+        }
+    }
+
+    /** True if every cell of the box at (x, y, z) with size (w, h, d) is set. */
+    boolean isBoxSet(int x, int y, int z, int w, int h, int d) {
+        if (x < 0 || y < 0 || z < 0 || x + w > sizeX || y + h > sizeY || z + d > sizeZ) {
+            return false;
+        }
+        for (int dz = 0; dz < d; dz++) {
+            for (int dy = 0; dy < h; dy++) {
+                if (!isRangeSet(row(y + dy, z + dz), x, w)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    void clearBox(int x, int y, int z, int w, int h, int d) {
+        for (int dz = 0; dz < d; dz++) {
+            for (int dy = 0; dy < h; dy++) {
+                clearRange(row(y + dy, z + dz), x, w);
+            }
+        }
+    }
+
+    /** True if no cell of the box is set; cells outside the grid count as empty. */
+    boolean isBoxEmpty(int x, int y, int z, int w, int h, int d) {
+        int x0 = Math.max(0, x);
+        int y0 = Math.max(0, y);
+        int z0 = Math.max(0, z);
+        int x1 = Math.min(sizeX, x + w);
+        int y1 = Math.min(sizeY, y + h);
+        int z1 = Math.min(sizeZ, z + d);
+        for (int cz = z0; cz < z1; cz++) {
+            for (int cy = y0; cy < y1; cy++) {
+                int next = nextSetBit(row(cy, cz), x0);
+                if (next >= 0 && next < x1) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    void fillBox(int x, int y, int z, int w, int h, int d) {
+        for (int dz = 0; dz < d; dz++) {
+            for (int dy = 0; dy < h; dy++) {
+                int row = row(y + dy, z + dz);
+                int last = x + w - 1;
+                int firstWord = x >>> 6;
+                int lastWord = last >>> 6;
+                for (int word = firstWord; word <= lastWord; word++) {
+                    words[row + word] |= rangeMask(word, firstWord, lastWord, x, last);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cells more than {@code depth} face steps away from any empty cell, counting everything
+     * outside the grid as empty. Each step keeps a cell only if its six neighbours survived
+     * the previous one, so the result is the set after {@code depth} erosions.
+     */
+    OccupancyGrid interior(int depth) {
+        OccupancyGrid current = this;
+        for (int step = 0; step < depth; step++) {
+            OccupancyGrid next = new OccupancyGrid(minX, minY, minZ, sizeX, sizeY, sizeZ);
+            boolean any = false;
+            // Rows on the grid boundary always touch the outside and stay empty.
+            for (int z = 1; z < sizeZ - 1; z++) {
+                for (int y = 1; y < sizeY - 1; y++) {
+                    int row = row(y, z);
+                    int below = row(y - 1, z);
+                    int above = row(y + 1, z);
+                    int front = row(y, z - 1);
+                    int back = row(y, z + 1);
+                    for (int w = 0; w < wordsPerRow; w++) {
+                        long word = current.words[row + w];
+                        if (word == 0L) {
+                            continue;
+                        }
+                        long previous = w > 0 ? current.words[row + w - 1] : 0L;
+                        long following = w + 1 < wordsPerRow ? current.words[row + w + 1] : 0L;
+                        long left = (word << 1) | (previous >>> 63);
+                        long right = (word >>> 1) | (following << 63);
+                        long kept = word & left & right
+                                & current.words[below + w] & current.words[above + w]
+                                & current.words[front + w] & current.words[back + w];
+                        next.words[row + w] = kept;
+                        any |= kept != 0L;
+                    }
+                }
+            }
+            current = next;
+            if (!any) {
+                break;
+            }
+        }
+        return current;
+    }
+
+    /** Clears every cell that is set in {@code other}, which must have the same bounds. */
+    void removeAll(OccupancyGrid other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= ~other.words[i];
+        }
+    }
+
+    boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    OccupancyGrid copy() {
+        OccupancyGrid copy = new OccupancyGrid(minX, minY, minZ, sizeX, sizeY, sizeZ);
+        System.arraycopy(words, 0, copy.words, 0, words.length);
+        return copy;
+    }
+
+    private static long rangeMask(int word, int firstWord, int lastWord, int first, int last) {
+        long mask = -1L;
+        if (word == firstWord) {
+            mask &= -1L << first;
+        }
+        if (word == lastWord) {
+            mask &= -1L >>> (63 - (last & 63));
+        }
+        return mask;
+    }
+}
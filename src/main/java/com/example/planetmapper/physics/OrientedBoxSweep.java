@@ -0,0 +1,138 @@
+package com.example.planetmapper.physics;
+
+/**
+ * Continuous separating-axis test between a moving box and the axis-aligned boxes
+ * of a body, evaluated in the body's local frame.
+ * The moving box is the player's world AABB, so in local space its axes are the
+ * world axes rotated by the inverse body rotation.
+ */
+final class OrientedBoxSweep {
+    static final double NO_HIT = Double.POSITIVE_INFINITY;
+    private static final double AXIS_EPSILON = 1.0E-6;
+    private static final double PARALLEL_EPSILON = 1.0E-9;
+    private static final double CONTACT_EPSILON = 1.0E-7;
+    /**
+     * Boxes are treated as this much smaller on every axis, so a player resting on or
+     * against a tilted surface is not considered overlapping it because of float error.
+     * Callers back off by half of it after a hit.
+     */
+    static final double CONTACT_SKIN = 1.0E-4;
+
+    // Moving box in body-local space: center, world half extents and world axes.
+    private double px;
+    private double py;
+    private double pz;
+    private double gx;
+    private double gy;
+    private double gz;
+    private final double[] axes = new double[9];
+    private double vx;
+    private double vy;
+    private double vz;
+
+    private double tEnter;
+    private double tExit;
+
+    /**
+     * @param axes world X, Y and Z axes expressed in the local frame, packed row by row
+     */
+    void setBox(double centerX, double centerY, double centerZ,
+                double halfX, double halfY, double halfZ, float[] axes) {
+        this.px = centerX;
+        this.py = centerY;
+        this.pz = centerZ;
+        this.gx = halfX;
+        this.gy = halfY;
+        this.gz = halfZ;
+        for (int i = 0; i < 9; i++) {
+            this.axes[i] = axes[i];
+        }
+    }
+
+    void setMotion(double vx, double vy, double vz) {
+        this.vx = vx;
+        this.vy = vy;
+        this.vz = vz;
+    }
+
+    /**
+     * Returns the fraction of the motion in [0, 1] at which the moving box first touches
+     * the local box, or {@link #NO_HIT}. Boxes that already overlap at the start are ignored
+     * so a player who ended up inside geometry can still walk out of it.
+     */
+    double timeOfImpact(double cx, double cy, double cz, double hx, double hy, double hz) {
+        double dx = px - cx;
+        double dy = py - cy;
+        double dz = pz - cz;
+        tEnter = Double.NEGATIVE_INFINITY;
+        tExit = Double.POSITIVE_INFINITY;
+
+        // Local box face normals.
+        if (!testAxis(1.0, 0.0, 0.0, dx, dy, dz, hx, hy, hz)
+                || !testAxis(0.0, 1.0, 0.0, dx, dy, dz, hx, hy, hz)
+                || !testAxis(0.0, 0.0, 1.0, dx, dy, dz, hx, hy, hz)) {
+            return NO_HIT;
+        }
+        // Moving box face normals.
+        for (int j = 0; j < 3; j++) {
+            int o = j * 3;
+            if (!testAxis(axes[o], axes[o + 1], axes[o + 2], dx, dy, dz, hx, hy, hz)) {
+                return NO_HIT;
+            }
+        }
+        // Edge-edge cross products e_i x u_j.
+        for (int j = 0; j < 3; j++) {
+            int o = j * 3;
+            double ux = axes[o];
+            double uy = axes[o + 1];
+            double uz = axes[o + 2];
+            if (!testAxis(0.0, -uz, uy, dx, dy, dz, hx, hy, hz)
+                    || !testAxis(uz, 0.0, -ux, dx, dy, dz, hx, hy, hz)
+                    || !testAxis(-uy, ux, 0.0, dx, dy, dz, hx, hy, hz)) {
+                return NO_HIT;
+            }
+        }
+
+        if (tEnter > tExit || tEnter > 1.0 || tExit < 0.0) {
+            return NO_HIT;
+        }
+        if (tEnter < -CONTACT_EPSILON) {
+            return NO_HIT;
+        }
+        return Math.max(0.0, tEnter);
+    }
+
+    private boolean testAxis(double lx, double ly, double lz,
+                             double dx, double dy, double dz,
+                             double hx, double hy, double hz) {
+        if (lx * lx + ly * ly + lz * lz < AXIS_EPSILON) {
+            // Degenerate cross product of (near) parallel edges.
+            return true;
+        }
+        double rA = hx * Math.abs(lx) + hy * Math.abs(ly) + hz * Math.abs(lz);
+        double rB = gx * Math.abs(axes[0] * lx + axes[1] * ly + axes[2] * lz)
+                + gy * Math.abs(axes[3] * lx + axes[4] * ly + axes[5] * lz)
+                + gz * Math.abs(axes[6] * lx + axes[7] * ly + axes[8] * lz);
+        double r = rA + rB - CONTACT_SKIN * Math.sqrt(lx * lx + ly * ly + lz * lz);
+        double s = dx * lx + dy * ly + dz * lz;
+        double w = vx * lx + vy * ly + vz * lz;
+
+        if (Math.abs(w) < PARALLEL_EPSILON) {
+            return Math.abs(s) < r;
+        }
+        double t0 = (-r - s) / w;
+        double t1 = (r - s) / w;
+        if (t0 > t1) {
+            double tmp = t0;
+            t0 = t1;
+            t1 = tmp;
+        }
+        if (t0 > tEnter) {
+            tEnter = t0;
+        }
+        if (t1 < tExit) {
+            tExit = t1;
+        }
+        return tEnter <= tExit;
+    }
+}
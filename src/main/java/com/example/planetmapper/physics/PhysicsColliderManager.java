@@ -1,11 +1,13 @@
 package com.example.planetmapper.physics;
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.util.Mth;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
@@ -26,14 +28,18 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class PhysicsColliderManager {
     private static final Long2ObjectOpenHashMap<DynamicCollider> DYNAMIC_BODIES = new Long2ObjectOpenHashMap<>();
-    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<LongOpenHashSet>> CHUNK_INDEX = new HashMap<>();
-    private static final Map<ResourceKey<Level>, Long> LAST_UPDATE_TICK = new HashMap<>();
+    private static final Map<ResourceKey<Level>, DimensionRegistry> REGISTRIES = new HashMap<>();
+    private static final Long2ObjectOpenHashMap<Vector3f> BLOCK_GRID_ORIGINS = new Long2ObjectOpenHashMap<>();
+    // Colliders are created on both logical sides, so the integrated server and client share it.
+    private static final AtomicInteger SHAPE_GENERATIONS = new AtomicInteger();
     private static final double PLATFORM_PROBE_DEPTH = 0.35;
     private static final double PLATFORM_MAX_GAP = 0.25;
     private static final float LOCAL_GRID_CELL_SIZE = 4.0f;
+    private static final float GRID_ALIGNED_EPSILON = 1.0E-4f;
 
     private PhysicsColliderManager() {
     }
@@ -45,7 +51,15 @@ public final class PhysicsColliderManager {
         Vector3f center = bodyCenter != null ? new Vector3f(bodyCenter) : DynamicCollider.computeCenter(worldBoxes);
         DynamicCollider collider = DynamicCollider.fromWorldBoxes(dimension, bodyId, worldBoxes, center);
         synchronized (DYNAMIC_BODIES) {
-            DYNAMIC_BODIES.put(bodyId, collider);
+            DynamicCollider previous = DYNAMIC_BODIES.put(bodyId, collider);
+            if (previous != null) {
+                previous.clearChunkIndex();
+                DimensionRegistry previousRegistry = REGISTRIES.get(previous.dimension);
+                if (previousRegistry != null) {
+                    previousRegistry.bodies.remove(bodyId);
+                }
+            }
+            registryFor(dimension).bodies.put(bodyId, collider);
             collider.updateTransform(center.x, center.y, center.z, new Quaternionf());
         }
     }
@@ -112,6 +126,53 @@ public final class PhysicsColliderManager {
         updateBodyState(bodyId, px, py, pz, rotation, velocity.x, velocity.y, velocity.z);
     }
 
+    /**
+     * Records a server-stamped body state on the client. Once a body has history its collider
+     * is placed by {@link #advanceClientColliders} rather than jumping to each packet.
+     */
+    public static void recordClientState(long bodyId, long serverTick, float px, float py, float pz, Quaternionf rotation,
+                                         float vx, float vy, float vz, float avx, float avy, float avz) {
+        synchronized (DYNAMIC_BODIES) {
+            DynamicCollider collider = DYNAMIC_BODIES.get(bodyId);
+            if (collider == null) {
+                return;
+            }
+            if (collider.history == null) {
+                collider.history = new TransformHistory();
+            }
+            boolean first = collider.history.isEmpty();
+            collider.history.push(serverTick, px, py, pz, rotation, vx, vy, vz, avx, avy, avz);
+            if (first) {
+                collider.updateTransform(px, py, pz, rotation);
+                collider.linearVelocity.set(vx, vy, vz);
+                collider.angularVelocity.set(avx, avy, avz);
+            }
+        }
+    }
+
+    /**
+     * Places every client collider of the dimension at {@code time} (server ticks, fractional
+     * values allowed) by interpolating or extrapolating its recorded history.
+     */
+    public static void advanceClientColliders(ResourceKey<Level> dimension, double time) {
+        synchronized (DYNAMIC_BODIES) {
+            DimensionRegistry registry = REGISTRIES.get(dimension);
+            if (registry == null || registry.bodies.isEmpty()) {
+                return;
+            }
+            for (DynamicCollider collider : registry.bodies.values()) {
+                if (collider.history == null) {
+                    continue;
+                }
+                if (collider.history.sample(time, collider.scratchPosition, collider.scratchRotation,
+                        collider.linearVelocity, collider.angularVelocity)) {
+                    collider.updateTransform(collider.scratchPosition.x, collider.scratchPosition.y,
+                            collider.scratchPosition.z, collider.scratchRotation);
+                }
+            }
+        }
+    }
+
     public static void updateDynamicBody(long bodyId, List<AABB> bodyLocalBoxes) {
         if (bodyLocalBoxes == null) {
             return;
@@ -134,11 +195,108 @@ public final class PhysicsColliderManager {
         }
     }
 
+    /**
+     * Finds the nearest dynamic body hit along a ray in one dimension. Walks the chunk index
+     * column by column in ray order and stops once the next column starts beyond the best hit.
+     */
+    public static BodyRayHit raycastAll(ResourceKey<Level> dimension, Vec3 origin, Vec3 direction, double maxDistance) {
+        if (dimension == null || origin == null || direction == null || maxDistance <= 0.0) {
+            return null;
+        }
+        double length = direction.length();
+        if (length < 1.0E-9) {
+            return null;
+        }
+        Vec3 dir = direction.scale(1.0 / length);
+
+        synchronized (DYNAMIC_BODIES) {
+            DimensionRegistry registry = REGISTRIES.get(dimension);
+            if (registry == null || registry.chunkIndex.isEmpty()) {
+                return null;
+            }
+
+            int cx = Mth.floor(origin.x) >> 4;
+            int cz = Mth.floor(origin.z) >> 4;
+            int endCx = Mth.floor(origin.x + dir.x * maxDistance) >> 4;
+            int endCz = Mth.floor(origin.z + dir.z * maxDistance) >> 4;
+            int stepX = dir.x > 0 ? 1 : (dir.x < 0 ? -1 : 0);
+            int stepZ = dir.z > 0 ? 1 : (dir.z < 0 ? -1 : 0);
+            double tMaxX = stepX == 0 ? Double.POSITIVE_INFINITY
+                    : (((stepX > 0 ? cx + 1 : cx) << 4) - origin.x) / dir.x;
+            double tMaxZ = stepZ == 0 ? Double.POSITIVE_INFINITY
+                    : (((stepZ > 0 ? cz + 1 : cz) << 4) - origin.z) / dir.z;
+            double tDeltaX = stepX == 0 ? Double.POSITIVE_INFINITY : 16.0 / Math.abs(dir.x);
+            double tDeltaZ = stepZ == 0 ? Double.POSITIVE_INFINITY : 16.0 / Math.abs(dir.z);
+
+            LongOpenHashSet tested = new LongOpenHashSet();
+            BodyRayHit best = null;
+            double columnEntry = 0.0;
+            int remaining = Math.abs(endCx - cx) + Math.abs(endCz - cz) + 1;
+            while (remaining-- > 0 && columnEntry <= maxDistance) {
+                if (best != null && columnEntry > best.distance()) {
+                    break;
+                }
+                LongOpenHashSet bodies = registry.chunkIndex.get(ChunkPos.asLong(cx, cz));
+                if (bodies != null) {
+                    LongIterator iterator = bodies.iterator();
+                    while (iterator.hasNext()) {
+                        long bodyId = iterator.nextLong();
+                        if (!tested.add(bodyId)) {
+                            continue;
+                        }
+                        DynamicCollider collider = registry.bodies.get(bodyId);
+                        if (collider == null || collider.bounds == null) {
+                            continue;
+                        }
+                        double limit = best != null ? best.distance() : maxDistance;
+                        if (collider.bounds.clip(origin, origin.add(dir.scale(limit))).isEmpty()
+                                && !collider.bounds.contains(origin)) {
+                            continue;
+                        }
+                        BodyRayHit hit = collider.raycastHit(origin, dir, limit);
+                        if (hit != null && (best == null || hit.distance() < best.distance())) {
+                            best = hit;
+                        }
+                    }
+                }
+                if (tMaxX < tMaxZ) {
+                    columnEntry = tMaxX;
+                    tMaxX += tDeltaX;
+                    cx += stepX;
+                } else {
+                    columnEntry = tMaxZ;
+                    tMaxZ += tDeltaZ;
+                    cz += stepZ;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Sets the local-space origin of a body's block grid, used to report block positions from
+     * {@link #raycastAll}. The vector is read on every query, so later in-place shifts are seen.
+     * Without one, positions are reported on a grid aligned to the body's boxes.
+     */
+    public static void setBlockGridOrigin(long bodyId, Vector3f origin) {
+        synchronized (DYNAMIC_BODIES) {
+            if (origin == null) {
+                BLOCK_GRID_ORIGINS.remove(bodyId);
+            } else {
+                BLOCK_GRID_ORIGINS.put(bodyId, origin);
+            }
+        }
+    }
+
     public static void unregisterDynamicBody(long bodyId) {
         synchronized (DYNAMIC_BODIES) {
             DynamicCollider collider = DYNAMIC_BODIES.remove(bodyId);
             if (collider != null) {
                 collider.clearChunkIndex();
+                DimensionRegistry registry = REGISTRIES.get(collider.dimension);
+                if (registry != null) {
+                    registry.bodies.remove(bodyId);
+                }
             }
         }
     }
@@ -146,16 +304,48 @@ public final class PhysicsColliderManager {
     public static void resetAll() {
         synchronized (DYNAMIC_BODIES) {
             DYNAMIC_BODIES.clear();
+            REGISTRIES.clear();
+            BLOCK_GRID_ORIGINS.clear();
+        }
+    }
+
+    /**
+     * Pulls the latest physics snapshot into every collider of this dimension. Called once per
+     * tick before the level ticks its entities, so collision and platform queries never have
+     * to reach into the native engine themselves.
+     */
+    public static void refreshDimension(ServerLevel level) {
+        if (level == null || !PhysicsWorldManager.isNativeAvailable()) {
+            return;
+        }
+        NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
+        if (engine == null) {
+            return;
+        }
+        boolean snapshot = PhysicsWorldManager.hasSnapshot();
+        synchronized (DYNAMIC_BODIES) {
+            DimensionRegistry registry = REGISTRIES.get(level.dimension());
+            if (registry == null || registry.bodies.isEmpty()) {
+                return;
+            }
+            for (DynamicCollider collider : registry.bodies.values()) {
+                if (!snapshot) {
+                    collider.update(engine);
+                } else if (PhysicsWorldManager.readSnapshotState(collider.bodyId, collider.stateBuffer)) {
+                    collider.applyState();
+                } else {
+                    // Not in the active set: the body is asleep and keeps its last transform.
+                    collider.linearVelocity.set(0, 0, 0);
+                    collider.angularVelocity.set(0, 0, 0);
+                }
+            }
         }
-        LAST_UPDATE_TICK.clear();
-        CHUNK_INDEX.clear();
     }
 
     public static List<AABB> getWorldBoxes(ServerLevel level, long bodyId) {
         if (level == null || bodyId <= 0) {
             return Collections.emptyList();
         }
-        ensureUpdated(level);
         synchronized (DYNAMIC_BODIES) {
             DynamicCollider collider = DYNAMIC_BODIES.get(bodyId);
             if (collider == null || collider.dimension != level.dimension()) {
@@ -165,6 +355,23 @@ public final class PhysicsColliderManager {
         }
     }
 
+    /**
+     * Returns the body's boxes translated to its current center but not rotated,
+     * which is the form {@link #registerDynamicBody} expects.
+     */
+    public static List<AABB> getUnrotatedBoxes(ServerLevel level, long bodyId) {
+        if (level == null || bodyId <= 0) {
+            return Collections.emptyList();
+        }
+        synchronized (DYNAMIC_BODIES) {
+            DynamicCollider collider = DYNAMIC_BODIES.get(bodyId);
+            if (collider == null || collider.dimension != level.dimension()) {
+                return Collections.emptyList();
+            }
+            return collider.buildUnrotatedBoxes();
+        }
+    }
+
     public static Vector3f getBodyCenter(long bodyId) {
         synchronized (DYNAMIC_BODIES) {
             DynamicCollider collider = DYNAMIC_BODIES.get(bodyId);
@@ -187,15 +394,21 @@ public final class PhysicsColliderManager {
     }
 
     public static AABB getBodyBounds(Level level, long bodyId) {
-        if (level instanceof ServerLevel serverLevel) {
-            ensureUpdated(serverLevel);
-        }
         return getBodyBounds(bodyId);
     }
 
-    private static LongOpenHashSet collectCandidateBodiesLocked(ResourceKey<Level> dimension, AABB query) {
-        Long2ObjectOpenHashMap<LongOpenHashSet> index = CHUNK_INDEX.get(dimension);
-        if (index == null || index.isEmpty()) {
+    private static DimensionRegistry registryFor(ResourceKey<Level> dimension) {
+        DimensionRegistry registry = REGISTRIES.get(dimension);
+        if (registry == null) {
+            registry = new DimensionRegistry();
+            REGISTRIES.put(dimension, registry);
+        }
+        return registry;
+    }
+
+    private static List<DynamicCollider> collectCandidateCollidersLocked(ResourceKey<Level> dimension, AABB query) {
+        DimensionRegistry registry = REGISTRIES.get(dimension);
+        if (registry == null || registry.chunkIndex.isEmpty()) {
             return null;
         }
         int minChunkX = Mth.floor(query.minX) >> 4;
@@ -203,17 +416,32 @@ public final class PhysicsColliderManager {
         int maxChunkX = Mth.floor(query.maxX) >> 4;
         int maxChunkZ = Mth.floor(query.maxZ) >> 4;
 
-        LongOpenHashSet candidates = null;
+        LongOpenHashSet seen = null;
+        List<DynamicCollider> candidates = null;
         for (int cx = minChunkX; cx <= maxChunkX; cx++) {
             for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
-                LongOpenHashSet bodies = index.get(ChunkPos.asLong(cx, cz));
+                LongOpenHashSet bodies = registry.chunkIndex.get(ChunkPos.asLong(cx, cz));
                 if (bodies == null || bodies.isEmpty()) {
                     continue;
                 }
-                if (candidates == null) {
-                    candidates = new LongOpenHashSet();
+                LongIterator iterator = bodies.iterator();
+                while (iterator.hasNext()) {
+                    long bodyId = iterator.nextLong();
+                    if (seen == null) {
+                        seen = new LongOpenHashSet();
+                    }
+                    if (!seen.add(bodyId)) {
+                        continue;
+                    }
+                    DynamicCollider collider = registry.bodies.get(bodyId);
+                    if (collider == null || collider.bounds == null || !collider.bounds.intersects(query)) {
+                        continue;
+                    }
+                    if (candidates == null) {
+                        candidates = new ArrayList<>(2);
+                    }
+                    candidates.add(collider);
                 }
-                candidates.addAll(bodies);
             }
         }
         return candidates;
@@ -229,34 +457,19 @@ public final class PhysicsColliderManager {
             return Collections.emptyList();
         }
         
-        // On server, we update from native. On client, we rely on packets.
-        if (entity.level() instanceof ServerLevel level) {
-            ensureUpdated(level);
-        }
+        // On server, colliders are refreshed from native once per tick. On client, we rely on packets.
+        return collectCollisionShapes(entity.level().dimension(), entity.getBoundingBox().expandTowards(movement));
+    }
 
-        AABB query = entity.getBoundingBox().expandTowards(movement);
-        
-        ResourceKey<Level> dimension = entity.level().dimension();
-        if (entity.level() instanceof ServerLevel level) {
-             dimension = level.dimension();
-        }
+    static List<VoxelShape> collectCollisionShapes(ResourceKey<Level> dimension, AABB query) {
         List<VoxelShape> shapes = null;
 
         synchronized (DYNAMIC_BODIES) {
-            LongOpenHashSet candidates = collectCandidateBodiesLocked(dimension, query);
-            if (candidates == null || candidates.isEmpty()) {
+            List<DynamicCollider> candidates = collectCandidateCollidersLocked(dimension, query);
+            if (candidates == null) {
                 return Collections.emptyList();
             }
-            LongIterator iterator = candidates.iterator();
-            while (iterator.hasNext()) {
-                long bodyId = iterator.nextLong();
-                DynamicCollider collider = DYNAMIC_BODIES.get(bodyId);
-                if (collider == null || collider.dimension != dimension) {
-                    continue;
-                }
-                if (collider.bounds == null || !collider.bounds.intersects(query)) {
-                    continue;
-                }
+            for (DynamicCollider collider : candidates) {
                 if (shapes == null) {
                     shapes = new ArrayList<>();
                 }
@@ -267,12 +480,131 @@ public final class PhysicsColliderManager {
         return shapes == null ? Collections.emptyList() : shapes;
     }
 
+    /**
+     * Resolves player movement against bodies whose rotation is not a multiple of 90 degrees.
+     * Those bodies are left out of {@link #collectCollisionShapes} because a world AABB around
+     * a tilted box overhangs the real geometry; here the player box is swept against the
+     * oriented boxes themselves, one axis at a time like vanilla collision.
+     */
+    public static Vec3 collideOriented(Entity entity, Vec3 movement) {
+        if (!(entity instanceof Player) || movement.lengthSqr() == 0.0) {
+            return movement;
+        }
+        if (!PhysicsWorldManager.isNativeAvailable() && !entity.level().isClientSide()) {
+            return movement;
+        }
+
+        AABB box = entity.getBoundingBox();
+        float stepHeight = entity.maxUpStep();
+        AABB query = box.expandTowards(movement).expandTowards(0.0, stepHeight, 0.0);
+        ResourceKey<Level> dimension = entity.level().dimension();
+        Vec3 resolved;
+        Vec3 stepped = null;
+
+        synchronized (DYNAMIC_BODIES) {
+            List<DynamicCollider> colliders = collectOrientedCollidersLocked(dimension, query);
+            if (colliders == null) {
+                return movement;
+            }
+            OrientedBoxSweep sweep = new OrientedBoxSweep();
+            resolved = sweepMovement(colliders, sweep, box, movement.x, movement.y, movement.z);
+            boolean blockedHorizontally = resolved.x != movement.x || resolved.z != movement.z;
+            boolean landed = movement.y < 0.0 && resolved.y != movement.y;
+            if (stepHeight > 0.0F && blockedHorizontally && (landed || entity.onGround())) {
+                stepped = stepUp(colliders, sweep, box, movement, resolved.y, stepHeight);
+            }
+        }
+
+        if (stepped != null && stepped.horizontalDistanceSqr() > resolved.horizontalDistanceSqr()
+                && entity.level().noCollision(entity, box.move(stepped))) {
+            return stepped;
+        }
+        return resolved;
+    }
+
+    /**
+     * Sweeps a box against the oriented bodies of a dimension without step-up; the
+     * entity-free core of {@link #collideOriented}.
+     */
+    static Vec3 sweepOriented(ResourceKey<Level> dimension, AABB box, Vec3 movement) {
+        AABB query = box.expandTowards(movement);
+        synchronized (DYNAMIC_BODIES) {
+            List<DynamicCollider> colliders = collectOrientedCollidersLocked(dimension, query);
+            if (colliders == null) {
+                return movement;
+            }
+            return sweepMovement(colliders, new OrientedBoxSweep(), box, movement.x, movement.y, movement.z);
+        }
+    }
+
+    private static List<DynamicCollider> collectOrientedCollidersLocked(ResourceKey<Level> dimension, AABB query) {
+        List<DynamicCollider> candidates = collectCandidateCollidersLocked(dimension, query);
+        if (candidates == null) {
+            return null;
+        }
+        candidates.removeIf(collider -> collider.gridAligned);
+        return candidates.isEmpty() ? null : candidates;
+    }
+
+    private static Vec3 sweepMovement(List<DynamicCollider> colliders, OrientedBoxSweep sweep, AABB box,
+                                      double x, double y, double z) {
+        if (y != 0.0) {
+            y = clampAlongAxis(colliders, sweep, box, Direction.Axis.Y, y);
+            box = box.move(0.0, y, 0.0);
+        }
+        boolean zFirst = Math.abs(x) < Math.abs(z);
+        if (zFirst && z != 0.0) {
+            z = clampAlongAxis(colliders, sweep, box, Direction.Axis.Z, z);
+            box = box.move(0.0, 0.0, z);
+        }
+        if (x != 0.0) {
+            x = clampAlongAxis(colliders, sweep, box, Direction.Axis.X, x);
+            box = box.move(x, 0.0, 0.0);
+        }
+        if (!zFirst && z != 0.0) {
+            z = clampAlongAxis(colliders, sweep, box, Direction.Axis.Z, z);
+        }
+        return new Vec3(x, y, z);
+    }
+
+    private static Vec3 stepUp(List<DynamicCollider> colliders, OrientedBoxSweep sweep, AABB box, Vec3 movement,
+                               double resolvedY, float stepHeight) {
+        AABB start = resolvedY < 0.0 ? box.move(0.0, resolvedY, 0.0) : box;
+        double up = clampAlongAxis(colliders, sweep, start, Direction.Axis.Y, stepHeight);
+        if (up <= 0.0) {
+            return null;
+        }
+        AABB raised = start.move(0.0, up, 0.0);
+        Vec3 horizontal = sweepMovement(colliders, sweep, raised, movement.x, 0.0, movement.z);
+        AABB moved = raised.move(horizontal.x, 0.0, horizontal.z);
+        double down = clampAlongAxis(colliders, sweep, moved, Direction.Axis.Y, -up);
+        return new Vec3(horizontal.x, (start.minY - box.minY) + up + down, horizontal.z);
+    }
+
+    private static double clampAlongAxis(List<DynamicCollider> colliders, OrientedBoxSweep sweep, AABB box,
+                                         Direction.Axis axis, double distance) {
+        for (DynamicCollider collider : colliders) {
+            if (distance == 0.0) {
+                break;
+            }
+            distance = collider.clampMotion(sweep, box, axis, distance);
+        }
+        return distance;
+    }
+
     public static PlatformSupport getPlatformSupport(ServerLevel level, AABB playerBox) {
-        if (level == null || playerBox == null) {
+        return getPlatformSupport(level, playerBox, null);
+    }
+
+    public static PlatformSupport getPlatformSupport(ServerLevel level, AABB playerBox, SupportCache cache) {
+        return level == null ? null : getPlatformSupport(level.dimension(), playerBox, cache);
+    }
+
+    public static PlatformSupport getPlatformSupport(ResourceKey<Level> dimension, AABB playerBox, SupportCache cache) {
+        if (dimension == null || playerBox == null) {
             return null;
         }
-        ensureUpdated(level);
-        SupportInfo support = findSupport(level.dimension(), playerBox);
+        SupportInfo support = findSupport(dimension, playerBox, cache);
         if (support == null) {
             return null;
         }
@@ -285,31 +617,37 @@ public final class PhysicsColliderManager {
     }
 
     public static Vec3 getPlatformVelocityClient(Level level, AABB playerBox) {
+        return getPlatformVelocityClient(level, playerBox, null);
+    }
+
+    public static Vec3 getPlatformVelocityClient(Level level, AABB playerBox, SupportCache cache) {
         if (level == null || playerBox == null) {
             return null;
         }
-        SupportInfo support = findSupport(level.dimension(), playerBox);
+        SupportInfo support = findSupport(level.dimension(), playerBox, cache);
         return support == null ? null : computePlatformVelocity(support, playerBox);
     }
 
-    private static SupportInfo findSupport(ResourceKey<Level> dimension, AABB playerBox) {
+    private static SupportInfo findSupport(ResourceKey<Level> dimension, AABB playerBox, SupportCache cache) {
         AABB probe = playerBox.expandTowards(0.0, -PLATFORM_PROBE_DEPTH, 0.0);
         double bestTop = Double.NEGATIVE_INFINITY;
         SupportInfo bestSupport = null;
 
         synchronized (DYNAMIC_BODIES) {
-            LongOpenHashSet candidates = collectCandidateBodiesLocked(dimension, probe);
-            if (candidates != null) {
-                LongIterator iterator = candidates.iterator();
-                while (iterator.hasNext()) {
-                    long bodyId = iterator.nextLong();
-                    DynamicCollider collider = DYNAMIC_BODIES.get(bodyId);
-                    if (collider == null || collider.dimension != dimension) {
-                        continue;
-                    }
-                    if (collider.bounds == null || !collider.bounds.intersects(probe)) {
-                        continue;
+            if (cache != null && cache.boxIndex >= 0) {
+                DynamicCollider collider = cache.dimension == dimension ? DYNAMIC_BODIES.get(cache.bodyId) : null;
+                if (collider != null && collider.shapeGeneration == cache.shapeGeneration) {
+                    SupportInfo cached = collider.revalidateSupport(cache.boxIndex, playerBox, PLATFORM_MAX_GAP);
+                    if (cached != null) {
+                        return cached;
                     }
+                }
+                cache.invalidate();
+            }
+
+            List<DynamicCollider> candidates = collectCandidateCollidersLocked(dimension, probe);
+            if (candidates != null) {
+                for (DynamicCollider collider : candidates) {
                     SupportInfo support = collider.findSupport(playerBox, probe, PLATFORM_MAX_GAP);
                     if (support != null && support.topY > bestTop) {
                         bestTop = support.topY;
@@ -317,6 +655,13 @@ public final class PhysicsColliderManager {
                     }
                 }
             }
+            if (cache != null && bestSupport != null && bestSupport.boxIndex >= 0) {
+                DynamicCollider collider = DYNAMIC_BODIES.get(bestSupport.bodyId);
+                cache.dimension = dimension;
+                cache.bodyId = bestSupport.bodyId;
+                cache.boxIndex = bestSupport.boxIndex;
+                cache.shapeGeneration = collider.shapeGeneration;
+            }
         }
 
         return bestSupport;
@@ -345,50 +690,20 @@ public final class PhysicsColliderManager {
             return;
         }
 
-        ensureUpdated(level);
-        ResourceKey<Level> dimension = level.dimension();
         synchronized (DYNAMIC_BODIES) {
-            LongOpenHashSet candidates = collectCandidateBodiesLocked(dimension, region);
+            List<DynamicCollider> candidates = collectCandidateCollidersLocked(level.dimension(), region);
             if (candidates == null) {
                 return;
             }
-            LongIterator iterator = candidates.iterator();
-            while (iterator.hasNext()) {
-                long bodyId = iterator.nextLong();
-                DynamicCollider collider = DYNAMIC_BODIES.get(bodyId);
-                if (collider == null || collider.dimension != dimension) {
-                    continue;
-                }
-                if (collider.bounds != null && collider.bounds.intersects(region)) {
-                    engine.activateBody(collider.bodyId);
-                }
+            for (DynamicCollider collider : candidates) {
+                engine.activateBody(collider.bodyId);
             }
         }
     }
 
-    private static void ensureUpdated(ServerLevel level) {
-        long tick = level.getGameTime();
-        ResourceKey<Level> dimension = level.dimension();
-        Long last = LAST_UPDATE_TICK.get(dimension);
-        if (last != null && last == tick) {
-            return;
-        }
-        updateForDimension(level, dimension);
-        LAST_UPDATE_TICK.put(dimension, tick);
-    }
-
-    private static void updateForDimension(ServerLevel level, ResourceKey<Level> dimension) {
-        NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
-        if (engine == null) {
-            return;
-        }
-        synchronized (DYNAMIC_BODIES) {
-            for (DynamicCollider collider : DYNAMIC_BODIES.values()) {
-                if (collider.dimension == dimension) {
-                    collider.update(engine);
-                }
-            }
-        }
+    private static final class DimensionRegistry {
+        private final Long2ObjectOpenHashMap<DynamicCollider> bodies = new Long2ObjectOpenHashMap<>();
+        private final Long2ObjectOpenHashMap<LongOpenHashSet> chunkIndex = new Long2ObjectOpenHashMap<>();
     }
 
     private static final class DynamicCollider {
@@ -404,6 +719,24 @@ public final class PhysicsColliderManager {
         private final Vector3f angularVelocity = new Vector3f();
         private AABB bounds;
         private final Quaternionf lastRotation = new Quaternionf();
+        private final Quaternionf inverseRotation = new Quaternionf();
+        private final Quaternionf scratchRotation = new Quaternionf();
+        private final Vector3f scratchPosition = new Vector3f();
+        private final Vector3f scratchCenter = new Vector3f();
+        // Client only: server-stamped states used for sub-tick placement.
+        private TransformHistory history;
+        // Changes whenever the local boxes change, so cached box indices can be recognised as stale.
+        private int shapeGeneration = SHAPE_GENERATIONS.incrementAndGet();
+        private int lastSweepHit = -1;
+        private int lastRayEntryAxis = -1;
+        // Fractional alignment of the block grid in local space, derived from the boxes.
+        private float gridOffsetX;
+        private float gridOffsetY;
+        private float gridOffsetZ;
+        private final Matrix3f rotationMatrix = new Matrix3f();
+        // World X, Y and Z axes in body-local space, packed row by row.
+        private final float[] worldAxesLocal = new float[9];
+        private boolean gridAligned = true;
         private boolean hasTransform = false;
         private float lastPx;
         private float lastPy;
@@ -428,6 +761,7 @@ public final class PhysicsColliderManager {
 
         private void setLocalBoxes(List<AABB> bodyLocalBoxes) {
             this.localBoxes = buildLocalBoxes(bodyLocalBoxes, new Vector3f());
+            this.shapeGeneration = SHAPE_GENERATIONS.incrementAndGet();
             rebuildSpatialIndex();
             if (hasTransform) {
                 updateTransform(lastPx, lastPy, lastPz, lastRotation);
@@ -445,36 +779,17 @@ public final class PhysicsColliderManager {
                 double maxY = box.maxY - bodyCenter.y;
                 double maxZ = box.maxZ - bodyCenter.z;
 
-                double sizeX = maxX - minX;
-                double sizeY = maxY - minY;
-                double sizeZ = maxZ - minZ;
-
-                int subdivX = clampSubdivisions(sizeX);
-                int subdivY = clampSubdivisions(sizeY);
-                int subdivZ = clampSubdivisions(sizeZ);
-
-                double stepX = sizeX / subdivX;
-                double stepY = sizeY / subdivY;
-                double stepZ = sizeZ / subdivZ;
-
+                Vector3f localCenter = new Vector3f(
+                        (float) ((minX + maxX) * 0.5),
+                        (float) ((minY + maxY) * 0.5),
+                        (float) ((minZ + maxZ) * 0.5)
+                );
                 Vector3f halfExtents = new Vector3f(
-                        (float) (stepX * 0.5),
-                        (float) (stepY * 0.5),
-                        (float) (stepZ * 0.5)
+                        (float) ((maxX - minX) * 0.5),
+                        (float) ((maxY - minY) * 0.5),
+                        (float) ((maxZ - minZ) * 0.5)
                 );
-
-                for (int x = 0; x < subdivX; x++) {
-                    for (int y = 0; y < subdivY; y++) {
-                        for (int z = 0; z < subdivZ; z++) {
-                            double centerX = minX + (x + 0.5) * stepX;
-                            double centerY = minY + (y + 0.5) * stepY;
-                            double centerZ = minZ + (z + 0.5) * stepZ;
-
-                            Vector3f localCenter = new Vector3f((float) centerX, (float) centerY, (float) centerZ);
-                            localBoxes.add(new LocalBox(localCenter, halfExtents));
-                        }
-                    }
-                }
+                localBoxes.add(new LocalBox(localCenter, halfExtents));
             }
 
             return localBoxes;
@@ -529,31 +844,30 @@ public final class PhysicsColliderManager {
                 maxZ = Math.max(maxZ, local.maxZ);
             }
 
+            LocalBox first = localBoxes.get(0);
+            gridOffsetX = first.minX - Mth.floor(first.minX);
+            gridOffsetY = first.minY - Mth.floor(first.minY);
+            gridOffsetZ = first.minZ - Mth.floor(first.minZ);
+
             localBoundsCenter.set((float) ((minX + maxX) * 0.5), (float) ((minY + maxY) * 0.5), (float) ((minZ + maxZ) * 0.5));
             localBoundsHalf.set((float) ((maxX - minX) * 0.5), (float) ((maxY - minY) * 0.5), (float) ((maxZ - minZ) * 0.5));
             hasLocalBounds = true;
             localGrid = LocalGrid.build(localBoxes, LOCAL_GRID_CELL_SIZE);
         }
 
-        private static int clampSubdivisions(double size) {
-            int target = (int) Math.ceil(size);
-            if (target < 1) {
-                target = 1;
-            } else if (target > 4) {
-                target = 4;
-            }
-            return target;
-        }
-
         private void update(NativePhysicsEngine engine) {
             engine.getBodyState(bodyId, stateBuffer);
+            applyState();
+        }
+
+        private void applyState() {
             float px = stateBuffer[0];
             float py = stateBuffer[1];
             float pz = stateBuffer[2];
             linearVelocity.set(stateBuffer[7], stateBuffer[8], stateBuffer[9]);
             angularVelocity.set(stateBuffer[10], stateBuffer[11], stateBuffer[12]);
-            Quaternionf rotation = new Quaternionf(stateBuffer[3], stateBuffer[4], stateBuffer[5], stateBuffer[6]);
-            updateTransform(px, py, pz, rotation);
+            scratchRotation.set(stateBuffer[3], stateBuffer[4], stateBuffer[5], stateBuffer[6]);
+            updateTransform(px, py, pz, scratchRotation);
         }
 
         public void updateTransform(float px, float py, float pz, Quaternionf rotation) {
@@ -561,15 +875,36 @@ public final class PhysicsColliderManager {
             this.lastPy = py;
             this.lastPz = pz;
             this.lastRotation.set(rotation);
+            this.inverseRotation.set(rotation).invert();
             this.hasTransform = true;
 
+            Matrix3f rot = rotationMatrix.set(rotation);
+            float[] axes = worldAxesLocal;
+            axes[0] = rot.m00();
+            axes[1] = rot.m10();
+            axes[2] = rot.m20();
+            axes[3] = rot.m01();
+            axes[4] = rot.m11();
+            axes[5] = rot.m21();
+            axes[6] = rot.m02();
+            axes[7] = rot.m12();
+            axes[8] = rot.m22();
+            boolean aligned = true;
+            for (float axis : axes) {
+                float abs = Math.abs(axis);
+                if (abs > GRID_ALIGNED_EPSILON && abs < 1.0f - GRID_ALIGNED_EPSILON) {
+                    aligned = false;
+                    break;
+                }
+            }
+            this.gridAligned = aligned;
+
             if (!hasLocalBounds) {
                 this.bounds = null;
                 updateChunkIndex(null);
                 return;
             }
 
-            Matrix3f rot = new Matrix3f().set(rotation);
             float m00 = Math.abs(rot.m00());
             float m01 = Math.abs(rot.m01());
             float m02 = Math.abs(rot.m02());
@@ -580,10 +915,11 @@ public final class PhysicsColliderManager {
             float m21 = Math.abs(rot.m21());
             float m22 = Math.abs(rot.m22());
 
-            Vector3f center = new Vector3f(localBoundsCenter).rotate(rotation).add(px, py, pz);
-            float hx = m00 * localBoundsHalf.x + m01 * localBoundsHalf.y + m02 * localBoundsHalf.z;
-            float hy = m10 * localBoundsHalf.x + m11 * localBoundsHalf.y + m12 * localBoundsHalf.z;
-            float hz = m20 * localBoundsHalf.x + m21 * localBoundsHalf.y + m22 * localBoundsHalf.z;
+            // JOML names elements column-first, so world X extent comes from m00, m10 and m20.
+            Vector3f center = scratchCenter.set(localBoundsCenter).rotate(rotation).add(px, py, pz);
+            float hx = m00 * localBoundsHalf.x + m10 * localBoundsHalf.y + m20 * localBoundsHalf.z;
+            float hy = m01 * localBoundsHalf.x + m11 * localBoundsHalf.y + m21 * localBoundsHalf.z;
+            float hz = m02 * localBoundsHalf.x + m12 * localBoundsHalf.y + m22 * localBoundsHalf.z;
 
             AABB newBounds = new AABB(
                     center.x - hx, center.y - hy, center.z - hz,
@@ -635,7 +971,7 @@ public final class PhysicsColliderManager {
         }
 
         private void addChunkRange(int minX, int minZ, int maxX, int maxZ) {
-            Long2ObjectOpenHashMap<LongOpenHashSet> index = CHUNK_INDEX.computeIfAbsent(dimension, d -> new Long2ObjectOpenHashMap<>());
+            Long2ObjectOpenHashMap<LongOpenHashSet> index = registryFor(dimension).chunkIndex;
             for (int cx = minX; cx <= maxX; cx++) {
                 for (int cz = minZ; cz <= maxZ; cz++) {
                     long key = ChunkPos.asLong(cx, cz);
@@ -650,10 +986,11 @@ public final class PhysicsColliderManager {
         }
 
         private void removeChunkRange(int minX, int minZ, int maxX, int maxZ) {
-            Long2ObjectOpenHashMap<LongOpenHashSet> index = CHUNK_INDEX.get(dimension);
-            if (index == null) {
+            DimensionRegistry registry = REGISTRIES.get(dimension);
+            if (registry == null) {
                 return;
             }
+            Long2ObjectOpenHashMap<LongOpenHashSet> index = registry.chunkIndex;
             for (int cx = minX; cx <= maxX; cx++) {
                 for (int cz = minZ; cz <= maxZ; cz++) {
                     long key = ChunkPos.asLong(cx, cz);
@@ -675,9 +1012,9 @@ public final class PhysicsColliderManager {
                                  float m20, float m21, float m22) {
             Vector3f center = new Vector3f(local.center).rotate(lastRotation).add(lastPx, lastPy, lastPz);
             Vector3f half = local.halfExtents;
-            float hx = m00 * half.x + m01 * half.y + m02 * half.z;
-            float hy = m10 * half.x + m11 * half.y + m12 * half.z;
-            float hz = m20 * half.x + m21 * half.y + m22 * half.z;
+            float hx = m00 * half.x + m10 * half.y + m20 * half.z;
+            float hy = m01 * half.x + m11 * half.y + m21 * half.z;
+            float hz = m02 * half.x + m12 * half.y + m22 * half.z;
             return new AABB(
                     center.x - hx, center.y - hy, center.z - hz,
                     center.x + hx, center.y + hy, center.z + hz
@@ -685,7 +1022,7 @@ public final class PhysicsColliderManager {
         }
 
         private LocalAabb toLocalAabb(AABB worldAabb) {
-            Quaternionf inverse = new Quaternionf(lastRotation).invert();
+            Quaternionf inverse = inverseRotation;
             float minX = Float.POSITIVE_INFINITY;
             float minY = Float.POSITIVE_INFINITY;
             float minZ = Float.POSITIVE_INFINITY;
@@ -736,8 +1073,23 @@ public final class PhysicsColliderManager {
             return boxes;
         }
 
-        private void appendShapes(AABB query, List<VoxelShape> shapes) {
+        private List<AABB> buildUnrotatedBoxes() {
             if (!hasTransform || localBoxes.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<AABB> boxes = new ArrayList<>(localBoxes.size());
+            for (LocalBox local : localBoxes) {
+                boxes.add(new AABB(
+                        local.minX + lastPx, local.minY + lastPy, local.minZ + lastPz,
+                        local.maxX + lastPx, local.maxY + lastPy, local.maxZ + lastPz
+                ));
+            }
+            return boxes;
+        }
+
+        private void appendShapes(AABB query, List<VoxelShape> shapes) {
+            // Tilted bodies are resolved exactly by collideOriented instead of through enveloping AABBs.
+            if (!hasTransform || localBoxes.isEmpty() || !gridAligned) {
                 return;
             }
             LocalAabb localQuery = toLocalAabb(query);
@@ -815,6 +1167,7 @@ public final class PhysicsColliderManager {
         private Float intersectRayLocal(Vector3f origin, Vector3f dir, LocalBox box) {
             double tMin = 0.0;
             double tMax = Double.MAX_VALUE;
+            int entryAxis = -1;
 
             double ox = origin.x;
             double oy = origin.y;
@@ -829,7 +1182,11 @@ public final class PhysicsColliderManager {
                 double inv = 1.0 / dx;
                 double t1 = (box.minX - ox) * inv;
                 double t2 = (box.maxX - ox) * inv;
-                tMin = Math.max(tMin, Math.min(t1, t2));
+                double near = Math.min(t1, t2);
+                if (near > tMin) {
+                    tMin = near;
+                    entryAxis = 0;
+                }
                 tMax = Math.min(tMax, Math.max(t1, t2));
             }
 
@@ -839,7 +1196,11 @@ public final class PhysicsColliderManager {
                 double inv = 1.0 / dy;
                 double t1 = (box.minY - oy) * inv;
                 double t2 = (box.maxY - oy) * inv;
-                tMin = Math.max(tMin, Math.min(t1, t2));
+                double near = Math.min(t1, t2);
+                if (near > tMin) {
+                    tMin = near;
+                    entryAxis = 1;
+                }
                 tMax = Math.min(tMax, Math.max(t1, t2));
             }
 
@@ -849,18 +1210,159 @@ public final class PhysicsColliderManager {
                 double inv = 1.0 / dz;
                 double t1 = (box.minZ - oz) * inv;
                 double t2 = (box.maxZ - oz) * inv;
-                tMin = Math.max(tMin, Math.min(t1, t2));
+                double near = Math.min(t1, t2);
+                if (near > tMin) {
+                    tMin = near;
+                    entryAxis = 2;
+                }
                 tMax = Math.min(tMax, Math.max(t1, t2));
             }
 
             if (tMin > tMax) return null;
+            lastRayEntryAxis = entryAxis;
             return (float) tMin;
         }
 
+        /**
+         * Like {@link #raycast} but also reports which box face was entered and the block
+         * containing the hit, in the body's local block grid.
+         */
+        private BodyRayHit raycastHit(Vec3 origin, Vec3 direction, double maxDistance) {
+            if (!hasTransform || localBoxes.isEmpty()) {
+                return null;
+            }
+            Vector3f originLocal = new Vector3f((float) (origin.x - lastPx), (float) (origin.y - lastPy), (float) (origin.z - lastPz));
+            inverseRotation.transform(originLocal);
+            Vector3f dirLocal = new Vector3f((float) direction.x, (float) direction.y, (float) direction.z);
+            inverseRotation.transform(dirLocal);
+            if (dirLocal.lengthSquared() < 1.0E-9f) {
+                return null;
+            }
+
+            Vector3f endLocal = new Vector3f(dirLocal).mul((float) maxDistance).add(originLocal);
+            LocalAabb localQuery = LocalAabb.fromSegment(originLocal, endLocal);
+            IntOpenHashSet candidates = localGrid.collectCandidates(localQuery);
+            if (candidates == null || candidates.isEmpty()) {
+                return null;
+            }
+
+            double best = Double.POSITIVE_INFINITY;
+            int bestAxis = -1;
+            IntIterator iterator = candidates.iterator();
+            while (iterator.hasNext()) {
+                int idx = iterator.nextInt();
+                if (idx < 0 || idx >= localBoxes.size()) {
+                    continue;
+                }
+                LocalBox local = localBoxes.get(idx);
+                if (!localQuery.intersects(local)) {
+                    continue;
+                }
+                Float hit = intersectRayLocal(originLocal, dirLocal, local);
+                if (hit != null && hit >= 0.0 && hit <= maxDistance && hit < best) {
+                    best = hit;
+                    bestAxis = lastRayEntryAxis;
+                }
+            }
+            if (best == Double.POSITIVE_INFINITY) {
+                return null;
+            }
+
+            Direction face;
+            if (bestAxis < 0) {
+                // Ray starts inside the box: report the face the ray is looking back at.
+                face = Direction.getNearest(-dirLocal.x, -dirLocal.y, -dirLocal.z);
+            } else {
+                float component = bestAxis == 0 ? dirLocal.x : (bestAxis == 1 ? dirLocal.y : dirLocal.z);
+                Direction.Axis axis = bestAxis == 0 ? Direction.Axis.X : (bestAxis == 1 ? Direction.Axis.Y : Direction.Axis.Z);
+                face = Direction.fromAxisAndDirection(axis,
+                        component > 0.0f ? Direction.AxisDirection.NEGATIVE : Direction.AxisDirection.POSITIVE);
+            }
+
+            // Step slightly into the box so the hit point falls inside the block that was struck.
+            float t = (float) best;
+            double hx = originLocal.x + dirLocal.x * t - face.getStepX() * 1.0E-4;
+            double hy = originLocal.y + dirLocal.y * t - face.getStepY() * 1.0E-4;
+            double hz = originLocal.z + dirLocal.z * t - face.getStepZ() * 1.0E-4;
+            Vector3f grid = BLOCK_GRID_ORIGINS.get(bodyId);
+            double gx = grid != null ? grid.x : gridOffsetX;
+            double gy = grid != null ? grid.y : gridOffsetY;
+            double gz = grid != null ? grid.z : gridOffsetZ;
+            BlockPos localBlock = new BlockPos(Mth.floor(hx - gx), Mth.floor(hy - gy), Mth.floor(hz - gz));
+            Vec3 location = origin.add(direction.scale(best));
+            return new BodyRayHit(bodyId, best, location, localBlock, face);
+        }
+
+        /**
+         * Shortens a single-axis world movement of {@code box} so it stops just before touching
+         * one of this body's boxes. Only used for bodies that are not grid aligned.
+         */
+        private double clampMotion(OrientedBoxSweep sweep, AABB box, Direction.Axis axis, double distance) {
+            if (!hasTransform || localBoxes.isEmpty() || gridAligned) {
+                return distance;
+            }
+            double mx = axis == Direction.Axis.X ? distance : 0.0;
+            double my = axis == Direction.Axis.Y ? distance : 0.0;
+            double mz = axis == Direction.Axis.Z ? distance : 0.0;
+            AABB swept = box.expandTowards(mx, my, mz);
+            if (bounds == null || !bounds.intersects(swept)) {
+                return distance;
+            }
+            LocalAabb localQuery = toLocalAabb(swept);
+            IntOpenHashSet candidates = localGrid.collectCandidates(localQuery);
+            if (candidates == null || candidates.isEmpty()) {
+                return distance;
+            }
+
+            // Rotate into local space with the transposed rotation matrix, in double precision.
+            Matrix3f rot = rotationMatrix;
+            double dx = (box.minX + box.maxX) * 0.5 - lastPx;
+            double dy = (box.minY + box.maxY) * 0.5 - lastPy;
+            double dz = (box.minZ + box.maxZ) * 0.5 - lastPz;
+            sweep.setBox(
+                    rot.m00() * dx + rot.m01() * dy + rot.m02() * dz,
+                    rot.m10() * dx + rot.m11() * dy + rot.m12() * dz,
+                    rot.m20() * dx + rot.m21() * dy + rot.m22() * dz,
+                    (box.maxX - box.minX) * 0.5, (box.maxY - box.minY) * 0.5, (box.maxZ - box.minZ) * 0.5,
+                    worldAxesLocal);
+            sweep.setMotion(
+                    rot.m00() * mx + rot.m01() * my + rot.m02() * mz,
+                    rot.m10() * mx + rot.m11() * my + rot.m12() * mz,
+                    rot.m20() * mx + rot.m21() * my + rot.m22() * mz);
+
+            double best = OrientedBoxSweep.NO_HIT;
+            lastSweepHit = -1;
+            IntIterator iterator = candidates.iterator();
+            while (iterator.hasNext()) {
+                int idx = iterator.nextInt();
+                if (idx < 0 || idx >= localBoxes.size()) {
+                    continue;
+                }
+                LocalBox local = localBoxes.get(idx);
+                if (!localQuery.intersects(local)) {
+                    continue;
+                }
+                double t = sweep.timeOfImpact(local.center.x, local.center.y, local.center.z,
+                        local.halfExtents.x, local.halfExtents.y, local.halfExtents.z);
+                if (t < best) {
+                    best = t;
+                    lastSweepHit = idx;
+                }
+            }
+            if (best == OrientedBoxSweep.NO_HIT) {
+                return distance;
+            }
+            double allowed = Math.max(0.0, best * Math.abs(distance) - OrientedBoxSweep.CONTACT_SKIN * 0.5);
+            return Math.copySign(allowed, distance);
+        }
+
         private SupportInfo findSupport(AABB playerBox, AABB probe, double maxGap) {
             if (!hasTransform || localBoxes.isEmpty()) {
                 return null;
             }
+            if (!gridAligned) {
+                return findSupportOriented(playerBox, maxGap);
+            }
             LocalAabb localProbe = toLocalAabb(probe);
             IntOpenHashSet candidates = localGrid.collectCandidates(localProbe);
             if (candidates == null || candidates.isEmpty()) {
@@ -880,6 +1382,7 @@ public final class PhysicsColliderManager {
 
             double feetY = playerBox.minY;
             double bestTop = Double.NEGATIVE_INFINITY;
+            int bestIndex = -1;
             int[] raw = candidates.toIntArray();
             for (int idx : raw) {
                 if (idx < 0 || idx >= localBoxes.size()) {
@@ -899,19 +1402,118 @@ public final class PhysicsColliderManager {
                 }
                 if (worldBox.maxY > bestTop) {
                     bestTop = worldBox.maxY;
+                    bestIndex = idx;
                 }
             }
             if (bestTop == Double.NEGATIVE_INFINITY) {
                 return null;
             }
-            return new SupportInfo(bestTop, lastPx, lastPy, lastPz, linearVelocity, angularVelocity);
+            return new SupportInfo(bestTop, lastPx, lastPy, lastPz, linearVelocity, angularVelocity, bodyId, bestIndex);
+        }
+
+        /**
+         * Drops the player box from {@link #PLATFORM_PROBE_DEPTH} above the feet down to
+         * {@code maxGap} below them and reports the height of the first oriented box it lands on.
+         */
+        private SupportInfo findSupportOriented(AABB playerBox, double maxGap) {
+            double drop = PLATFORM_PROBE_DEPTH + maxGap;
+            AABB start = playerBox.move(0.0, PLATFORM_PROBE_DEPTH, 0.0);
+            double allowed = clampMotion(new OrientedBoxSweep(), start, Direction.Axis.Y, -drop);
+            if (allowed <= -drop) {
+                return null;
+            }
+            return new SupportInfo(start.minY + allowed, lastPx, lastPy, lastPz, linearVelocity, angularVelocity,
+                    bodyId, lastSweepHit);
+        }
+
+        /**
+         * Recomputes support from a previously found box using only the current transform:
+         * intersects the vertical line through the player's feet with the box's upward face.
+         * Returns null once the feet are no longer over that box or out of the gap range.
+         */
+        private SupportInfo revalidateSupport(int boxIndex, AABB playerBox, double maxGap) {
+            if (!hasTransform || boxIndex < 0 || boxIndex >= localBoxes.size()) {
+                return null;
+            }
+            LocalBox box = localBoxes.get(boxIndex);
+            Matrix3f rot = rotationMatrix;
+            // World Y component of each local axis, i.e. d(local)/d(worldY).
+            float up0 = rot.m01();
+            float up1 = rot.m11();
+            float up2 = rot.m21();
+            int axis = 0;
+            float up = up0;
+            if (Math.abs(up1) > Math.abs(up)) {
+                axis = 1;
+                up = up1;
+            }
+            if (Math.abs(up2) > Math.abs(up)) {
+                axis = 2;
+                up = up2;
+            }
+
+            double feetX = (playerBox.minX + playerBox.maxX) * 0.5;
+            double feetY = playerBox.minY;
+            double feetZ = (playerBox.minZ + playerBox.maxZ) * 0.5;
+            double dx = feetX - lastPx;
+            double dy = feetY - lastPy;
+            double dz = feetZ - lastPz;
+            double lx = rot.m00() * dx + rot.m01() * dy + rot.m02() * dz;
+            double ly = rot.m10() * dx + rot.m11() * dy + rot.m12() * dz;
+            double lz = rot.m20() * dx + rot.m21() * dy + rot.m22() * dz;
+
+            double localFeet = axis == 0 ? lx : (axis == 1 ? ly : lz);
+            double face = up > 0.0f
+                    ? (axis == 0 ? box.maxX : (axis == 1 ? box.maxY : box.maxZ))
+                    : (axis == 0 ? box.minX : (axis == 1 ? box.minY : box.minZ));
+            double rise = (face - localFeet) / up;
+            double topY = feetY + rise;
+            double gap = feetY - topY;
+            if (gap < -PLATFORM_PROBE_DEPTH || gap > maxGap) {
+                return null;
+            }
+
+            double margin = (playerBox.maxX - playerBox.minX) * 0.5;
+            double px = lx + up0 * rise;
+            double py = ly + up1 * rise;
+            double pz = lz + up2 * rise;
+            if ((axis != 0 && (px < box.minX - margin || px > box.maxX + margin))
+                    || (axis != 1 && (py < box.minY - margin || py > box.maxY + margin))
+                    || (axis != 2 && (pz < box.minZ - margin || pz > box.maxZ + margin))) {
+                return null;
+            }
+            return new SupportInfo(topY, lastPx, lastPy, lastPz, linearVelocity, angularVelocity, bodyId, boxIndex);
         }
     }
 
     public record PlatformSupport(double topY, Vec3 velocity) {
     }
 
-    private record SupportInfo(double topY, float bodyX, float bodyY, float bodyZ, Vector3f linearVelocity, Vector3f angularVelocity) {
+    /**
+     * Nearest hit from {@link #raycastAll}. {@code localBlockPos} and {@code face} are in the
+     * body's local block grid; {@code location} is the world-space hit point.
+     */
+    public record BodyRayHit(long bodyId, double distance, Vec3 location, BlockPos localBlockPos, Direction face) {
+    }
+
+    /**
+     * Per-player memory of the body and box that last supported the player. While the player
+     * stays over that box and the body's shape is unchanged, support is recomputed from the
+     * body's current transform alone instead of searching the dimension again.
+     */
+    public static final class SupportCache {
+        private ResourceKey<Level> dimension;
+        private long bodyId;
+        private int boxIndex = -1;
+        private int shapeGeneration;
+
+        public void invalidate() {
+            this.boxIndex = -1;
+        }
+    }
+
+    private record SupportInfo(double topY, float bodyX, float bodyY, float bodyZ, Vector3f linearVelocity, Vector3f angularVelocity,
+                               long bodyId, int boxIndex) {
     }
 
     private record LocalAabb(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
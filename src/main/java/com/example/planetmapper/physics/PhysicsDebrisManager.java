@@ -0,0 +1,247 @@
+package com.example.planetmapper.physics;
+
+import com.example.planetmapper.Config;
+import com.example.planetmapper.entity.ModEntities;
+import com.example.planetmapper.entity.PhysicsBlockEntity;
+import com.example.planetmapper.physics.structure.StructurePhysicsProperties;
+import com.example.planetmapper.util.SectionBlockWriter;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lightweight debris: one unit-box body per block, shown by a {@link PhysicsBlockEntity}
+ * carrying the block state, with no shipyard region or structure bookkeeping. Live debris is
+ * capped per dimension. Released bodies are disabled and pooled rather than removed, so the
+ * next piece only has to teleport one back in. Debris that has slept long enough is written
+ * back into the world grid; pieces that cannot be are despawned once their lifetime runs out.
+ */
+public final class PhysicsDebrisManager {
+    private static final int CHECK_INTERVAL_TICKS = 20;
+    // A single cell about its own center, in body-local coordinates.
+    private static final MassDistribution CELL_DISTRIBUTION = new MassDistribution(1,
+            0.0, 0.0, 0.0, 1.0 / 6.0, 1.0 / 6.0, 1.0 / 6.0, 0.0, 0.0, 0.0);
+
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<Debris>> BY_DIMENSION = new ConcurrentHashMap<>();
+    private static final LongArrayList POOL = new LongArrayList();
+
+    private PhysicsDebrisManager() {
+    }
+
+    public static boolean isDebris(long bodyId) {
+        for (Long2ObjectOpenHashMap<Debris> live : BY_DIMENSION.values()) {
+            if (live.containsKey(bodyId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Room left under the per-dimension cap; none without the native engine.
+     */
+    public static int remaining(ServerLevel level) {
+        if (!PhysicsWorldManager.isNativeAvailable()) {
+            return 0;
+        }
+        Long2ObjectOpenHashMap<Debris> live = BY_DIMENSION.get(level.dimension());
+        return Math.max(0, Config.PHYSICS_DEBRIS_MAX_BODIES.get() - (live != null ? live.size() : 0));
+    }
+
+    /**
+     * Spawns a debris piece for {@code state} filling the cell at {@code pos}. The caller removes
+     * the world block first. Returns false if the cap is reached or no body could be made.
+     */
+    public static boolean spawn(ServerLevel level, BlockPos pos, BlockState state) {
+        NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
+        if (engine == null || remaining(level) <= 0) {
+            return false;
+        }
+        StructurePhysicsProperties properties = new StructurePhysicsProperties();
+        properties.addState(state);
+        StructurePhysicsProperties.MaterialSummary material = properties.snapshot();
+        AABB box = new AABB(pos);
+        Vector3f center = new Vector3f((float) box.getCenter().x, (float) box.getCenter().y, (float) box.getCenter().z);
+
+        long bodyId = acquire(engine, center, material);
+        if (bodyId <= 0) {
+            bodyId = engine.createRigidBody(Collections.singletonList(box), material);
+            if (bodyId <= 0) {
+                return false;
+            }
+        }
+
+        PhysicsBlockEntity entity = ModEntities.PHYSICS_BLOCK.get().create(level);
+        if (entity == null) {
+            recycle(engine, bodyId);
+            return false;
+        }
+        PhysicsColliderManager.registerAndSyncBody(level, bodyId, Collections.singletonList(box), center);
+        entity.setPos(center.x, center.y - entity.getBodyYOffset(), center.z);
+        entity.setBodyId(bodyId);
+        entity.setDisplayState(state);
+        BY_DIMENSION.computeIfAbsent(level.dimension(), key -> new Long2ObjectOpenHashMap<>())
+                .put(bodyId, new Debris(bodyId, entity.getId(), state, level.getGameTime()));
+        level.addFreshEntity(entity);
+        PhysicsWorldManager.registerEntity(entity);
+        return true;
+    }
+
+    /**
+     * Releases the body behind a removed debris entity. Returns false if {@code bodyId} is not debris.
+     */
+    public static boolean onEntityRemoved(ServerLevel level, long bodyId) {
+        Long2ObjectOpenHashMap<Debris> live = BY_DIMENSION.get(level.dimension());
+        Debris debris = live != null ? live.remove(bodyId) : null;
+        if (debris == null) {
+            return false;
+        }
+        PhysicsColliderManager.unregisterAndSyncBody(level, bodyId);
+        NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
+        if (engine != null) {
+            recycle(engine, bodyId);
+        }
+        return true;
+    }
+
+    public static void onLevelTick(ServerLevel level) {
+        if (level.getGameTime() % CHECK_INTERVAL_TICKS != 0 || !PhysicsWorldManager.hasSnapshot()) {
+            return;
+        }
+        Long2ObjectOpenHashMap<Debris> live = BY_DIMENSION.get(level.dimension());
+        if (live == null || live.isEmpty()) {
+            return;
+        }
+        NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
+        if (engine == null) {
+            return;
+        }
+        int settleTicks = Config.PHYSICS_DEBRIS_SETTLE_SLEEP_TICKS.get();
+        long lifetime = Config.PHYSICS_DEBRIS_LIFETIME_TICKS.get();
+        long now = level.getGameTime();
+
+        SectionBlockWriter writer = new SectionBlockWriter(level);
+        LongOpenHashSet claimed = new LongOpenHashSet();
+        List<Debris> finished = new ArrayList<>();
+        float[] state = new float[13];
+        for (Debris debris : live.values()) {
+            if (PhysicsWorldManager.readSnapshotState(debris.bodyId, state)) {
+                debris.sleepTicks = 0;
+            } else {
+                debris.sleepTicks += CHECK_INTERVAL_TICKS;
+                if (settleTicks > 0 && debris.sleepTicks >= settleTicks) {
+                    engine.getBodyState(debris.bodyId, state);
+                    BlockPos target = BlockPos.containing(state[0], state[1], state[2]);
+                    if (canPlace(level, target) && claimed.add(target.asLong())) {
+                        writer.set(target, debris.state, null);
+                        finished.add(debris);
+                        continue;
+                    }
+                }
+            }
+            if (now - debris.spawnTick >= lifetime) {
+                finished.add(debris);
+            }
+        }
+        for (Debris debris : finished) {
+            Entity entity = level.getEntity(debris.entityId);
+            if (entity != null) {
+                entity.discard();
+            } else {
+                onEntityRemoved(level, debris.bodyId);
+            }
+        }
+        LongIterator chunks = writer.flush().iterator();
+        while (chunks.hasNext()) {
+            WorldCollisionManager.markChunkDirtyNow(level, new ChunkPos(chunks.nextLong()));
+        }
+    }
+
+    /**
+     * Drops every pooled and live body; the entities themselves go with their level.
+     */
+    public static void shutdown() {
+        NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
+        if (engine != null) {
+            for (Long2ObjectOpenHashMap<Debris> live : BY_DIMENSION.values()) {
+                for (long bodyId : live.keySet()) {
+                    engine.removeBody(bodyId);
+                }
+            }
+            for (int i = 0; i < POOL.size(); i++) {
+                engine.removeBody(POOL.getLong(i));
+            }
+        }
+        BY_DIMENSION.clear();
+        POOL.clear();
+    }
+
+    private static boolean canPlace(ServerLevel level, BlockPos pos) {
+        return !level.isOutsideBuildHeight(pos)
+                && level.hasChunk(pos.getX() >> 4, pos.getZ() >> 4)
+                && level.getBlockState(pos).canBeReplaced();
+    }
+
+    /**
+     * Takes a pooled body and moves it to {@code center} at rest with the given material.
+     * Returns -1 if the pool is empty or the native library cannot reset a body.
+     */
+    private static long acquire(NativePhysicsEngine engine, Vector3f center, StructurePhysicsProperties.MaterialSummary material) {
+        while (!POOL.isEmpty()) {
+            long bodyId = POOL.removeLong(POOL.size() - 1);
+            float[] state = new float[13];
+            state[0] = center.x;
+            state[1] = center.y;
+            state[2] = center.z;
+            state[6] = 1.0f;
+            if (engine.setBodyEnabled(bodyId, true)
+                    && engine.setBodyState(bodyId, state)
+                    && engine.setBodyMassProperties(bodyId, CELL_DISTRIBUTION, material.mass())) {
+                engine.setBodyMaterial(bodyId, material);
+                engine.activateBody(bodyId);
+                return bodyId;
+            }
+            engine.removeBody(bodyId);
+        }
+        return -1;
+    }
+
+    private static void recycle(NativePhysicsEngine engine, long bodyId) {
+        if (POOL.size() < Config.PHYSICS_DEBRIS_MAX_BODIES.get() && engine.setBodyEnabled(bodyId, false)) {
+            POOL.add(bodyId);
+        } else {
+            engine.removeBody(bodyId);
+        }
+    }
+
+    private static final class Debris {
+        private final long bodyId;
+        private final int entityId;
+        private final BlockState state;
+        private final long spawnTick;
+        private int sleepTicks;
+
+        private Debris(long bodyId, int entityId, BlockState state, long spawnTick) {
+            this.bodyId = bodyId;
+            this.entityId = entityId;
+            this.state = state;
+            this.spawnTick = spawnTick;
+        }
+    }
+}
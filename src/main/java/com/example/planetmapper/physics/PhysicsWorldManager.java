@@ -1,8 +1,11 @@
 package com.example.planetmapper.physics;
 
 import com.example.planetmapper.PlanetMapper;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
 import org.joml.Vector3f;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,6 +24,16 @@ public class PhysicsWorldManager {
 
     private static final List<PhysicsBodyEntity> trackedEntities = new ArrayList<>();
 
+    // Active body states captured right after stepping, see syncAllBodies for the layout.
+    private static final int SNAPSHOT_STRIDE = 60;
+    private static ByteBuffer snapshotBuffer = allocateSnapshot(256);
+    private static final Long2IntOpenHashMap snapshotOffsets = new Long2IntOpenHashMap();
+    private static boolean snapshotValid = false;
+
+    static {
+        snapshotOffsets.defaultReturnValue(-1);
+    }
+
     public static void init() {
         if (initialized) return;
         initialized = true;
@@ -66,6 +79,7 @@ public class PhysicsWorldManager {
         for (int i = 0; i < substeps; i++) {
             engine.step(dt);
         }
+        captureSnapshot();
         // Synchronize physics state to logical entities every Minecraft tick
         synchronized (trackedEntities) {
             trackedEntities.removeIf(entity -> !entity.isAlive());
@@ -76,6 +90,53 @@ public class PhysicsWorldManager {
         }
     }
 
+    private static void captureSnapshot() {
+        int maxBodies = snapshotBuffer.capacity() / SNAPSHOT_STRIDE;
+        int count = engine.syncAllBodies(snapshotBuffer, maxBodies);
+        while (count >= maxBodies && maxBodies > 0) {
+            snapshotBuffer = allocateSnapshot(maxBodies * 2);
+            maxBodies = snapshotBuffer.capacity() / SNAPSHOT_STRIDE;
+            count = engine.syncAllBodies(snapshotBuffer, maxBodies);
+        }
+        snapshotOffsets.clear();
+        if (count < 0) {
+            snapshotValid = false;
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int offset = i * SNAPSHOT_STRIDE;
+            snapshotOffsets.put(snapshotBuffer.getLong(offset), offset);
+        }
+        snapshotValid = true;
+    }
+
+    private static ByteBuffer allocateSnapshot(int bodies) {
+        return ByteBuffer.allocateDirect(bodies * SNAPSHOT_STRIDE).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * True when the last step produced a bulk snapshot. Bodies missing from it are asleep.
+     */
+    public static boolean hasSnapshot() {
+        return nativeAvailable && snapshotValid;
+    }
+
+    /**
+     * Copies the snapshot state of an active body into {@code outState} using the
+     * {@link NativePhysicsEngine#getBodyState} layout. Returns false if the body was not active.
+     */
+    public static boolean readSnapshotState(long bodyId, float[] outState) {
+        int offset = snapshotOffsets.get(bodyId);
+        if (offset < 0) {
+            return false;
+        }
+        int base = offset + 8;
+        for (int i = 0; i < 13; i++) {
+            outState[i] = snapshotBuffer.getFloat(base + i * 4);
+        }
+        return true;
+    }
+
     public static NativePhysicsEngine getEngine() {
         return engine;
     }
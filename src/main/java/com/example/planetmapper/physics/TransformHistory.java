@@ -0,0 +1,138 @@
+package com.example.planetmapper.physics;
+
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * Fixed-size ring buffer of server-stamped body states, used on the client to place a
+ * collider at any time between received updates or shortly after the newest one.
+ * Times are in server ticks; velocities are in blocks per second as reported by the engine.
+ */
+final class TransformHistory {
+    private static final int CAPACITY = 16;
+    private static final int STRIDE = 13;
+    private static final float TICK_SECONDS = 1.0f / 20.0f;
+    // A stalled packet stream should freeze the collider, not fling it along its last velocity.
+    private static final double MAX_EXTRAPOLATION_TICKS = 5.0;
+
+    private final double[] times = new double[CAPACITY];
+    private final float[] states = new float[CAPACITY * STRIDE];
+    private final Quaternionf scratchRotation = new Quaternionf();
+    private final Quaternionf scratchDelta = new Quaternionf();
+    private int newest = -1;
+    private int size = 0;
+
+    void push(double time, float px, float py, float pz, Quaternionf rotation,
+              float vx, float vy, float vz, float avx, float avy, float avz) {
+        int index;
+        if (size > 0 && time <= times[newest]) {
+            if (time < times[newest]) {
+                // Late packet, newer data already arrived.
+                return;
+            }
+            index = newest;
+        } else {
+            index = (newest + 1) % CAPACITY;
+            newest = index;
+            if (size < CAPACITY) {
+                size++;
+            }
+        }
+        times[index] = time;
+        int o = index * STRIDE;
+        states[o] = px;
+        states[o + 1] = py;
+        states[o + 2] = pz;
+        states[o + 3] = rotation.x;
+        states[o + 4] = rotation.y;
+        states[o + 5] = rotation.z;
+        states[o + 6] = rotation.w;
+        states[o + 7] = vx;
+        states[o + 8] = vy;
+        states[o + 9] = vz;
+        states[o + 10] = avx;
+        states[o + 11] = avy;
+        states[o + 12] = avz;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Evaluates the transform at {@code time}. Between samples position and velocities are
+     * interpolated linearly and rotation is slerped; past the newest sample the state is
+     * extrapolated from its linear and angular velocity. Returns false if nothing was recorded.
+     */
+    boolean sample(double time, Vector3f outPosition, Quaternionf outRotation,
+                   Vector3f outLinearVelocity, Vector3f outAngularVelocity) {
+        if (size == 0) {
+            return false;
+        }
+        if (time >= times[newest]) {
+            extrapolate(newest, Math.min(time - times[newest], MAX_EXTRAPOLATION_TICKS),
+                    outPosition, outRotation, outLinearVelocity, outAngularVelocity);
+            return true;
+        }
+
+        int later = newest;
+        for (int n = 1; n < size; n++) {
+            int earlier = (later - 1 + CAPACITY) % CAPACITY;
+            if (times[earlier] <= time) {
+                double span = times[later] - times[earlier];
+                float alpha = span <= 0.0 ? 1.0f : (float) ((time - times[earlier]) / span);
+                interpolate(earlier, later, alpha, outPosition, outRotation, outLinearVelocity, outAngularVelocity);
+                return true;
+            }
+            later = earlier;
+        }
+        // Older than everything kept: hold the oldest sample.
+        extrapolate(later, 0.0, outPosition, outRotation, outLinearVelocity, outAngularVelocity);
+        return true;
+    }
+
+    private void interpolate(int a, int b, float alpha, Vector3f outPosition, Quaternionf outRotation,
+                             Vector3f outLinearVelocity, Vector3f outAngularVelocity) {
+        int oa = a * STRIDE;
+        int ob = b * STRIDE;
+        outPosition.set(
+                lerp(states[oa], states[ob], alpha),
+                lerp(states[oa + 1], states[ob + 1], alpha),
+                lerp(states[oa + 2], states[ob + 2], alpha));
+        scratchRotation.set(states[ob + 3], states[ob + 4], states[ob + 5], states[ob + 6]);
+        outRotation.set(states[oa + 3], states[oa + 4], states[oa + 5], states[oa + 6]).slerp(scratchRotation, alpha);
+        outLinearVelocity.set(
+                lerp(states[oa + 7], states[ob + 7], alpha),
+                lerp(states[oa + 8], states[ob + 8], alpha),
+                lerp(states[oa + 9], states[ob + 9], alpha));
+        outAngularVelocity.set(
+                lerp(states[oa + 10], states[ob + 10], alpha),
+                lerp(states[oa + 11], states[ob + 11], alpha),
+                lerp(states[oa + 12], states[ob + 12], alpha));
+    }
+
+    private void extrapolate(int index, double ticks, Vector3f outPosition, Quaternionf outRotation,
+                             Vector3f outLinearVelocity, Vector3f outAngularVelocity) {
+        int o = index * STRIDE;
+        float dt = (float) ticks * TICK_SECONDS;
+        float vx = states[o + 7];
+        float vy = states[o + 8];
+        float vz = states[o + 9];
+        float avx = states[o + 10];
+        float avy = states[o + 11];
+        float avz = states[o + 12];
+        outPosition.set(states[o] + vx * dt, states[o + 1] + vy * dt, states[o + 2] + vz * dt);
+        outRotation.set(states[o + 3], states[o + 4], states[o + 5], states[o + 6]);
+        if (dt > 0.0f && (avx != 0.0f || avy != 0.0f || avz != 0.0f)) {
+            // Angular velocity is in world space, so the incremental rotation is applied on the left.
+            scratchDelta.identity().integrate(dt, avx, avy, avz);
+            outRotation.premul(scratchDelta).normalize();
+        }
+        outLinearVelocity.set(vx, vy, vz);
+        outAngularVelocity.set(avx, avy, avz);
+    }
+
+    private static float lerp(float a, float b, float alpha) {
+        return a + (b - a) * alpha;
+    }
+}
@@ -6,80 +6,581 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.world.phys.AABB;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
 
 /**
  * Implements Greedy Meshing to optimize thousands of Minecraft blocks
  * into a few large AABBs for the native physics engine.
  */
 public class VoxelShapeOptimizer {
+    // Grids smaller than this (in cells) are meshed on the calling thread.
+    private static final long PARALLEL_MIN_VOLUME = 1L << 18;
+    // Slabs are never split thinner than this many Z layers.
+    private static final int MIN_SLAB_DEPTH = 16;
+
+    // Regions BEST_AXIS_ORDER picks a growth order for, in cells per side.
+    private static final int REGION_SIZE = 32;
+    private static final int[][] AXIS_ORDERS = {
+            {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}
+    };
+
+    private static final int OCTREE_EMPTY = 0;
+    private static final int OCTREE_FULL = 1;
+    private static final int OCTREE_MIXED = 2;
+
+    private static final Object POOL_LOCK = new Object();
+    private static ForkJoinPool meshingPool;
 
     /**
      * Takes a list of block positions and returns a list of optimized AABBs.
-     * Complexity: O(N) where N is the number of blocks.
      */
     public static List<AABB> optimize(Set<BlockPos> blocks) {
-        List<AABB> result = new ArrayList<>();
-        Set<BlockPos> processed = new HashSet<>();
-
+        LongOpenHashSet keys = new LongOpenHashSet(blocks.size());
         for (BlockPos pos : blocks) {
-            if (processed.contains(pos)) continue;
+            keys.add(pos.asLong());
+        }
+        return optimizeLongSet(keys);
+    }
+
+    /**
+     * Meshes the blocks over a dense bit grid of their bounding box, falling back to the
+     * hash-based mesher when the box is too large or too sparse for one.
+     */
+    public static List<AABB> optimizeLongSet(LongOpenHashSet blocks) {
+        return optimizeLongSet(blocks, true, true);
+    }
 
-            // Attempt to grow the box in X, then Y, then Z
-            int width = 1, height = 1, depth = 1;
+    /**
+     * @param parallel   mesh large grids as Z slabs on a fork-join pool
+     * @param mergeSeams rejoin boxes that were cut at slab boundaries; costs one pass over
+     *                   the result but keeps the box count close to sequential meshing
+     */
+    public static List<AABB> optimizeLongSet(LongOpenHashSet blocks, boolean parallel, boolean mergeSeams) {
+        OccupancyGrid grid = OccupancyGrid.of(blocks);
+        if (grid == null) {
+            return optimizeLongSetHashed(blocks);
+        }
+        long volume = (long) grid.sizeX * grid.sizeY * grid.sizeZ;
+        if (!parallel || volume < PARALLEL_MIN_VOLUME || grid.sizeZ < MIN_SLAB_DEPTH * 2
+                || Runtime.getRuntime().availableProcessors() < 2) {
+            List<AABB> result = new ArrayList<>();
+            meshSlab(grid, 0, grid.sizeZ, result);
+            return result;
+        }
 
-            // Grow X
-            while (blocks.contains(pos.offset(width, 0, 0)) && !processed.contains(pos.offset(width, 0, 0))) {
-                width++;
+        ForkJoinPool pool = getPool();
+        int slabs = Math.min(pool.getParallelism() * 2, grid.sizeZ / MIN_SLAB_DEPTH);
+        int slabDepth = (grid.sizeZ + slabs - 1) / slabs;
+        List<AABB> result = pool.invoke(new SlabTask(grid, 0, grid.sizeZ, slabDepth));
+        if (mergeSeams) {
+            result = mergeSeams(result, grid.minZ, slabDepth);
+        }
+        return result;
+    }
+
+    /**
+     * Decomposes the blocks with the given strategy.
+     */
+    public static DecompositionResult decompose(LongOpenHashSet blocks, DecompositionStrategy strategy) {
+        List<AABB> boxes = switch (strategy) {
+            case GREEDY -> optimizeLongSet(blocks);
+            case BEST_AXIS_ORDER -> meshOnGrid(blocks, VoxelShapeOptimizer::meshBestAxisOrder);
+            case OCTREE -> meshOnGrid(blocks, VoxelShapeOptimizer::meshOctree);
+            case MAXIMAL_CUBOID -> meshOnGrid(blocks, VoxelShapeOptimizer::meshMaximalCuboids);
+        };
+        return new DecompositionResult(strategy, boxes);
+    }
+
+    // Sets too large or sparse for a grid fall back to the hash-based greedy mesher.
+    private static List<AABB> meshOnGrid(LongOpenHashSet blocks, Function<OccupancyGrid, List<AABB>> mesher) {
+        OccupancyGrid grid = OccupancyGrid.of(blocks);
+        return grid != null ? mesher.apply(grid) : optimizeLongSetHashed(blocks);
+    }
+
+    /**
+     * Runs every candidate and keeps the one with the fewest boxes; ties go to the earlier one.
+     */
+    public static DecompositionResult decomposeCheapest(LongOpenHashSet blocks, DecompositionStrategy... candidates) {
+        DecompositionResult best = null;
+        for (DecompositionStrategy strategy : candidates) {
+            DecompositionResult result = decompose(blocks, strategy);
+            if (best == null || result.boxCount() < best.boxCount()) {
+                best = result;
             }
+        }
+        return best;
+    }
 
-            // Grow Y
-            boolean canGrowY = true;
-            while (canGrowY) {
-                for (int x = 0; x < width; x++) {
-                    if (!blocks.contains(pos.offset(x, height, 0)) || processed.contains(pos.offset(x, height, 0))) {
-                        canGrowY = false;
-                        break;
+    /**
+     * Meshes only the cells within {@code depth} steps of an empty cell. Deeper cells can
+     * never be touched, so they are not required to be covered, and boxes may grow through
+     * any solid cell, including ones an earlier box already covers. The overlap lets each box
+     * reach further, so the count follows the surface rather than the volume; callers must
+     * not derive mass from box volume. Returns null when no cell is deeper than {@code depth}
+     * (or the set cannot be gridded); the regular meshers already give the exact result then.
+     */
+    public static List<AABB> optimizeShell(LongOpenHashSet blocks, int depth) {
+        if (depth <= 0) {
+            return null;
+        }
+        OccupancyGrid solid = OccupancyGrid.of(blocks);
+        if (solid == null) {
+            return null;
+        }
+        OccupancyGrid interior = solid.interior(depth);
+        if (interior.isEmpty()) {
+            return null;
+        }
+        OccupancyGrid required = solid.copy();
+        required.removeAll(interior);
+
+        List<AABB> result = new ArrayList<>();
+        for (int z = 0; z < required.sizeZ; z++) {
+            for (int y = 0; y < required.sizeY; y++) {
+                int row = required.row(y, z);
+                int x = required.nextSetBit(row, 0);
+                while (x >= 0) {
+                    // Same growth as meshSlab, but measured against the untouched solid grid.
+                    int width = solid.runLength(row, x);
+                    int height = 1;
+                    while (solid.isBoxSet(x, y + height, z, width, 1, 1)) {
+                        height++;
                     }
+                    int boxDepth = 1;
+                    while (solid.isBoxSet(x, y, z + boxDepth, width, height, 1)) {
+                        boxDepth++;
+                    }
+                    required.clearBox(x, y, z, width, height, boxDepth);
+
+                    int wx = required.minX + x;
+                    int wy = required.minY + y;
+                    int wz = required.minZ + z;
+                    result.add(new AABB(wx, wy, wz, wx + width, wy + height, wz + boxDepth));
+                    x = required.nextSetBit(row, x + width);
                 }
-                if (canGrowY) height++;
             }
+        }
+        return result;
+    }
 
-            // Grow Z
-            boolean canGrowZ = true;
-            while (canGrowZ) {
-                for (int x = 0; x < width; x++) {
-                    for (int y = 0; y < height; y++) {
-                        if (!blocks.contains(pos.offset(x, y, depth)) || processed.contains(pos.offset(x, y, depth))) {
-                            canGrowZ = false;
-                            break;
+    /**
+     * Greedy meshing of grid layers [zFrom, zTo): grow X, then Y, then Z, consuming the
+     * covered bits in place. Boxes never extend past the slab.
+     */
+    static void meshSlab(OccupancyGrid grid, int zFrom, int zTo, List<AABB> out) {
+        for (int z = zFrom; z < zTo; z++) {
+            for (int y = 0; y < grid.sizeY; y++) {
+                int row = grid.row(y, z);
+                int x = grid.nextSetBit(row, 0);
+                while (x >= 0) {
+                    int width = grid.runLength(row, x);
+
+                    int height = 1;
+                    while (y + height < grid.sizeY && grid.isRangeSet(grid.row(y + height, z), x, width)) {
+                        height++;
+                    }
+
+                    int depth = 1;
+                    boolean canGrowZ = true;
+                    while (canGrowZ && z + depth < zTo) {
+                        for (int dy = 0; dy < height; dy++) {
+                            if (!grid.isRangeSet(grid.row(y + dy, z + depth), x, width)) {
+                                canGrowZ = false;
+                                break;
+                            }
+                        }
+                        if (canGrowZ) {
+                            depth++;
+                        }
+                    }
+
+                    for (int dz = 0; dz < depth; dz++) {
+                        for (int dy = 0; dy < height; dy++) {
+                            grid.clearRange(grid.row(y + dy, z + dz), x, width);
                         }
                     }
+
+                    int wx = grid.minX + x;
+                    int wy = grid.minY + y;
+                    int wz = grid.minZ + z;
+                    out.add(new AABB(wx, wy, wz, wx + width, wy + height, wz + depth));
+                    x = grid.nextSetBit(row, x + width);
                 }
-                if (canGrowZ) depth++;
             }
+        }
+    }
 
-            // Mark these blocks as processed
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    for (int z = 0; z < depth; z++) {
-                        processed.add(pos.offset(x, y, z));
+    private static List<AABB> meshBestAxisOrder(OccupancyGrid grid) {
+        List<AABB> result = new ArrayList<>();
+        List<AABB> candidate = new ArrayList<>();
+        int[] size = new int[3];
+        for (int rz = 0; rz < grid.sizeZ; rz += REGION_SIZE) {
+            for (int ry = 0; ry < grid.sizeY; ry += REGION_SIZE) {
+                for (int rx = 0; rx < grid.sizeX; rx += REGION_SIZE) {
+                    int[] region = {rx, ry, rz,
+                            Math.min(grid.sizeX, rx + REGION_SIZE),
+                            Math.min(grid.sizeY, ry + REGION_SIZE),
+                            Math.min(grid.sizeZ, rz + REGION_SIZE)};
+                    if (grid.isBoxEmpty(rx, ry, rz, region[3] - rx, region[4] - ry, region[5] - rz)) {
+                        continue;
                     }
+                    // Try every order, putting the bits back after each, then commit the best.
+                    int bestOrder = 0;
+                    int bestCount = Integer.MAX_VALUE;
+                    for (int o = 0; o < AXIS_ORDERS.length; o++) {
+                        candidate.clear();
+                        meshRegion(grid, region, AXIS_ORDERS[o], size, candidate);
+                        for (AABB box : candidate) {
+                            grid.fillBox((int) box.minX - grid.minX, (int) box.minY - grid.minY, (int) box.minZ - grid.minZ,
+                                    (int) (box.maxX - box.minX), (int) (box.maxY - box.minY), (int) (box.maxZ - box.minZ));
+                        }
+                        if (candidate.size() < bestCount) {
+                            bestCount = candidate.size();
+                            bestOrder = o;
+                        }
+                    }
+                    meshRegion(grid, region, AXIS_ORDERS[bestOrder], size, result);
                 }
             }
+        }
+        return mergeTouching(result);
+    }
 
-            result.add(new AABB(
-                    pos.getX(), pos.getY(), pos.getZ(),
-                    pos.getX() + width, pos.getY() + height, pos.getZ() + depth
-            ));
+    /**
+     * Greedy meshing inside region {minX, minY, minZ, maxX, maxY, maxZ} (grid-local,
+     * max exclusive) growing axes in {@code order}.
+     */
+    private static void meshRegion(OccupancyGrid grid, int[] region, int[] order, int[] size, List<AABB> out) {
+        for (int z = region[2]; z < region[5]; z++) {
+            for (int y = region[1]; y < region[4]; y++) {
+                int row = grid.row(y, z);
+                int x = grid.nextSetBit(row, region[0]);
+                while (x >= 0 && x < region[3]) {
+                    growBox(grid, x, y, z, order, region, size);
+                    grid.clearBox(x, y, z, size[0], size[1], size[2]);
+                    emit(grid, x, y, z, size, out);
+                    x = grid.nextSetBit(row, x + size[0]);
+                }
+            }
         }
+    }
 
+    private static List<AABB> meshOctree(OccupancyGrid grid) {
+        int extent = Math.max(grid.sizeX, Math.max(grid.sizeY, grid.sizeZ));
+        int side = Integer.highestOneBit(extent);
+        if (side < extent) {
+            side <<= 1;
+        }
+        List<AABB> result = new ArrayList<>();
+        if (octreeNode(grid, 0, 0, 0, side, result) == OCTREE_FULL) {
+            result.add(new AABB(grid.minX, grid.minY, grid.minZ,
+                    grid.minX + side, grid.minY + side, grid.minZ + side));
+        }
+        return mergeTouching(result);
+    }
+
+    /**
+     * Classifies a node; full children of a mixed node are emitted as boxes, full nodes are
+     * left for their parent to emit so boxes stay as large as possible.
+     */
+    private static int octreeNode(OccupancyGrid grid, int x, int y, int z, int side, List<AABB> out) {
+        if (grid.isBoxEmpty(x, y, z, side, side, side)) {
+            return OCTREE_EMPTY;
+        }
+        if (grid.isBoxSet(x, y, z, side, side, side)) {
+            return OCTREE_FULL;
+        }
+        int half = side >> 1;
+        int[] states = new int[8];
+        for (int i = 0; i < 8; i++) {
+            states[i] = octreeNode(grid, x + ((i & 1) != 0 ? half : 0), y + ((i & 2) != 0 ? half : 0),
+                    z + ((i & 4) != 0 ? half : 0), half, out);
+        }
+        for (int i = 0; i < 8; i++) {
+            if (states[i] == OCTREE_FULL) {
+                int cx = grid.minX + x + ((i & 1) != 0 ? half : 0);
+                int cy = grid.minY + y + ((i & 2) != 0 ? half : 0);
+                int cz = grid.minZ + z + ((i & 4) != 0 ? half : 0);
+                out.add(new AABB(cx, cy, cz, cx + half, cy + half, cz + half));
+            }
+        }
+        return OCTREE_MIXED;
+    }
+
+    private static List<AABB> meshMaximalCuboids(OccupancyGrid grid) {
+        List<AABB> result = new ArrayList<>();
+        int[] whole = {0, 0, 0, grid.sizeX, grid.sizeY, grid.sizeZ};
+        int[] size = new int[3];
+        int[] best = new int[3];
+        for (int z = 0; z < grid.sizeZ; z++) {
+            for (int y = 0; y < grid.sizeY; y++) {
+                int row = grid.row(y, z);
+                int x = grid.nextSetBit(row, 0);
+                while (x >= 0) {
+                    long bestVolume = 0;
+                    for (int[] order : AXIS_ORDERS) {
+                        growBox(grid, x, y, z, order, whole, size);
+                        long volume = (long) size[0] * size[1] * size[2];
+                        if (volume > bestVolume) {
+                            bestVolume = volume;
+                            best[0] = size[0];
+                            best[1] = size[1];
+                            best[2] = size[2];
+                        }
+                    }
+                    grid.clearBox(x, y, z, best[0], best[1], best[2]);
+                    emit(grid, x, y, z, best, result);
+                    x = grid.nextSetBit(row, x + 1);
+                }
+            }
+        }
+        return mergeTouching(result);
+    }
+
+    /**
+     * Grows a box from the set cell (x, y, z) one axis at a time in {@code order}, staying
+     * inside {@code region}. Writes the size to {@code size}.
+     */
+    private static void growBox(OccupancyGrid grid, int x, int y, int z, int[] order, int[] region, int[] size) {
+        size[0] = 1;
+        size[1] = 1;
+        size[2] = 1;
+        for (int axis : order) {
+            if (axis == 0 && size[1] == 1 && size[2] == 1) {
+                size[0] = Math.min(grid.runLength(grid.row(y, z), x), region[3] - x);
+                continue;
+            }
+            while (true) {
+                int nx = axis == 0 ? x + size[0] : x;
+                int ny = axis == 1 ? y + size[1] : y;
+                int nz = axis == 2 ? z + size[2] : z;
+                if (nx >= region[3] || ny >= region[4] || nz >= region[5]) {
+                    break;
+                }
+                if (!grid.isBoxSet(nx, ny, nz, axis == 0 ? 1 : size[0], axis == 1 ? 1 : size[1], axis == 2 ? 1 : size[2])) {
+                    break;
+                }
+                size[axis]++;
+            }
+        }
+    }
+
+    private static void emit(OccupancyGrid grid, int x, int y, int z, int[] size, List<AABB> out) {
+        int wx = grid.minX + x;
+        int wy = grid.minY + y;
+        int wz = grid.minZ + z;
+        out.add(new AABB(wx, wy, wz, wx + size[0], wy + size[1], wz + size[2]));
+    }
+
+    /**
+     * Joins boxes that meet with identical faces, along each axis in turn, until nothing merges.
+     */
+    private static List<AABB> mergeTouching(List<AABB> boxes) {
+        int count = boxes.size();
+        int[] bounds = new int[count * 6];
+        for (int i = 0; i < count; i++) {
+            AABB box = boxes.get(i);
+            int o = i * 6;
+            bounds[o] = (int) box.minX;
+            bounds[o + 1] = (int) box.minY;
+            bounds[o + 2] = (int) box.minZ;
+            bounds[o + 3] = (int) box.maxX;
+            bounds[o + 4] = (int) box.maxY;
+            bounds[o + 5] = (int) box.maxZ;
+        }
+        boolean[] absorbed = new boolean[count];
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int axis = 0; axis < 3; axis++) {
+                merged |= mergeAlongAxis(bounds, absorbed, axis);
+            }
+        }
+
+        List<AABB> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (absorbed[i]) {
+                continue;
+            }
+            int o = i * 6;
+            result.add(new AABB(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5]));
+        }
         return result;
     }
 
-    public static List<AABB> optimizeLongSet(LongOpenHashSet blocks) {
+    private static boolean mergeAlongAxis(int[] bounds, boolean[] absorbed, int axis) {
+        int count = absorbed.length;
+        int a = (axis + 1) % 3;
+        int b = (axis + 2) % 3;
+        Map<FaceKey, Integer> byStart = new HashMap<>();
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (absorbed[i]) {
+                continue;
+            }
+            int o = i * 6;
+            byStart.put(new FaceKey(bounds[o + a], bounds[o + 3 + a], bounds[o + b], bounds[o + 3 + b], bounds[o + axis]), i);
+            order.add(i);
+        }
+        order.sort(Comparator.comparingInt(i -> bounds[i * 6 + axis]));
+
+        boolean merged = false;
+        for (int i : order) {
+            if (absorbed[i]) {
+                continue;
+            }
+            int o = i * 6;
+            while (true) {
+                Integer next = byStart.get(new FaceKey(bounds[o + a], bounds[o + 3 + a], bounds[o + b], bounds[o + 3 + b], bounds[o + 3 + axis]));
+                if (next == null || next == i || absorbed[next]) {
+                    break;
+                }
+                absorbed[next] = true;
+                bounds[o + 3 + axis] = bounds[next * 6 + 3 + axis];
+                merged = true;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Joins boxes that share an identical face on a slab boundary. Slabs start every
+     * {@code slabDepth} layers from {@code originZ}.
+     */
+    private static List<AABB> mergeSeams(List<AABB> boxes, int originZ, int slabDepth) {
+        int count = boxes.size();
+        int[] bounds = new int[count * 6];
+        Integer[] order = new Integer[count];
+        Map<SeamKey, Integer> startingAtSeam = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            AABB box = boxes.get(i);
+            int o = i * 6;
+            bounds[o] = (int) box.minX;
+            bounds[o + 1] = (int) box.minY;
+            bounds[o + 2] = (int) box.minZ;
+            bounds[o + 3] = (int) box.maxX;
+            bounds[o + 4] = (int) box.maxY;
+            bounds[o + 5] = (int) box.maxZ;
+            order[i] = i;
+            if (isSeam(bounds[o + 2], originZ, slabDepth)) {
+                startingAtSeam.put(new SeamKey(bounds[o], bounds[o + 1], bounds[o + 3], bounds[o + 4], bounds[o + 2]), i);
+            }
+        }
+        if (startingAtSeam.isEmpty()) {
+            return boxes;
+        }
+
+        // Walk boxes front to back so a box absorbs its whole chain of continuations.
+        Arrays.sort(order, Comparator.comparingInt(i -> bounds[i * 6 + 2]));
+        boolean[] absorbed = new boolean[count];
+        for (int i : order) {
+            if (absorbed[i]) {
+                continue;
+            }
+            int o = i * 6;
+            while (isSeam(bounds[o + 5], originZ, slabDepth)) {
+                Integer next = startingAtSeam.get(new SeamKey(bounds[o], bounds[o + 1], bounds[o + 3], bounds[o + 4], bounds[o + 5]));
+                if (next == null || absorbed[next]) {
+                    break;
+                }
+                absorbed[next] = true;
+                bounds[o + 5] = bounds[next * 6 + 5];
+            }
+        }
+
+        List<AABB> merged = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (absorbed[i]) {
+                continue;
+            }
+            int o = i * 6;
+            merged.add(new AABB(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5]));
+        }
+        return merged;
+    }
+
+    private static boolean isSeam(int z, int originZ, int slabDepth) {
+        int offset = z - originZ;
+        return offset > 0 && offset % slabDepth == 0;
+    }
+
+    private static ForkJoinPool getPool() {
+        synchronized (POOL_LOCK) {
+            if (meshingPool == null || meshingPool.isShutdown()) {
+                int parallelism = Runtime.getRuntime().availableProcessors();
+                meshingPool = new ForkJoinPool(parallelism, pool -> {
+                    ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    t.setName("Physics-Mesher-" + t.getPoolIndex());
+                    t.setDaemon(true);
+                    return t;
+                }, null, false);
+            }
+            return meshingPool;
+        }
+    }
+
+    /**
+     * Splits [zFrom, zTo) down to slabs of at most {@code slabDepth} layers. Slabs own
+     * disjoint rows of the grid, so they can clear bits concurrently.
+     */
+    private static final class SlabTask extends RecursiveTask<List<AABB>> {
+        private final OccupancyGrid grid;
+        private final int zFrom;
+        private final int zTo;
+        private final int slabDepth;
+
+        private SlabTask(OccupancyGrid grid, int zFrom, int zTo, int slabDepth) {
+            this.grid = grid;
+            this.zFrom = zFrom;
+            this.zTo = zTo;
+            this.slabDepth = slabDepth;
+        }
+
+        @Override
+        protected List<AABB> compute() {
+            int layers = zTo - zFrom;
+            if (layers <= slabDepth) {
+                List<AABB> out = new ArrayList<>();
+                meshSlab(grid, zFrom, zTo, out);
+                return out;
+            }
+            // Split on a slab boundary so the seams stay where mergeSeams expects them.
+            int slabCount = (layers + slabDepth - 1) / slabDepth;
+            int mid = zFrom + (slabCount / 2) * slabDepth;
+            SlabTask upper = new SlabTask(grid, mid, zTo, slabDepth);
+            upper.fork();
+            List<AABB> lower = new SlabTask(grid, zFrom, mid, slabDepth).compute();
+            lower.addAll(upper.join());
+            return lower;
+        }
+    }
+
+    private record SeamKey(int minX, int minY, int maxX, int maxY, int z) {
+    }
+
+    private record FaceKey(int minA, int maxA, int minB, int maxB, int at) {
+    }
+
+    public record DecompositionResult(DecompositionStrategy strategy, List<AABB> boxes) {
+        public int boxCount() {
+            return boxes.size();
+        }
+    }
+
+    /**
+     * Hash-set based greedy meshing, used for block sets whose bounding box is too sparse
+     * for {@link OccupancyGrid}.
+     */
+    static List<AABB> optimizeLongSetHashed(LongOpenHashSet blocks) {
         List<AABB> result = new ArrayList<>();
         LongOpenHashSet processed = new LongOpenHashSet();
 
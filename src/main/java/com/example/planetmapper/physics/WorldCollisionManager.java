@@ -260,12 +260,13 @@ public class WorldCollisionManager {
             task.state = BuildState.FAILED;
             return;
         }
+        DecompositionStrategy strategy = Config.PHYSICS_STATIC_DECOMPOSITION.get();
         CompletableFuture
                 .supplyAsync(() -> {
                     if (task.solidBlocks.isEmpty()) {
                         return List.<AABB>of();
                     }
-                    return VoxelShapeOptimizer.optimizeLongSet(task.solidBlocks);
+                    return VoxelShapeOptimizer.decompose(task.solidBlocks, strategy).boxes();
                 }, getExecutor())
                 .thenAccept(boxes -> level.getServer().execute(() -> finishBuild(level, task, boxes)))
                 .exceptionally(ex -> {
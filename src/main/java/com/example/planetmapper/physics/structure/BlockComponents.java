@@ -0,0 +1,91 @@
+package com.example.planetmapper.physics.structure;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a set of packed block positions into face-connected components with a union-find
+ * over array indices: each position is joined with its +X, +Y and +Z neighbours, so every
+ * shared face is looked up once.
+ */
+public final class BlockComponents {
+    private BlockComponents() {
+    }
+
+    /**
+     * Components of {@code positions}, largest first.
+     */
+    public static List<LongArrayList> split(LongSet positions) {
+        long[] keys = positions.toLongArray();
+        int count = keys.length;
+        if (count == 0) {
+            return List.of();
+        }
+        Long2IntOpenHashMap index = new Long2IntOpenHashMap(count);
+        index.defaultReturnValue(-1);
+        for (int i = 0; i < count; i++) {
+            index.put(keys[i], i);
+        }
+
+        int[] parent = new int[count];
+        int[] size = new int[count];
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        for (int i = 0; i < count; i++) {
+            long key = keys[i];
+            union(parent, size, i, index.get(BlockPos.offset(key, 1, 0, 0)));
+            union(parent, size, i, index.get(BlockPos.offset(key, 0, 1, 0)));
+            union(parent, size, i, index.get(BlockPos.offset(key, 0, 0, 1)));
+        }
+
+        // Root index -> slot in the result, filled in first-seen order.
+        int[] slot = new int[count];
+        List<LongArrayList> components = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int root = find(parent, i);
+            if (root == i) {
+                slot[root] = components.size();
+                components.add(new LongArrayList(size[root]));
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            components.get(slot[find(parent, i)]).add(keys[i]);
+        }
+        components.sort((a, b) -> Integer.compare(b.size(), a.size()));
+        return components;
+    }
+
+    private static void union(int[] parent, int[] size, int a, int b) {
+        if (b < 0) {
+            return;
+        }
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA == rootB) {
+            return;
+        }
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+    }
+
+    // Path halving keeps the trees shallow without a second pass.
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+}
@@ -1,8 +1,9 @@
 package com.example.planetmapper.physics.structure;
 
+import com.example.planetmapper.physics.BoxDecomposition;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
-import it.unimi.dsi.fastutil.longs.LongIterator;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.level.Level;
@@ -10,6 +11,7 @@ import net.minecraft.world.phys.Vec3;
 import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class PhysicsStructure {
@@ -17,13 +19,22 @@ public class PhysicsStructure {
     private final long bodyId;
     private final BlockPos origin;
     private final Vector3f originOffset;
-    private final Long2ObjectOpenHashMap<StructureBlockData> blocks;
-    private final LongOpenHashSet collidableBlocks;
+    private final StructureBlockStorage blocks = new StructureBlockStorage();
     private final StructurePhysicsProperties physicsProperties;
     private int entityId;
     private final float[] stateBuffer = new float[13];
     private final AtomicBoolean dirty = new AtomicBoolean(false);
     private final AtomicBoolean rebuildRunning = new AtomicBoolean(false);
+    private BoxDecomposition decomposition;
+    private boolean frozen;
+    private int sleepTicks;
+    private volatile long dirtySinceTick;
+    private volatile long lastEditTick;
+    private volatile long dirtySinceNanos;
+    private int rebuildCount;
+    private long lastRebuildLatencyNanos;
+    private long maxRebuildLatencyNanos;
+    private long totalRebuildLatencyNanos;
 
     public PhysicsStructure(ResourceKey<Level> dimension,
                             long bodyId,
@@ -36,8 +47,14 @@ public class PhysicsStructure {
         this.bodyId = bodyId;
         this.origin = origin;
         this.originOffset = originOffset;
-        this.blocks = blocks;
-        this.collidableBlocks = collidableBlocks;
+        for (var entry : blocks.long2ObjectEntrySet()) {
+            StructureBlockData data = entry.getValue();
+            long key = entry.getLongKey();
+            boolean collidable = collidableBlocks.contains(key);
+            this.blocks.put(key, collidable == data.collidable()
+                    ? data
+                    : new StructureBlockData(data.state(), data.blockEntityTag(), collidable));
+        }
         this.physicsProperties = physicsProperties;
     }
 
@@ -65,8 +82,12 @@ public class PhysicsStructure {
         return originOffset;
     }
 
-    public Long2ObjectOpenHashMap<StructureBlockData> getBlocks() {
-        return blocks;
+    public boolean containsBlock(long localKey) {
+        return blocks.contains(localKey);
+    }
+
+    public void forEachBlock(StructureBlockStorage.BlockVisitor visitor) {
+        blocks.forEach(visitor);
     }
 
     public StructurePhysicsProperties getPhysicsProperties() {
@@ -74,7 +95,7 @@ public class PhysicsStructure {
     }
 
     public LongOpenHashSet snapshotCollidableBlocks() {
-        return new LongOpenHashSet(collidableBlocks);
+        return blocks.collidableKeys();
     }
 
     public StructureBlockData getBlock(long localKey) {
@@ -82,26 +103,71 @@ public class PhysicsStructure {
     }
 
     public StructureBlockData removeBlock(long localKey) {
-        StructureBlockData data = blocks.remove(localKey);
-        if (data != null && data.collidable()) {
-            collidableBlocks.remove(localKey);
-        }
-        return data;
+        return blocks.remove(localKey);
     }
 
     public void putBlock(long localKey, StructureBlockData data) {
         blocks.put(localKey, data);
-        if (data.collidable()) {
-            collidableBlocks.add(localKey);
-        }
+    }
+
+    /**
+     * Local keys of each part that no longer touches the rest since the last call; see
+     * {@link StructureConnectivity#findDetached}.
+     */
+    public List<LongArrayList> findDetachedParts() {
+        return StructureConnectivity.findDetached(blocks);
+    }
+
+    /** Forgets removals that cannot have split the structure, e.g. moving a detached part out. */
+    public void clearRemovedBlocks() {
+        blocks.clearRemovedCells();
     }
 
     public boolean isDirty() {
         return dirty.get();
     }
 
-    public void markDirty() {
-        dirty.set(true);
+    /**
+     * Returns true if the structure was clean before, i.e. this call started a new dirty period.
+     * Every call counts as an edit at {@code gameTime} for the rebuild debounce.
+     */
+    public boolean markDirty(long gameTime) {
+        lastEditTick = gameTime;
+        if (dirty.compareAndSet(false, true)) {
+            dirtySinceTick = gameTime;
+            dirtySinceNanos = System.nanoTime();
+            return true;
+        }
+        return false;
+    }
+
+    public long getDirtySinceTick() {
+        return dirtySinceTick;
+    }
+
+    public long getLastEditTick() {
+        return lastEditTick;
+    }
+
+    /** Wall-clock start of the dirty period, for the rebuild latency stats. */
+    public long getDirtySinceNanos() {
+        return dirtySinceNanos;
+    }
+
+    /**
+     * Records a finished rebuild; latency runs from the first edit of the dirty period it served.
+     */
+    public void recordRebuild(long latencyNanos) {
+        rebuildCount++;
+        lastRebuildLatencyNanos = latencyNanos;
+        maxRebuildLatencyNanos = Math.max(maxRebuildLatencyNanos, latencyNanos);
+        totalRebuildLatencyNanos += latencyNanos;
+    }
+
+    public RebuildStats getRebuildStats() {
+        long average = rebuildCount == 0 ? 0L : totalRebuildLatencyNanos / rebuildCount;
+        return new RebuildStats(rebuildCount, lastRebuildLatencyNanos / 1_000_000L,
+                maxRebuildLatencyNanos / 1_000_000L, average / 1_000_000L);
     }
 
     public void clearDirty() {
@@ -116,6 +182,39 @@ public class PhysicsStructure {
         rebuildRunning.set(running);
     }
 
+    /**
+     * Decomposition matching the body's current native shape, or null until the next full rebuild.
+     */
+    public BoxDecomposition getDecomposition() {
+        return decomposition;
+    }
+
+    public void setDecomposition(BoxDecomposition decomposition) {
+        this.decomposition = decomposition;
+    }
+
+    /**
+     * True while the body is out of the native simulation because no player is near.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    public void setFrozen(boolean frozen) {
+        this.frozen = frozen;
+    }
+
+    /**
+     * Ticks the body has been asleep without interruption, as last observed; drives settling.
+     */
+    public int getSleepTicks() {
+        return sleepTicks;
+    }
+
+    public void setSleepTicks(int sleepTicks) {
+        this.sleepTicks = sleepTicks;
+    }
+
     public float[] getStateBuffer() {
         return stateBuffer;
     }
@@ -143,36 +242,21 @@ public class PhysicsStructure {
     }
 
     public int getCollidableCount() {
-        return collidableBlocks.size();
+        return blocks.collidableCount();
     }
 
     public void shiftLocal(int dx, int dy, int dz) {
         if (dx == 0 && dy == 0 && dz == 0) {
             return;
         }
-        Long2ObjectOpenHashMap<StructureBlockData> shifted = new Long2ObjectOpenHashMap<>(blocks.size());
-        for (var entry : blocks.long2ObjectEntrySet()) {
-            long key = entry.getLongKey();
-            int x = BlockPos.getX(key) + dx;
-            int y = BlockPos.getY(key) + dy;
-            int z = BlockPos.getZ(key) + dz;
-            shifted.put(BlockPos.asLong(x, y, z), entry.getValue());
-        }
-        blocks.clear();
-        blocks.putAll(shifted);
-
-        LongOpenHashSet shiftedCollidable = new LongOpenHashSet(collidableBlocks.size());
-        LongIterator iterator = collidableBlocks.iterator();
-        while (iterator.hasNext()) {
-            long key = iterator.nextLong();
-            int x = BlockPos.getX(key) + dx;
-            int y = BlockPos.getY(key) + dy;
-            int z = BlockPos.getZ(key) + dz;
-            shiftedCollidable.add(BlockPos.asLong(x, y, z));
+        blocks.shift(dx, dy, dz);
+        physicsProperties.translate(dx, dy, dz);
+        originOffset.sub(dx, dy, dz);
+        if (decomposition != null) {
+            decomposition.translate(dx, dy, dz);
         }
-        collidableBlocks.clear();
-        collidableBlocks.addAll(shiftedCollidable);
+    }
 
-        originOffset.sub(dx, dy, dz);
+    public record RebuildStats(int count, long lastLatencyMillis, long maxLatencyMillis, long averageLatencyMillis) {
     }
 }
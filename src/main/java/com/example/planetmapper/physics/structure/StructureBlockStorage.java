@@ -0,0 +1,406 @@
+package com.example.planetmapper.physics.structure;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.Arrays;
+
+/**
+ * Block storage for a physics structure, split into 16x16x16 sections. Each section keeps
+ * a palette of block states with bit-packed indices, a collidable bitset and block-entity
+ * NBT only for the cells that have one.
+ * Sections are addressed in storage space; structure-local = storage + offset, so shifting
+ * the whole structure only moves the offset. Removed cells are remembered until the next
+ * {@link StructureConnectivity} check.
+ */
+public final class StructureBlockStorage {
+    private final Long2ObjectOpenHashMap<Section> sections = new Long2ObjectOpenHashMap<>();
+    // Storage-space keys removed since the last connectivity check.
+    private final LongArrayList removedCells = new LongArrayList();
+    private int nextSectionId;
+    private int offsetX;
+    private int offsetY;
+    private int offsetZ;
+    private int blockCount;
+    private int collidableCount;
+
+    public StructureBlockData get(long localKey) {
+        int x = BlockPos.getX(localKey) - offsetX;
+        int y = BlockPos.getY(localKey) - offsetY;
+        int z = BlockPos.getZ(localKey) - offsetZ;
+        Section section = sections.get(sectionKey(x, y, z));
+        if (section == null) {
+            return null;
+        }
+        int index = cellIndex(x, y, z);
+        BlockState state = section.getState(index);
+        if (state == null) {
+            return null;
+        }
+        return new StructureBlockData(state, section.getBlockEntity(index), section.isCollidable(index));
+    }
+
+    public boolean contains(long localKey) {
+        int x = BlockPos.getX(localKey) - offsetX;
+        int y = BlockPos.getY(localKey) - offsetY;
+        int z = BlockPos.getZ(localKey) - offsetZ;
+        Section section = sections.get(sectionKey(x, y, z));
+        return section != null && section.getPaletteIndex(cellIndex(x, y, z)) != 0;
+    }
+
+    public boolean isCollidable(long localKey) {
+        int x = BlockPos.getX(localKey) - offsetX;
+        int y = BlockPos.getY(localKey) - offsetY;
+        int z = BlockPos.getZ(localKey) - offsetZ;
+        Section section = sections.get(sectionKey(x, y, z));
+        return section != null && section.isCollidable(cellIndex(x, y, z));
+    }
+
+    public void put(long localKey, StructureBlockData data) {
+        if (data == null || data.state() == null) {
+            remove(localKey);
+            return;
+        }
+        int x = BlockPos.getX(localKey) - offsetX;
+        int y = BlockPos.getY(localKey) - offsetY;
+        int z = BlockPos.getZ(localKey) - offsetZ;
+        Section section = sections.computeIfAbsent(sectionKey(x, y, z), key -> new Section(nextSectionId++));
+        int index = cellIndex(x, y, z);
+        boolean existed = section.getPaletteIndex(index) != 0;
+        boolean wasCollidable = section.isCollidable(index);
+        section.set(index, data.state(), data.blockEntityTag(), data.collidable());
+        if (!existed) {
+            blockCount++;
+        }
+        if (wasCollidable != data.collidable()) {
+            collidableCount += data.collidable() ? 1 : -1;
+        }
+    }
+
+    public StructureBlockData remove(long localKey) {
+        int x = BlockPos.getX(localKey) - offsetX;
+        int y = BlockPos.getY(localKey) - offsetY;
+        int z = BlockPos.getZ(localKey) - offsetZ;
+        long sectionKey = sectionKey(x, y, z);
+        Section section = sections.get(sectionKey);
+        if (section == null) {
+            return null;
+        }
+        int index = cellIndex(x, y, z);
+        BlockState state = section.getState(index);
+        if (state == null) {
+            return null;
+        }
+        StructureBlockData previous = new StructureBlockData(state, section.getBlockEntity(index), section.isCollidable(index));
+        section.clear(index);
+        removedCells.add(BlockPos.asLong(x, y, z));
+        blockCount--;
+        if (previous.collidable()) {
+            collidableCount--;
+        }
+        if (section.isEmpty()) {
+            sections.remove(sectionKey);
+        }
+        return previous;
+    }
+
+    /** Moves every block by (dx, dy, dz) in structure-local space. */
+    public void shift(int dx, int dy, int dz) {
+        offsetX += dx;
+        offsetY += dy;
+        offsetZ += dz;
+    }
+
+    public int size() {
+        return blockCount;
+    }
+
+    public int collidableCount() {
+        return collidableCount;
+    }
+
+    public boolean isEmpty() {
+        return blockCount == 0;
+    }
+
+    /** Structure-local keys of every collidable block. */
+    public LongOpenHashSet collidableKeys() {
+        LongOpenHashSet keys = new LongOpenHashSet(collidableCount);
+        for (var entry : sections.long2ObjectEntrySet()) {
+            long sectionKey = entry.getLongKey();
+            int baseX = (BlockPos.getX(sectionKey) << 4) + offsetX;
+            int baseY = (BlockPos.getY(sectionKey) << 4) + offsetY;
+            int baseZ = (BlockPos.getZ(sectionKey) << 4) + offsetZ;
+            long[] bits = entry.getValue().collidable;
+            for (int w = 0; w < bits.length; w++) {
+                long word = bits[w];
+                while (word != 0L) {
+                    int index = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    keys.add(BlockPos.asLong(baseX + (index & 15), baseY + (index >>> 8), baseZ + ((index >>> 4) & 15)));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /** Visits every block with its structure-local key. */
+    public void forEach(BlockVisitor visitor) {
+        for (var entry : sections.long2ObjectEntrySet()) {
+            long sectionKey = entry.getLongKey();
+            int baseX = (BlockPos.getX(sectionKey) << 4) + offsetX;
+            int baseY = (BlockPos.getY(sectionKey) << 4) + offsetY;
+            int baseZ = (BlockPos.getZ(sectionKey) << 4) + offsetZ;
+            Section section = entry.getValue();
+            for (int index = 0; index < Section.VOLUME; index++) {
+                int paletteIndex = section.getPaletteIndex(index);
+                if (paletteIndex == 0) {
+                    continue;
+                }
+                long key = BlockPos.asLong(baseX + (index & 15), baseY + (index >>> 8), baseZ + ((index >>> 4) & 15));
+                visitor.accept(key, section.palette[paletteIndex], section.getBlockEntity(index), section.isCollidable(index));
+            }
+        }
+    }
+
+    Section section(long sectionKey) {
+        return sections.get(sectionKey);
+    }
+
+    LongArrayList removedCells() {
+        return removedCells;
+    }
+
+    void clearRemovedCells() {
+        removedCells.clear();
+    }
+
+    long toLocalKey(int storageX, int storageY, int storageZ) {
+        return BlockPos.asLong(storageX + offsetX, storageY + offsetY, storageZ + offsetZ);
+    }
+
+    static long sectionKey(int x, int y, int z) {
+        return BlockPos.asLong(x >> 4, y >> 4, z >> 4);
+    }
+
+    static int cellIndex(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    @FunctionalInterface
+    public interface BlockVisitor {
+        void accept(long localKey, BlockState state, CompoundTag blockEntityTag, boolean collidable);
+    }
+
+    /**
+     * One 16^3 section. Palette slot 0 means empty; slots whose count drops to zero are
+     * reused before the palette grows. Indices are packed without spanning longs.
+     * Component labels are cached for connectivity checks and dropped on any edit.
+     */
+    static final class Section {
+        static final int VOLUME = 4096;
+
+        final int id;
+
+        private BlockState[] palette = new BlockState[2];
+        private int[] paletteCounts = new int[2];
+        private int paletteSize = 1;
+        private int bits = 1;
+        private long[] data = new long[VOLUME / 64];
+        private final long[] collidable = new long[VOLUME / 64];
+        private Int2ObjectOpenHashMap<CompoundTag> blockEntities;
+        private int nonEmpty;
+        private short[] labels;
+        private int[] componentSizes;
+
+        private Section(int id) {
+            this.id = id;
+        }
+
+        boolean isOccupied(int index) {
+            return getPaletteIndex(index) != 0;
+        }
+
+        /**
+         * Face-connected component of each cell within this section (0 for empty cells,
+         * otherwise 1..n), computed on first use after an edit.
+         */
+        short[] labels() {
+            if (labels == null) {
+                computeLabels();
+            }
+            return labels;
+        }
+
+        /** Cell count of component {@code label}; only valid after {@link #labels()}. */
+        int componentSize(int label) {
+            return componentSizes[label - 1];
+        }
+
+        private void computeLabels() {
+            short[] result = new short[VOLUME];
+            int[] sizes = new int[8];
+            int[] stack = new int[VOLUME];
+            int count = 0;
+            for (int start = 0; start < VOLUME; start++) {
+                if (result[start] != 0 || !isOccupied(start)) {
+                    continue;
+                }
+                short label = (short) ++count;
+                int size = 0;
+                int top = 0;
+                stack[top++] = start;
+                result[start] = label;
+                while (top > 0) {
+                    int cell = stack[--top];
+                    size++;
+                    int x = cell & 15;
+                    int y = cell >>> 8;
+                    int z = (cell >>> 4) & 15;
+                    if (x > 0) top = visit(result, stack, top, cell - 1, label);
+                    if (x < 15) top = visit(result, stack, top, cell + 1, label);
+                    if (z > 0) top = visit(result, stack, top, cell - 16, label);
+                    if (z < 15) top = visit(result, stack, top, cell + 16, label);
+                    if (y > 0) top = visit(result, stack, top, cell - 256, label);
+                    if (y < 15) top = visit(result, stack, top, cell + 256, label);
+                }
+                if (count > sizes.length) {
+                    sizes = Arrays.copyOf(sizes, sizes.length * 2);
+                }
+                sizes[count - 1] = size;
+            }
+            labels = result;
+            componentSizes = sizes;
+        }
+
+        private int visit(short[] result, int[] stack, int top, int cell, short label) {
+            if (result[cell] == 0 && isOccupied(cell)) {
+                result[cell] = label;
+                stack[top++] = cell;
+            }
+            return top;
+        }
+
+        int getPaletteIndex(int index) {
+            int perLong = 64 / bits;
+            long word = data[index / perLong];
+            return (int) ((word >>> ((index % perLong) * bits)) & ((1L << bits) - 1));
+        }
+
+        BlockState getState(int index) {
+            int paletteIndex = getPaletteIndex(index);
+            return paletteIndex == 0 ? null : palette[paletteIndex];
+        }
+
+        boolean isCollidable(int index) {
+            return (collidable[index >>> 6] & (1L << index)) != 0L;
+        }
+
+        CompoundTag getBlockEntity(int index) {
+            return blockEntities == null ? null : blockEntities.get(index);
+        }
+
+        boolean isEmpty() {
+            return nonEmpty == 0;
+        }
+
+        void set(int index, BlockState state, CompoundTag blockEntityTag, boolean isCollidable) {
+            int previous = getPaletteIndex(index);
+            int paletteIndex = previous != 0 && palette[previous] == state ? previous : paletteIndexFor(state);
+            if (previous != paletteIndex) {
+                if (previous == 0) {
+                    nonEmpty++;
+                    labels = null;
+                } else {
+                    paletteCounts[previous]--;
+                }
+                paletteCounts[paletteIndex]++;
+                setPaletteIndex(index, paletteIndex);
+            }
+            if (isCollidable) {
+                collidable[index >>> 6] |= 1L << index;
+            } else {
+                collidable[index >>> 6] &= ~(1L << index);
+            }
+            if (blockEntityTag != null && !blockEntityTag.isEmpty()) {
+                if (blockEntities == null) {
+                    blockEntities = new Int2ObjectOpenHashMap<>();
+                }
+                blockEntities.put(index, blockEntityTag);
+            } else if (blockEntities != null) {
+                blockEntities.remove(index);
+            }
+        }
+
+        void clear(int index) {
+            int previous = getPaletteIndex(index);
+            if (previous == 0) {
+                return;
+            }
+            paletteCounts[previous]--;
+            setPaletteIndex(index, 0);
+            labels = null;
+            collidable[index >>> 6] &= ~(1L << index);
+            if (blockEntities != null) {
+                blockEntities.remove(index);
+                if (blockEntities.isEmpty()) {
+                    blockEntities = null;
+                }
+            }
+            nonEmpty--;
+        }
+
+        private int paletteIndexFor(BlockState state) {
+            int free = -1;
+            // Structures rarely hold more than a handful of states per section, so a scan beats a map.
+            for (int i = 1; i < paletteSize; i++) {
+                if (palette[i] == state) {
+                    return i;
+                }
+                if (free < 0 && paletteCounts[i] == 0) {
+                    free = i;
+                }
+            }
+            if (free > 0) {
+                palette[free] = state;
+                return free;
+            }
+            if (paletteSize == palette.length) {
+                growPalette();
+            }
+            palette[paletteSize] = state;
+            return paletteSize++;
+        }
+
+        private void growPalette() {
+            int capacity = palette.length * 2;
+            palette = Arrays.copyOf(palette, capacity);
+            paletteCounts = Arrays.copyOf(paletteCounts, capacity);
+            int newBits = 32 - Integer.numberOfLeadingZeros(capacity - 1);
+            if (newBits == bits) {
+                return;
+            }
+            int perLong = 64 / newBits;
+            long[] repacked = new long[(VOLUME + perLong - 1) / perLong];
+            for (int index = 0; index < VOLUME; index++) {
+                long value = getPaletteIndex(index);
+                repacked[index / perLong] |= value << ((index % perLong) * newBits);
+            }
+            data = repacked;
+            bits = newBits;
+        }
+
+        private void setPaletteIndex(int index, int paletteIndex) {
+            int perLong = 64 / bits;
+            int slot = index / perLong;
+            int shift = (index % perLong) * bits;
+            long mask = ((1L << bits) - 1) << shift;
+            data[slot] = (data[slot] & ~mask) | ((long) paletteIndex << shift);
+        }
+    }
+}
@@ -1,30 +1,36 @@
 package com.example.planetmapper.physics.structure;
 
 import com.example.planetmapper.Config;
+import com.example.planetmapper.physics.DecompositionStrategy;
+import com.example.planetmapper.physics.MassDistribution;
 import com.example.planetmapper.physics.NativePhysicsEngine;
 import com.example.planetmapper.physics.PhysicsColliderManager;
 import com.example.planetmapper.physics.PhysicsWorldManager;
 import com.example.planetmapper.physics.WorldCollisionManager;
-import com.example.planetmapper.physics.VoxelShapeOptimizer;
 import com.example.planetmapper.entity.PhysicsStructureEntity;
 import com.example.planetmapper.shipyard.ShipyardManager;
+import com.example.planetmapper.util.SectionBlockWriter;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.ChunkPos;
-import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.EmptyBlockGetter;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
 import net.minecraft.world.phys.AABB;
 import org.joml.Vector3f;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -34,6 +40,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -41,7 +48,16 @@ public class StructureBuildManager {
     private static final Map<ResourceKey<Level>, List<StructureBuildTask>> TASKS = new HashMap<>();
     private static final Map<UUID, StructureBuildTask> TASKS_BY_OWNER = new HashMap<>();
     private static final Object EXECUTOR_LOCK = new Object();
+    private static final int SCAN_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    // Section snapshots classified or waiting to be, per task; bounds the copied palettes held at once.
+    private static final int MAX_SECTIONS_IN_FLIGHT = SCAN_THREADS * 4;
+    // Empty or unloaded-height sections skipped per tick, so huge air selections still yield.
+    private static final int SECTION_VISITS_PER_TICK = 1024;
+    private static final byte CELL_COLLIDABLE = 1;
+    // The block's collision shape depends on the world, so the main thread has to ask.
+    private static final byte CELL_DYNAMIC_SHAPE = 2;
     private static ExecutorService optimizerExecutor = createExecutor();
+    private static ExecutorService scanExecutor = createScanExecutor();
     private static volatile boolean acceptingTasks = true;
 
     private StructureBuildManager() {
@@ -107,13 +123,19 @@ public class StructureBuildManager {
     public static synchronized void shutdown() {
         acceptingTasks = false;
         ExecutorService executorToShutdown;
+        ExecutorService scanToShutdown;
         synchronized (EXECUTOR_LOCK) {
             executorToShutdown = optimizerExecutor;
+            scanToShutdown = scanExecutor;
             optimizerExecutor = null;
+            scanExecutor = null;
         }
         if (executorToShutdown != null) {
             executorToShutdown.shutdownNow();
         }
+        if (scanToShutdown != null) {
+            scanToShutdown.shutdownNow();
+        }
         TASKS.clear();
         TASKS_BY_OWNER.clear();
     }
@@ -121,6 +143,7 @@ public class StructureBuildManager {
     public static synchronized void reset() {
         acceptingTasks = true;
         getExecutor();
+        getScanExecutor();
     }
 
     private static ExecutorService getExecutor() {
@@ -140,6 +163,58 @@ public class StructureBuildManager {
         });
     }
 
+    private static ExecutorService getScanExecutor() {
+        synchronized (EXECUTOR_LOCK) {
+            if (scanExecutor == null || scanExecutor.isShutdown() || scanExecutor.isTerminated()) {
+                scanExecutor = createScanExecutor();
+            }
+            return scanExecutor;
+        }
+    }
+
+    private static ExecutorService createScanExecutor() {
+        return Executors.newFixedThreadPool(SCAN_THREADS, r -> {
+            Thread t = new Thread(r, "Physics-Structure-Scan");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Lists the non-air cells of a copied section palette inside [x0..x1]x[y0..y1]x[z0..z1]
+     * (section-local). Runs off-thread, so it only uses the snapshot and the block state's
+     * cached collision shape; blocks with world-dependent shapes are flagged for the main thread.
+     */
+    private static SectionBlocks classifySection(PalettedContainer<BlockState> states,
+                                                 int x0, int y0, int z0, int x1, int y1, int z1) {
+        int capacity = (x1 - x0 + 1) * (y1 - y0 + 1) * (z1 - z0 + 1);
+        short[] cells = new short[capacity];
+        BlockState[] blockStates = new BlockState[capacity];
+        byte[] flags = new byte[capacity];
+        int count = 0;
+        for (int y = y0; y <= y1; y++) {
+            for (int z = z0; z <= z1; z++) {
+                for (int x = x0; x <= x1; x++) {
+                    BlockState state = states.get(x, y, z);
+                    if (state.isAir()) {
+                        continue;
+                    }
+                    byte flag;
+                    if (state.hasDynamicShape()) {
+                        flag = CELL_DYNAMIC_SHAPE;
+                    } else {
+                        flag = state.getCollisionShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO).isEmpty() ? 0 : CELL_COLLIDABLE;
+                    }
+                    cells[count] = (short) ((y << 8) | (z << 4) | x);
+                    blockStates[count] = state;
+                    flags[count] = flag;
+                    count++;
+                }
+            }
+        }
+        return new SectionBlocks(cells, blockStates, flags, count);
+    }
+
     private static void startOptimization(ServerLevel level, StructureBuildTask task) {
         task.state = BuildState.OPTIMIZING;
         if (!acceptingTasks) {
@@ -148,12 +223,21 @@ public class StructureBuildManager {
         }
         task.sendToOwner(level, "Optimizing " + task.solidBlockCount + " blocks...");
 
+        int shellDepth = Config.PHYSICS_SHELL_DEPTH.get();
         CompletableFuture
                 .supplyAsync(() -> {
                     if (task.solidBlocks.isEmpty()) {
                         return List.<AABB>of();
                     }
-                    return VoxelShapeOptimizer.optimize(task.solidBlocks);
+                    StructurePhysicsManager.CollisionMesh mesh = StructurePhysicsManager.meshCollidable(task.collidableBlocks,
+                            shellDepth, DecompositionStrategy.GREEDY);
+                    Vector3f origin = new Vector3f(task.min.getX(), task.min.getY(), task.min.getZ());
+                    task.massDistribution = mesh.distributionAt(null, origin);
+                    List<AABB> boxes = new ArrayList<>(mesh.boxes().size());
+                    for (AABB box : mesh.boxes()) {
+                        boxes.add(box.move(origin.x, origin.y, origin.z));
+                    }
+                    return boxes;
                 }, getExecutor())
                 .thenAccept(boxes -> level.getServer().execute(() -> finishBuild(level, task, boxes)))
                 .exceptionally(ex -> {
@@ -189,7 +273,11 @@ public class StructureBuildManager {
         StructurePhysicsProperties physicsProperties = StructurePhysicsProperties.fromBlocks(task.blocks);
         StructurePhysicsProperties.MaterialSummary material = physicsProperties.snapshot();
         float mass = Math.max(1.0f, material.mass());
-        long bodyId = engine.createRigidBody(boxes, material);
+        MassDistribution distribution = physicsProperties.massDistribution();
+        distribution = distribution != null
+                ? distribution.offset(task.min.getX(), task.min.getY(), task.min.getZ())
+                : task.massDistribution;
+        long bodyId = engine.createRigidBody(boxes, material, distribution);
         if (bodyId <= 0) {
             failBuild(level, task, "Failed to create physics body.");
             return;
@@ -290,6 +378,31 @@ public class StructureBuildManager {
         return true;
     }
 
+    /**
+     * Non-air cells of one section snapshot: section-local index (y << 8 | z << 4 | x), the
+     * state at copy time and CELL_* flags.
+     */
+    private record SectionBlocks(short[] cells, BlockState[] states, byte[] flags, int count) {
+    }
+
+    private static final class SectionScan {
+        private final int sectionX;
+        private final int sectionY;
+        private final int sectionZ;
+        // Selection cells in this section, for progress.
+        private final long volume;
+        private final CompletableFuture<SectionBlocks> future;
+        private int next;
+
+        private SectionScan(int sectionX, int sectionY, int sectionZ, long volume, CompletableFuture<SectionBlocks> future) {
+            this.sectionX = sectionX;
+            this.sectionY = sectionY;
+            this.sectionZ = sectionZ;
+            this.volume = volume;
+            this.future = future;
+        }
+    }
+
     private enum BuildState {
         SCANNING,
         OPTIMIZING,
@@ -308,15 +421,20 @@ public class StructureBuildManager {
         private final Long2ObjectOpenHashMap<StructureBlockData> blocks = new Long2ObjectOpenHashMap<>();
         private final LongOpenHashSet collidableBlocks = new LongOpenHashSet();
         private final LongOpenHashSet dirtyChunks = new LongOpenHashSet();
+        private final ArrayDeque<SectionScan> pendingScans = new ArrayDeque<>();
+        // Blocks captured this tick, written out of the world together at the end of it.
+        private SectionBlockWriter remover;
         private long processedVolume;
         private long solidBlockCount;
         private long totalBlockCount;
-        private int currentX;
-        private int currentY;
-        private int currentZ;
+        // Next section to snapshot; x fastest, then z, then y.
+        private int sectionX;
+        private int sectionY;
+        private int sectionZ;
         private int lastPercent = -1;
         private boolean warnedChunkMissing = false;
         private List<AABB> pendingBoxes;
+        private volatile MassDistribution massDistribution;
         private BuildState state = BuildState.SCANNING;
 
         private StructureBuildTask(UUID ownerId, ResourceKey<Level> dimension, BlockPos min, BlockPos max, long totalVolume) {
@@ -325,9 +443,9 @@ public class StructureBuildManager {
             this.min = min;
             this.max = max;
             this.totalVolume = totalVolume;
-            this.currentX = min.getX();
-            this.currentY = min.getY();
-            this.currentZ = min.getZ();
+            this.sectionX = SectionPos.blockToSectionCoord(min.getX());
+            this.sectionY = SectionPos.blockToSectionCoord(min.getY());
+            this.sectionZ = SectionPos.blockToSectionCoord(min.getZ());
         }
 
         private void tick(ServerLevel level, int blocksPerTick) {
@@ -342,57 +460,158 @@ public class StructureBuildManager {
                 return;
             }
 
-            BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
-            int processedThisTick = 0;
+            applyScans(level, blocksPerTick);
+            flushRemovals(level);
+            if (state != BuildState.SCANNING) {
+                return;
+            }
+            dispatchScans(level);
+            reportProgress(level);
+
+            if (isScanComplete()) {
+                flushChunkColliders(level);
+                startOptimization(level, this);
+            }
+        }
 
-            while (processedThisTick < blocksPerTick && currentY <= max.getY()) {
-                cursor.set(currentX, currentY, currentZ);
-                int chunkX = cursor.getX() >> 4;
-                int chunkZ = cursor.getZ() >> 4;
-                if (!level.hasChunk(chunkX, chunkZ)) {
+        /**
+         * Snapshots the next sections of the selection and hands them to the scan workers.
+         * Sections with only air, or outside the build height, are counted as done on the spot.
+         */
+        private void dispatchScans(ServerLevel level) {
+            int visits = 0;
+            int maxSectionY = SectionPos.blockToSectionCoord(max.getY());
+            while (sectionY <= maxSectionY && pendingScans.size() < MAX_SECTIONS_IN_FLIGHT && visits < SECTION_VISITS_PER_TICK) {
+                visits++;
+                int baseX = SectionPos.sectionToBlockCoord(sectionX);
+                int baseY = SectionPos.sectionToBlockCoord(sectionY);
+                int baseZ = SectionPos.sectionToBlockCoord(sectionZ);
+                int x0 = Math.max(min.getX(), baseX) - baseX;
+                int y0 = Math.max(min.getY(), baseY) - baseY;
+                int z0 = Math.max(min.getZ(), baseZ) - baseZ;
+                int x1 = Math.min(max.getX(), baseX + 15) - baseX;
+                int y1 = Math.min(max.getY(), baseY + 15) - baseY;
+                int z1 = Math.min(max.getZ(), baseZ + 15) - baseZ;
+                long volume = (long) (x1 - x0 + 1) * (y1 - y0 + 1) * (z1 - z0 + 1);
+
+                if (sectionY < level.getMinSection() || sectionY >= level.getMaxSection()) {
+                    processedVolume += volume;
+                    advanceSection();
+                    continue;
+                }
+                if (!level.hasChunk(sectionX, sectionZ)) {
                     if (!warnedChunkMissing) {
                         sendToOwner(level, "Waiting for chunks to load...");
                         warnedChunkMissing = true;
                     }
                     return;
                 }
+                LevelChunk chunk = level.getChunk(sectionX, sectionZ);
+                LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sectionY));
+                if (section.hasOnlyAir()) {
+                    processedVolume += volume;
+                    advanceSection();
+                    continue;
+                }
 
-                BlockState state = level.getBlockState(cursor);
-                if (!state.isAir()) {
-                    boolean collidable = !state.getCollisionShape(level, cursor).isEmpty();
-                    if (collidable) {
-                        solidBlocks.add(cursor.immutable());
-                        solidBlockCount++;
-                        collidableBlocks.add(BlockPos.asLong(cursor.getX() - min.getX(), cursor.getY() - min.getY(), cursor.getZ() - min.getZ()));
-                    }
-
-                    BlockEntity blockEntity = level.getBlockEntity(cursor);
-                    blocks.put(BlockPos.asLong(cursor.getX() - min.getX(), cursor.getY() - min.getY(), cursor.getZ() - min.getZ()),
-                            new StructureBlockData(state, blockEntity != null ? blockEntity.saveWithId(level.registryAccess()) : null, collidable));
-                    totalBlockCount++;
-
-                    level.setBlock(cursor, Blocks.AIR.defaultBlockState(),
-                            Block.UPDATE_CLIENTS | Block.UPDATE_SUPPRESS_DROPS);
+                PalettedContainer<BlockState> snapshot = section.getStates().copy();
+                int fx0 = x0, fy0 = y0, fz0 = z0, fx1 = x1, fy1 = y1, fz1 = z1;
+                CompletableFuture<SectionBlocks> future = CompletableFuture.supplyAsync(
+                        () -> classifySection(snapshot, fx0, fy0, fz0, fx1, fy1, fz1), getScanExecutor());
+                pendingScans.add(new SectionScan(sectionX, sectionY, sectionZ, volume, future));
+                advanceSection();
+            }
+        }
 
-                    long chunkKey = ChunkPos.asLong(cursor.getX() >> 4, cursor.getZ() >> 4);
-                    if (dirtyChunks.add(chunkKey)) {
-                        WorldCollisionManager.markChunkDirtyNow(level, new ChunkPos(chunkKey));
+        /**
+         * Lifts classified blocks out of the world in selection order, at most {@code budget}
+         * per tick. A block that changed since its section was copied is re-read here.
+         */
+        private void applyScans(ServerLevel level, int budget) {
+            BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+            while (budget > 0 && !pendingScans.isEmpty()) {
+                SectionScan scan = pendingScans.peek();
+                if (!scan.future.isDone()) {
+                    return;
+                }
+                SectionBlocks blocksInSection;
+                try {
+                    blocksInSection = scan.future.join();
+                } catch (CompletionException e) {
+                    failBuild(level, this, "Selection scan failed: " + e.getMessage());
+                    pendingScans.clear();
+                    return;
+                }
+                if (!level.hasChunk(scan.sectionX, scan.sectionZ)) {
+                    if (!warnedChunkMissing) {
+                        sendToOwner(level, "Waiting for chunks to load...");
+                        warnedChunkMissing = true;
                     }
+                    return;
                 }
+                int baseX = SectionPos.sectionToBlockCoord(scan.sectionX);
+                int baseY = SectionPos.sectionToBlockCoord(scan.sectionY);
+                int baseZ = SectionPos.sectionToBlockCoord(scan.sectionZ);
+                while (budget > 0 && scan.next < blocksInSection.count()) {
+                    int index = scan.next++;
+                    int cell = blocksInSection.cells()[index];
+                    cursor.set(baseX + (cell & 15), baseY + (cell >>> 8), baseZ + ((cell >>> 4) & 15));
+                    BlockState snapshotState = blocksInSection.states()[index];
+                    BlockState state = level.getBlockState(cursor);
+                    if (state.isAir()) {
+                        continue;
+                    }
+                    boolean collidable;
+                    if (state == snapshotState && (blocksInSection.flags()[index] & CELL_DYNAMIC_SHAPE) == 0) {
+                        collidable = (blocksInSection.flags()[index] & CELL_COLLIDABLE) != 0;
+                    } else {
+                        collidable = !state.getCollisionShape(level, cursor).isEmpty();
+                    }
+                    captureBlock(level, cursor, state, collidable);
+                    budget--;
+                }
+                if (scan.next >= blocksInSection.count()) {
+                    pendingScans.poll();
+                    processedVolume += scan.volume;
+                }
+            }
+        }
 
-                processedThisTick++;
-                processedVolume++;
-                advanceCursor();
+        private void captureBlock(ServerLevel level, BlockPos pos, BlockState state, boolean collidable) {
+            long localKey = BlockPos.asLong(pos.getX() - min.getX(), pos.getY() - min.getY(), pos.getZ() - min.getZ());
+            if (collidable) {
+                solidBlocks.add(pos.immutable());
+                solidBlockCount++;
+                collidableBlocks.add(localKey);
             }
 
-            reportProgress(level);
+            BlockEntity blockEntity = state.hasBlockEntity() ? level.getBlockEntity(pos) : null;
+            blocks.put(localKey, new StructureBlockData(state,
+                    blockEntity != null ? blockEntity.saveWithId(level.registryAccess()) : null, collidable));
+            totalBlockCount++;
+            if (remover == null) {
+                remover = new SectionBlockWriter(level);
+            }
+            remover.remove(pos);
+        }
 
-            if (currentY > max.getY()) {
-                flushChunkColliders(level);
-                startOptimization(level, this);
+        private void flushRemovals(ServerLevel level) {
+            if (remover == null || remover.isEmpty()) {
+                return;
+            }
+            LongIterator iterator = remover.flush().iterator();
+            while (iterator.hasNext()) {
+                long chunkKey = iterator.nextLong();
+                if (dirtyChunks.add(chunkKey)) {
+                    WorldCollisionManager.markChunkDirtyNow(level, new ChunkPos(chunkKey));
+                }
             }
         }
 
+        private boolean isScanComplete() {
+            return sectionY > SectionPos.blockToSectionCoord(max.getY()) && pendingScans.isEmpty();
+        }
+
         private void tryFinalize(ServerLevel level) {
             if (pendingBoxes == null) {
                 return;
@@ -405,14 +624,14 @@ public class StructureBuildManager {
             finishBuild(level, this, boxes);
         }
 
-        private void advanceCursor() {
-            currentX++;
-            if (currentX > max.getX()) {
-                currentX = min.getX();
-                currentZ++;
-                if (currentZ > max.getZ()) {
-                    currentZ = min.getZ();
-                    currentY++;
+        private void advanceSection() {
+            sectionX++;
+            if (sectionX > SectionPos.blockToSectionCoord(max.getX())) {
+                sectionX = SectionPos.blockToSectionCoord(min.getX());
+                sectionZ++;
+                if (sectionZ > SectionPos.blockToSectionCoord(max.getZ())) {
+                    sectionZ = SectionPos.blockToSectionCoord(min.getZ());
+                    sectionY++;
                 }
             }
         }
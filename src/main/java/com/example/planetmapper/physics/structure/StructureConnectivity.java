@@ -0,0 +1,214 @@
+package com.example.planetmapper.physics.structure;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the parts of a structure that lost their last face connection to the rest after
+ * block removals. The search runs over per-section components rather than blocks: one
+ * search per part touching a removed cell, expanded in turn, merging when they meet.
+ * It stops once at most one search still has frontier left, so the work follows the size
+ * of the detached parts rather than the whole structure.
+ */
+final class StructureConnectivity {
+    private static final int[][] DIRECTIONS = {
+            {1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1}
+    };
+
+    private StructureConnectivity() {
+    }
+
+    /**
+     * Structure-local keys of every part cut off by the removals since the last check; the
+     * largest part (or the one still unexplored) stays with the structure and is not returned.
+     * Clears the removal log.
+     */
+    static List<LongArrayList> findDetached(StructureBlockStorage storage) {
+        LongArrayList removed = storage.removedCells();
+        if (removed.isEmpty()) {
+            return List.of();
+        }
+        Long2ObjectOpenHashMap<Search> visited = new Long2ObjectOpenHashMap<>();
+        List<Search> roots = new ArrayList<>();
+        for (int i = 0; i < removed.size(); i++) {
+            long cell = removed.getLong(i);
+            int x = BlockPos.getX(cell);
+            int y = BlockPos.getY(cell);
+            int z = BlockPos.getZ(cell);
+            seed(storage, visited, roots, x, y, z);
+            for (int[] d : DIRECTIONS) {
+                seed(storage, visited, roots, x + d[0], y + d[1], z + d[2]);
+            }
+        }
+        storage.clearRemovedCells();
+
+        while (roots.size() > 1) {
+            int live = 0;
+            for (Search search : roots) {
+                if (!search.frontier.isEmpty()) {
+                    live++;
+                }
+            }
+            if (live <= 1) {
+                break;
+            }
+            for (int i = 0; i < roots.size(); i++) {
+                Search search = roots.get(i);
+                if (search.parent == search && !search.frontier.isEmpty()) {
+                    expand(storage, visited, search, search.frontier.poll());
+                }
+            }
+            roots.removeIf(search -> search.parent != search);
+        }
+        if (roots.size() <= 1) {
+            return List.of();
+        }
+
+        Search main = null;
+        for (Search search : roots) {
+            if (!search.frontier.isEmpty()) {
+                main = search;
+                break;
+            }
+            if (main == null || search.blockCount > main.blockCount) {
+                main = search;
+            }
+        }
+        List<LongArrayList> parts = new ArrayList<>(roots.size() - 1);
+        for (Search search : roots) {
+            if (search != main) {
+                parts.add(collectCells(storage, search));
+            }
+        }
+        return parts;
+    }
+
+    private static void seed(StructureBlockStorage storage, Long2ObjectOpenHashMap<Search> visited, List<Search> roots,
+                             int x, int y, int z) {
+        long sectionKey = StructureBlockStorage.sectionKey(x, y, z);
+        StructureBlockStorage.Section section = storage.section(sectionKey);
+        if (section == null) {
+            return;
+        }
+        int label = section.labels()[StructureBlockStorage.cellIndex(x, y, z)];
+        if (label == 0 || visited.containsKey(nodeId(section, label))) {
+            return;
+        }
+        Search search = new Search();
+        search.add(visited, new Node(sectionKey, section, label));
+        roots.add(search);
+    }
+
+    /**
+     * Visits the components of the six neighbouring sections that share a face cell with
+     * {@code node}, claiming new ones and merging any search found there into {@code search}.
+     */
+    private static void expand(StructureBlockStorage storage, Long2ObjectOpenHashMap<Search> visited, Search search, Node node) {
+        short[] labels = node.section.labels();
+        int sx = BlockPos.getX(node.sectionKey);
+        int sy = BlockPos.getY(node.sectionKey);
+        int sz = BlockPos.getZ(node.sectionKey);
+        for (int axis = 0; axis < 3; axis++) {
+            for (int side = 0; side < 2; side++) {
+                int step = side == 0 ? 1 : -1;
+                long neighbourKey = BlockPos.asLong(sx + (axis == 0 ? step : 0), sy + (axis == 1 ? step : 0), sz + (axis == 2 ? step : 0));
+                StructureBlockStorage.Section neighbour = storage.section(neighbourKey);
+                if (neighbour == null) {
+                    continue;
+                }
+                short[] neighbourLabels = neighbour.labels();
+                int face = side == 0 ? 15 : 0;
+                int lastLabel = 0;
+                for (int a = 0; a < 16; a++) {
+                    for (int b = 0; b < 16; b++) {
+                        if (labels[faceCell(axis, face, a, b)] != node.label) {
+                            continue;
+                        }
+                        int label = neighbourLabels[faceCell(axis, 15 - face, a, b)];
+                        if (label == 0 || label == lastLabel) {
+                            continue;
+                        }
+                        lastLabel = label;
+                        Search owner = visited.get(nodeId(neighbour, label));
+                        if (owner == null) {
+                            search.add(visited, new Node(neighbourKey, neighbour, label));
+                        } else {
+                            search.merge(owner.root());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static LongArrayList collectCells(StructureBlockStorage storage, Search search) {
+        LongArrayList cells = new LongArrayList((int) Math.min(Integer.MAX_VALUE, search.blockCount));
+        for (Node node : search.nodes) {
+            short[] labels = node.section.labels();
+            int baseX = BlockPos.getX(node.sectionKey) << 4;
+            int baseY = BlockPos.getY(node.sectionKey) << 4;
+            int baseZ = BlockPos.getZ(node.sectionKey) << 4;
+            for (int index = 0; index < StructureBlockStorage.Section.VOLUME; index++) {
+                if (labels[index] == node.label) {
+                    cells.add(storage.toLocalKey(baseX + (index & 15), baseY + (index >>> 8), baseZ + ((index >>> 4) & 15)));
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static int faceCell(int axis, int face, int a, int b) {
+        return switch (axis) {
+            case 0 -> StructureBlockStorage.cellIndex(face, a, b);
+            case 1 -> StructureBlockStorage.cellIndex(a, face, b);
+            default -> StructureBlockStorage.cellIndex(a, b, face);
+        };
+    }
+
+    private static long nodeId(StructureBlockStorage.Section section, int label) {
+        return ((long) section.id << 16) | label;
+    }
+
+    private record Node(long sectionKey, StructureBlockStorage.Section section, int label) {
+    }
+
+    private static final class Search {
+        private final ArrayDeque<Node> frontier = new ArrayDeque<>();
+        private final List<Node> nodes = new ArrayList<>();
+        private long blockCount;
+        private Search parent = this;
+
+        private void add(Long2ObjectOpenHashMap<Search> visited, Node node) {
+            visited.put(nodeId(node.section, node.label), this);
+            frontier.add(node);
+            nodes.add(node);
+            blockCount += node.section.componentSize(node.label);
+        }
+
+        private void merge(Search other) {
+            if (other == this) {
+                return;
+            }
+            frontier.addAll(other.frontier);
+            nodes.addAll(other.nodes);
+            blockCount += other.blockCount;
+            other.frontier.clear();
+            other.nodes.clear();
+            other.parent = this;
+        }
+
+        private Search root() {
+            Search root = this;
+            while (root.parent != root) {
+                root = root.parent;
+            }
+            parent = root;
+            return root;
+        }
+    }
+}
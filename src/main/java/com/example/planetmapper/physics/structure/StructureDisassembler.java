@@ -0,0 +1,164 @@
+package com.example.planetmapper.physics.structure;
+
+import com.example.planetmapper.entity.PhysicsStructureEntity;
+import com.example.planetmapper.physics.NativePhysicsEngine;
+import com.example.planetmapper.physics.PhysicsColliderManager;
+import com.example.planetmapper.physics.PhysicsWorldManager;
+import com.example.planetmapper.physics.WorldCollisionManager;
+import com.example.planetmapper.shipyard.ShipyardManager;
+import com.example.planetmapper.util.SectionBlockWriter;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * Turns a physics structure back into world blocks. The body's orientation is snapped to
+ * the nearest quarter turn about the vertical axis, the blocks are written with a
+ * {@link SectionBlockWriter}, and the body, collider, entity and shipyard region are
+ * released together. Block states cannot express a tilted grid, so only upright bodies settle.
+ */
+public final class StructureDisassembler {
+    private StructureDisassembler() {
+    }
+
+    public enum Result {
+        SETTLED,
+        NOT_ALIGNED,
+        OBSTRUCTED,
+        UNAVAILABLE
+    }
+
+    public static Result disassemble(ServerLevel level, PhysicsStructure structure, double maxAngleDegrees) {
+        NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
+        if (level == null || engine == null || structure == null || structure.getBlockCount() == 0
+                || level.dimension() != structure.getDimension()) {
+            return Result.UNAVAILABLE;
+        }
+        long bodyId = structure.getBodyId();
+        float[] state = structure.getStateBuffer();
+        engine.getBodyState(bodyId, state);
+        Vector3f bodyPos = new Vector3f(state[0], state[1], state[2]);
+        Quaternionf rotation = new Quaternionf(state[3], state[4], state[5], state[6]);
+
+        int quarterTurns = nearestQuarterTurns(rotation, Math.toRadians(maxAngleDegrees));
+        if (quarterTurns < 0) {
+            return Result.NOT_ALIGNED;
+        }
+        Quaternionf snapped = new Quaternionf().rotationY((float) (quarterTurns * Math.PI / 2.0));
+        Rotation gridRotation = toRotation(quarterTurns);
+        Vec3 anchorCenter = structure.localToWorldCenter(BlockPos.ZERO, bodyPos, snapped);
+        BlockPos anchor = BlockPos.containing(anchorCenter);
+
+        Long2ObjectOpenHashMap<BlockState> placements = new Long2ObjectOpenHashMap<>(structure.getBlockCount());
+        Long2ObjectOpenHashMap<CompoundTag> blockEntities = new Long2ObjectOpenHashMap<>();
+        ServerLevel shipyard = ShipyardManager.getShipyardLevel(level.getServer());
+        ShipyardManager.ShipyardRegion region = ShipyardManager.getRegion(bodyId);
+        boolean[] obstructed = new boolean[1];
+        structure.forEachBlock((key, blockState, tag, collidable) -> {
+            if (obstructed[0]) {
+                return;
+            }
+            BlockPos local = BlockPos.of(key);
+            BlockPos worldPos = anchor.offset(local.rotate(gridRotation));
+            if (level.isOutsideBuildHeight(worldPos)
+                    || !level.hasChunk(worldPos.getX() >> 4, worldPos.getZ() >> 4)
+                    || !level.getBlockState(worldPos).canBeReplaced()) {
+                obstructed[0] = true;
+                return;
+            }
+            long worldKey = worldPos.asLong();
+            placements.put(worldKey, blockState.rotate(gridRotation));
+            CompoundTag blockEntityTag = captureBlockEntity(level, shipyard, region, local, tag);
+            if (blockEntityTag != null) {
+                blockEntities.put(worldKey, blockEntityTag);
+            }
+        });
+        if (obstructed[0]) {
+            return Result.OBSTRUCTED;
+        }
+
+        release(level, engine, shipyard, structure);
+
+        SectionBlockWriter writer = new SectionBlockWriter(level);
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        placements.long2ObjectEntrySet().fastForEach(entry -> {
+            cursor.set(entry.getLongKey());
+            writer.set(cursor, entry.getValue(), blockEntities.get(entry.getLongKey()));
+        });
+        LongIterator chunks = writer.flush().iterator();
+        while (chunks.hasNext()) {
+            WorldCollisionManager.markChunkDirtyNow(level, new ChunkPos(chunks.nextLong()));
+        }
+        return Result.SETTLED;
+    }
+
+    /**
+     * Quarter turns k about +Y whose rotation is within {@code maxAngle} radians of
+     * {@code rotation}, or -1 if none is.
+     */
+    static int nearestQuarterTurns(Quaternionf rotation, double maxAngle) {
+        Quaternionf candidate = new Quaternionf();
+        int best = -1;
+        double bestDot = -1.0;
+        for (int k = 0; k < 4; k++) {
+            candidate.rotationY((float) (k * Math.PI / 2.0));
+            double dot = Math.abs(candidate.dot(rotation)) / Math.max(1.0E-6, rotation.length());
+            if (dot > bestDot) {
+                bestDot = dot;
+                best = k;
+            }
+        }
+        double angle = 2.0 * Math.acos(Math.min(1.0, bestDot));
+        return angle <= maxAngle ? best : -1;
+    }
+
+    // rotationY(k * 90 degrees) turns +X towards -Z for k = 1, which is a counter-clockwise turn seen from above.
+    private static Rotation toRotation(int quarterTurns) {
+        return switch (quarterTurns) {
+            case 1 -> Rotation.COUNTERCLOCKWISE_90;
+            case 2 -> Rotation.CLOCKWISE_180;
+            case 3 -> Rotation.CLOCKWISE_90;
+            default -> Rotation.NONE;
+        };
+    }
+
+    /**
+     * The shipyard copy of a block entity is the live one; the structure's own tag is only
+     * the state it was captured or last synced with.
+     */
+    private static CompoundTag captureBlockEntity(ServerLevel level, ServerLevel shipyard,
+                                                  ShipyardManager.ShipyardRegion region, BlockPos local, CompoundTag fallback) {
+        if (shipyard != null && region != null) {
+            BlockEntity blockEntity = shipyard.getBlockEntity(ShipyardManager.toWorld(region, local));
+            if (blockEntity != null) {
+                return blockEntity.saveWithId(level.registryAccess());
+            }
+        }
+        return fallback;
+    }
+
+    private static void release(ServerLevel level, NativePhysicsEngine engine, ServerLevel shipyard, PhysicsStructure structure) {
+        long bodyId = structure.getBodyId();
+        Entity entity = structure.getEntityId() > 0 ? level.getEntity(structure.getEntityId()) : null;
+        if (entity instanceof PhysicsStructureEntity structureEntity) {
+            PhysicsWorldManager.unregisterEntity(structureEntity);
+        }
+        StructurePhysicsManager.unregisterStructure(bodyId);
+        PhysicsColliderManager.unregisterAndSyncBody(level, bodyId);
+        ShipyardManager.removeRegion(shipyard, bodyId);
+        if (entity != null) {
+            entity.discard();
+        }
+        engine.removeBody(bodyId);
+    }
+}
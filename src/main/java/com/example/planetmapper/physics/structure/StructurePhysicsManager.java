@@ -1,11 +1,16 @@
 package com.example.planetmapper.physics.structure;
 
+import com.example.planetmapper.Config;
+import com.example.planetmapper.physics.BoxDecomposition;
+import com.example.planetmapper.physics.DecompositionStrategy;
+import com.example.planetmapper.physics.MassDistribution;
 import com.example.planetmapper.physics.NativePhysicsEngine;
 import com.example.planetmapper.physics.PhysicsColliderManager;
 import com.example.planetmapper.physics.PhysicsWorldManager;
 import com.example.planetmapper.physics.VoxelShapeOptimizer;
 import com.example.planetmapper.physics.WorldCollisionManager;
 import com.example.planetmapper.shipyard.ShipyardManager;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.core.BlockPos;
@@ -14,6 +19,7 @@ import net.minecraft.core.particles.BlockParticleOption;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtUtils;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundSource;
@@ -28,6 +34,7 @@ import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.item.context.UseOnContext;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
@@ -38,6 +45,7 @@ import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.Vec3;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.util.Mth;
+import com.example.planetmapper.entity.ModEntities;
 import com.example.planetmapper.entity.PhysicsBlockEntity;
 import com.example.planetmapper.entity.PhysicsStructureEntity;
 import com.example.planetmapper.network.StructureBlockUpdatePacket;
@@ -45,6 +53,8 @@ import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,11 +62,18 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class StructurePhysicsManager {
     private static final Map<Long, PhysicsStructure> STRUCTURES = new HashMap<>();
+    private static final Map<ResourceKey<Level>, DimensionStructures> BY_DIMENSION = new HashMap<>();
+    // Server thread only; applyForce copies the components.
+    private static final Vector3f LEVITATION_FORCE = new Vector3f();
     private static final Map<UUID, MiningState> MINING = new HashMap<>();
+    private static final int OBSERVER_CHECK_INTERVAL_TICKS = 20;
     private static final Object EXECUTOR_LOCK = new Object();
+    // Meshing jobs in flight across every dimension; maxConcurrentRebuilds caps this total.
+    private static final AtomicInteger RUNNING_REBUILDS = new AtomicInteger();
     private static ExecutorService optimizerExecutor = createExecutor();
     private static volatile boolean acceptingTasks = true;
 
@@ -67,11 +84,82 @@ public class StructurePhysicsManager {
         if (!acceptingTasks) {
             return;
         }
-        STRUCTURES.put(structure.getBodyId(), structure);
+        PhysicsStructure previous = STRUCTURES.put(structure.getBodyId(), structure);
+        if (previous != null && previous != structure) {
+            removeFromIndex(previous);
+        }
+        DimensionStructures index = BY_DIMENSION.computeIfAbsent(structure.getDimension(), key -> new DimensionStructures());
+        index.structures.put(structure.getBodyId(), structure);
+        updateLevitating(structure);
+        if (structure.isDirty()) {
+            index.rebuilds.add(structure);
+        }
+        PhysicsColliderManager.setBlockGridOrigin(structure.getBodyId(), structure.getOriginOffset());
     }
 
     public static void unregisterStructure(long bodyId) {
-        STRUCTURES.remove(bodyId);
+        PhysicsStructure structure = STRUCTURES.remove(bodyId);
+        if (structure != null) {
+            removeFromIndex(structure);
+        }
+        PhysicsColliderManager.setBlockGridOrigin(bodyId, null);
+    }
+
+    private static void removeFromIndex(PhysicsStructure structure) {
+        DimensionStructures index = BY_DIMENSION.get(structure.getDimension());
+        if (index != null) {
+            index.structures.remove(structure.getBodyId(), structure);
+            index.levitating.remove(structure.getBodyId(), structure);
+            index.rebuilds.remove(structure);
+            index.splitChecks.remove(structure.getBodyId(), structure);
+        }
+    }
+
+    /**
+     * Marks the structure for a full collision rebuild and hands it to its dimension's scheduler.
+     */
+    static void markDirty(PhysicsStructure structure, long gameTime) {
+        if (structure.markDirty(gameTime)) {
+            scheduleRebuild(structure);
+        }
+    }
+
+    private static void scheduleRebuild(PhysicsStructure structure) {
+        DimensionStructures index = BY_DIMENSION.get(structure.getDimension());
+        if (index != null && STRUCTURES.get(structure.getBodyId()) == structure) {
+            index.rebuilds.add(structure);
+        }
+    }
+
+    /**
+     * Queues a connectivity check for the next level tick, so every removal of the tick is
+     * checked in one pass and no bodies are spawned from inside a block update.
+     */
+    private static void queueSplitCheck(PhysicsStructure structure) {
+        DimensionStructures index = BY_DIMENSION.get(structure.getDimension());
+        if (index != null && STRUCTURES.get(structure.getBodyId()) == structure) {
+            index.splitChecks.put(structure.getBodyId(), structure);
+        }
+    }
+
+    public static Collection<PhysicsStructure> getStructures(ResourceKey<Level> dimension) {
+        DimensionStructures index = BY_DIMENSION.get(dimension);
+        return index == null ? List.of() : Collections.unmodifiableCollection(index.structures.values());
+    }
+
+    /**
+     * Keeps the dimension's levitating subset in line with the structure's cached material summary.
+     */
+    private static void updateLevitating(PhysicsStructure structure) {
+        DimensionStructures index = BY_DIMENSION.get(structure.getDimension());
+        if (index == null || STRUCTURES.get(structure.getBodyId()) != structure) {
+            return;
+        }
+        if (structure.getPhysicsProperties().snapshot().isLevitating()) {
+            index.levitating.put(structure.getBodyId(), structure);
+        } else {
+            index.levitating.remove(structure.getBodyId());
+        }
     }
 
     public static PhysicsStructure getStructure(long bodyId) {
@@ -122,7 +210,8 @@ public class StructurePhysicsManager {
             return false;
         }
 
-        List<AABB> localBoxes = VoxelShapeOptimizer.optimizeLongSet(collidableBlocks);
+        CollisionMesh mesh = meshCollidable(collidableBlocks, Config.PHYSICS_SHELL_DEPTH.get(), DecompositionStrategy.GREEDY);
+        List<AABB> localBoxes = mesh.boxes();
         Vector3f bodyPos = new Vector3f((float) entity.getX(), (float) (entity.getY() + entity.getBodyYOffset()), (float) entity.getZ());
         Vector3f originOffset = new Vector3f(entity.getOriginOffset());
         Vector3f worldOrigin = new Vector3f(originOffset).add(bodyPos);
@@ -133,8 +222,7 @@ public class StructurePhysicsManager {
         }
         StructurePhysicsProperties physicsProperties = StructurePhysicsProperties.fromBlocks(blocks);
         StructurePhysicsProperties.MaterialSummary material = physicsProperties.snapshot();
-        float mass = Math.max(1.0f, material.mass());
-        long bodyId = engine.createRigidBody(worldBoxes, material);
+        long bodyId = engine.createRigidBody(worldBoxes, material, mesh.distributionAt(physicsProperties, worldOrigin));
         if (bodyId <= 0) {
             return false;
         }
@@ -150,6 +238,7 @@ public class StructurePhysicsManager {
                 collidableBlocks,
                 physicsProperties);
         structure.setEntityId(entity.getId());
+        structure.setDecomposition(mesh.isShell() ? null : new BoxDecomposition(localBoxes));
         registerStructure(structure);
 
         List<AABB> bodyLocal = offsetBoxes(localBoxes, originOffset);
@@ -175,22 +264,29 @@ public class StructurePhysicsManager {
         boolean oldCollidable = old != null && old.collidable();
         StructurePhysicsProperties physicsProperties = structure.getPhysicsProperties();
         if (old != null) {
-            physicsProperties.removeState(old.state());
+            physicsProperties.removeState(old.state(), key);
         }
 
         if (state == null || state.isAir()) {
-            structure.removeBlock(key);
+            if (structure.removeBlock(key) != null) {
+                queueSplitCheck(structure);
+            }
         } else {
             structure.putBlock(key, new StructureBlockData(state, blockEntityTag, collidable));
-            physicsProperties.addState(state);
+            physicsProperties.addState(state, key);
         }
 
         boolean newCollidable = state != null && !state.isAir() && collidable;
+        ServerLevel structureLevel = shipyard.getServer().getLevel(structure.getDimension());
         if (oldCollidable != newCollidable) {
-            structure.markDirty();
+            if (structureLevel != null) {
+                repairShapeOrMarkDirty(structureLevel, structure, key, newCollidable);
+            } else {
+                // Every level of a server shares one game time.
+                markDirty(structure, shipyard.getGameTime());
+            }
         }
 
-        ServerLevel structureLevel = shipyard.getServer().getLevel(structure.getDimension());
         if (structureLevel != null) {
             BlockState particleState = (state == null || state.isAir())
                     ? (old != null ? old.state() : null)
@@ -208,17 +304,11 @@ public class StructurePhysicsManager {
         if (!(target instanceof PhysicsBlockEntity physicsEntity)) {
             return false;
         }
-        long bodyId = physicsEntity.getBodyId();
-        if (bodyId <= 0) {
-            return false;
-        }
-        PhysicsStructure structure = STRUCTURES.get(bodyId);
+        PhysicsStructure structure = pickStructure(player, physicsEntity.getBodyId());
         if (structure == null) {
             return false;
         }
-        if (structure.getDimension() != player.level().dimension()) {
-            return false;
-        }
+        long bodyId = structure.getBodyId();
 
         NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
         if (engine == null) {
@@ -294,12 +384,8 @@ public class StructurePhysicsManager {
         if (!(target instanceof PhysicsBlockEntity physicsEntity)) {
             return InteractionResult.PASS;
         }
-        long bodyId = physicsEntity.getBodyId();
-        if (bodyId <= 0) {
-            return InteractionResult.PASS;
-        }
-        PhysicsStructure structure = STRUCTURES.get(bodyId);
-        if (structure == null || structure.getDimension() != player.level().dimension()) {
+        PhysicsStructure structure = pickStructure(player, physicsEntity.getBodyId());
+        if (structure == null) {
             return InteractionResult.PASS;
         }
 
@@ -381,19 +467,19 @@ public class StructurePhysicsManager {
             placeState = placement;
         }
         long placeKey = BlockPos.asLong(localPlacePos.getX(), localPlacePos.getY(), localPlacePos.getZ());
-        if (structure.getBlocks().containsKey(placeKey)) {
+        if (structure.containsBlock(placeKey)) {
             return InteractionResult.CONSUME;
         }
         boolean collidable = !placeState.getCollisionShape(player.level(), worldPlacePos).isEmpty();
         structure.putBlock(placeKey, new StructureBlockData(placeState, null, collidable));
-        structure.getPhysicsProperties().addState(placeState);
+        structure.getPhysicsProperties().addState(placeState, placeKey);
+        ServerLevel level = (ServerLevel) player.level();
         if (collidable) {
-            structure.markDirty();
+            repairShapeOrMarkDirty(level, structure, placeKey, true);
         }
         if (!player.getAbilities().instabuild) {
             stack.shrink(1);
         }
-        ServerLevel level = (ServerLevel) player.level();
         level.playSound(null, hit.worldCenter.x, hit.worldCenter.y, hit.worldCenter.z,
                 placeState.getSoundType().getPlaceSound(), SoundSource.BLOCKS, 1.0f, 1.0f);
         syncBlockChange(level, structure, localPlacePos, placeState, placeState, false);
@@ -456,19 +542,27 @@ public class StructurePhysicsManager {
             return;
         }
 
-        applyLevitation(level);
+        DimensionStructures index = BY_DIMENSION.get(level.dimension());
+        if (index == null || index.structures.isEmpty()) {
+            return;
+        }
 
-        for (PhysicsStructure structure : STRUCTURES.values()) {
-            if (structure.getDimension() != level.dimension()) {
-                continue;
-            }
-            if (!structure.isDirty() || structure.isRebuildRunning()) {
-                continue;
+        if (level.getGameTime() % OBSERVER_CHECK_INTERVAL_TICKS == 0) {
+            updateObserved(level, index);
+            settleResting(level, index);
+        }
+        applyLevitation(index);
+        processSplitChecks(level, index);
+
+        NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
+        if (engine != null) {
+            int slots = Config.PHYSICS_MAX_CONCURRENT_REBUILDS.get() - RUNNING_REBUILDS.get();
+            for (PhysicsStructure structure : index.rebuilds.pollReady(level, engine, slots)) {
+                startRebuild(level, structure);
             }
-            startRebuild(level, structure);
         }
 
-        ensureWorldColliders(level);
+        ensureWorldColliders(level, index);
     }
 
     public static void shutdown() {
@@ -482,6 +576,9 @@ public class StructurePhysicsManager {
             executorToShutdown.shutdownNow();
         }
         STRUCTURES.clear();
+        BY_DIMENSION.clear();
+        // Jobs cut off by the executor shutdown never report back.
+        RUNNING_REBUILDS.set(0);
         MINING.clear();
     }
 
@@ -492,40 +589,522 @@ public class StructurePhysicsManager {
 
     private static void startRebuild(ServerLevel level, PhysicsStructure structure) {
         structure.setRebuildRunning(true);
+        RUNNING_REBUILDS.incrementAndGet();
+        long dirtySince = structure.getDirtySinceNanos();
         structure.clearDirty();
         LongOpenHashSet snapshot = structure.snapshotCollidableBlocks();
+        DecompositionStrategy strategy = Config.PHYSICS_STRUCTURE_DECOMPOSITION.get();
+        int shellDepth = Config.PHYSICS_SHELL_DEPTH.get();
         CompletableFuture
-                .supplyAsync(() -> VoxelShapeOptimizer.optimizeLongSet(snapshot), getExecutor())
-                .thenAccept(boxes -> level.getServer().execute(() -> applyRebuild(level, structure, boxes)))
+                .supplyAsync(() -> meshCollidable(snapshot, shellDepth, strategy), getExecutor())
+                .thenAccept(mesh -> level.getServer().execute(() -> applyRebuild(level, structure, mesh, dirtySince)))
                 .exceptionally(ex -> {
-                    structure.setRebuildRunning(false);
+                    level.getServer().execute(() -> finishRebuild(structure));
                     return null;
                 });
     }
 
-    private static void applyRebuild(ServerLevel level, PhysicsStructure structure, List<AABB> localBoxes) {
+    private static void applyRebuild(ServerLevel level, PhysicsStructure structure, CollisionMesh mesh, long dirtySince) {
         NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
-        if (engine == null) {
-            structure.setRebuildRunning(false);
+        // The structure may have been settled or removed while meshing; its body id is no longer ours.
+        if (engine == null || STRUCTURES.get(structure.getBodyId()) != structure) {
+            finishRebuild(structure);
             return;
         }
 
+        List<AABB> localBoxes = mesh.boxes();
         List<AABB> bodyLocal = offsetBoxes(localBoxes, structure.getOriginOffset());
         if (bodyLocal.isEmpty()) {
-            structure.setRebuildRunning(false);
+            finishRebuild(structure);
             return;
         }
 
-        engine.updateBodyShape(structure.getBodyId(), bodyLocal);
+        StructurePhysicsProperties physicsProperties = structure.getPhysicsProperties();
+        engine.updateBodyShape(structure.getBodyId(), bodyLocal,
+                mesh.distributionAt(physicsProperties, structure.getOriginOffset()), physicsProperties.snapshot().mass());
         PhysicsColliderManager.updateAndSyncBody(level, structure.getBodyId(), bodyLocal);
         syncBodyMaterial(level, structure);
+        // Edits made while meshing already queued another rebuild; repairing this result would miss them.
+        // Shell meshes do not cover every block, so single-cell repairs cannot be applied to them.
+        structure.setDecomposition(structure.isDirty() || mesh.isShell() ? null : new BoxDecomposition(localBoxes));
+        structure.recordRebuild(System.nanoTime() - dirtySince);
+        finishRebuild(structure);
+    }
+
+    private static void finishRebuild(PhysicsStructure structure) {
         structure.setRebuildRunning(false);
+        // A job started before a shutdown may land after the reset.
+        RUNNING_REBUILDS.updateAndGet(running -> Math.max(0, running - 1));
+        // Edits made while meshing are normally pending already; re-adding them is harmless.
+        if (structure.isDirty()) {
+            scheduleRebuild(structure);
+        }
+    }
+
+    /**
+     * Patches the body's shape for a single collidability change by splitting or extending
+     * the affected boxes, sending only the changed sub-shapes to the native compound.
+     * Falls back to a full rebuild when there is no up-to-date decomposition or it has
+     * fragmented too far.
+     */
+    private static void repairShapeOrMarkDirty(ServerLevel level, PhysicsStructure structure, long key, boolean collidable) {
+        BoxDecomposition decomposition = structure.getDecomposition();
+        NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
+        if (engine == null || decomposition == null
+                || structure.isDirty() || structure.isRebuildRunning()) {
+            markDirty(structure, level.getGameTime());
+            return;
+        }
+
+        int x = BlockPos.getX(key);
+        int y = BlockPos.getY(key);
+        int z = BlockPos.getZ(key);
+        boolean repaired = collidable ? decomposition.addCell(x, y, z) : decomposition.removeCell(x, y, z);
+        if (!repaired || decomposition.needsRebuild() || decomposition.getBoxCount() == 0) {
+            structure.setDecomposition(null);
+            markDirty(structure, level.getGameTime());
+            return;
+        }
+
+        Vector3f originOffset = structure.getOriginOffset();
+        BoxDecomposition.Patch patch = decomposition.drainPatch(originOffset);
+        List<AABB> bodyLocal = decomposition.toBoxes(originOffset);
+        if (!engine.patchBodyShape(structure.getBodyId(), patch)) {
+            engine.updateBodyShape(structure.getBodyId(), bodyLocal);
+        }
+        PhysicsColliderManager.updateAndSyncBody(level, structure.getBodyId(), bodyLocal);
+    }
+
+    private static void processSplitChecks(ServerLevel level, DimensionStructures index) {
+        if (index.splitChecks.isEmpty()) {
+            return;
+        }
+        List<PhysicsStructure> structures = new ArrayList<>(index.splitChecks.values());
+        index.splitChecks.clear();
+        boolean enabled = Config.PHYSICS_SPLIT_DETACHED.get();
+        for (PhysicsStructure structure : structures) {
+            if (STRUCTURES.get(structure.getBodyId()) != structure) {
+                continue;
+            }
+            if (structure.isFrozen()) {
+                index.splitChecks.put(structure.getBodyId(), structure);
+            } else if (enabled) {
+                splitDetachedParts(level, structure);
+            } else {
+                structure.clearRemovedBlocks();
+            }
+        }
+    }
+
+    /**
+     * Moves every part that no longer touches the rest of the structure into a body of its
+     * own, carrying over the parent's pose and velocity. Parts without collidable blocks
+     * stay with the parent. The departed cells are patched out of the parent's shape before
+     * any part body exists, so the two never overlap inside the native world.
+     */
+    private static void splitDetachedParts(ServerLevel level, PhysicsStructure structure) {
+        List<LongArrayList> parts = structure.findDetachedParts();
+        NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
+        if (parts.isEmpty() || engine == null) {
+            return;
+        }
+        float[] parentState = new float[13];
+        engine.getBodyState(structure.getBodyId(), parentState);
+        Vector3f parentCenterOfMass = worldCenterOfMass(structure, parentState);
+        ServerLevel shipyard = ShipyardManager.getShipyardLevel(level.getServer());
+        ShipyardManager.ShipyardRegion region = shipyard != null ? ShipyardManager.getRegion(structure.getBodyId()) : null;
+        DecompositionStrategy strategy = Config.PHYSICS_STRUCTURE_DECOMPOSITION.get();
+        int shellDepth = Config.PHYSICS_SHELL_DEPTH.get();
+
+        // Nothing is taken from the parent until every part has its mesh and entity.
+        List<DetachedPart> detached = new ArrayList<>(parts.size());
+        for (LongArrayList part : parts) {
+            DetachedPart prepared = prepareDetachedPart(level, shipyard, region, structure, part, shellDepth, strategy);
+            if (prepared != null) {
+                detached.add(prepared);
+            }
+        }
+        if (detached.isEmpty()) {
+            structure.clearRemovedBlocks();
+            return;
+        }
+
+        StructurePhysicsProperties parentProperties = structure.getPhysicsProperties();
+        LongArrayList departed = new LongArrayList();
+        for (DetachedPart part : detached) {
+            for (int i = 0; i < part.keys().size(); i++) {
+                long key = part.keys().getLong(i);
+                StructureBlockData removed = structure.removeBlock(key);
+                if (removed != null) {
+                    parentProperties.removeState(removed.state(), key);
+                    if (removed.collidable()) {
+                        departed.add(key);
+                    }
+                }
+            }
+        }
+        removeCellsFromShape(level, engine, structure, departed);
+
+        boolean restored = false;
+        for (DetachedPart part : detached) {
+            if (!spawnDetachedPart(level, engine, shipyard, region, structure, part, parentState, parentCenterOfMass)) {
+                // No body for the part; it goes back to the parent and the parent's shape follows.
+                for (int i = 0; i < part.keys().size(); i++) {
+                    long key = part.keys().getLong(i);
+                    StructureBlockData data = part.original().get(key);
+                    structure.putBlock(key, data);
+                    parentProperties.addState(data.state(), key);
+                }
+                restored = true;
+            }
+        }
+        // Removing closed-off parts cannot split what is left.
+        structure.clearRemovedBlocks();
+        if (restored || structure.isRebuildRunning()) {
+            // A restored part, or a rebuild meshed before the split, must not leave the wrong shape behind.
+            structure.setDecomposition(null);
+            markDirty(structure, level.getGameTime());
+        }
+        PhysicsStructureEntity entity = getStructureEntity(level, structure);
+        if (entity != null) {
+            entity.setStructure(buildRenderBlocks(structure), buildRenderBlockEntities(structure));
+        }
+        syncBodyMaterial(level, structure);
     }
 
-    private static void ensureWorldColliders(ServerLevel level) {
+    /**
+     * Removes departed cells from the body's current decomposition and sends only the changed
+     * sub-shapes, so the work follows the size of the parts rather than the whole hull.
+     * Without an up-to-date decomposition, or once it has fragmented too far, the body goes
+     * through the async rebuild instead.
+     */
+    private static void removeCellsFromShape(ServerLevel level, NativePhysicsEngine engine, PhysicsStructure structure,
+                                             LongArrayList cells) {
+        BoxDecomposition decomposition = structure.getDecomposition();
+        if (decomposition == null || structure.isDirty() || structure.isRebuildRunning()) {
+            structure.setDecomposition(null);
+            markDirty(structure, level.getGameTime());
+            return;
+        }
+        boolean covered = true;
+        for (int i = 0; i < cells.size(); i++) {
+            long key = cells.getLong(i);
+            covered &= decomposition.removeCell(BlockPos.getX(key), BlockPos.getY(key), BlockPos.getZ(key));
+        }
+        if (decomposition.getBoxCount() > 0) {
+            Vector3f originOffset = structure.getOriginOffset();
+            BoxDecomposition.Patch patch = decomposition.drainPatch(originOffset);
+            List<AABB> bodyLocal = decomposition.toBoxes(originOffset);
+            if (!engine.patchBodyShape(structure.getBodyId(), patch)) {
+                engine.updateBodyShape(structure.getBodyId(), bodyLocal);
+            }
+            PhysicsColliderManager.updateAndSyncBody(level, structure.getBodyId(), bodyLocal);
+        }
+        if (!covered || decomposition.needsRebuild() || decomposition.getBoxCount() == 0) {
+            structure.setDecomposition(null);
+            markDirty(structure, level.getGameTime());
+        }
+    }
+
+    /**
+     * World position of the body's center of mass for the pose in {@code state}, or the body
+     * position if the structure has no mass distribution.
+     */
+    private static Vector3f worldCenterOfMass(PhysicsStructure structure, float[] state) {
+        Vector3f bodyPos = new Vector3f(state[0], state[1], state[2]);
+        MassDistribution distribution = structure.getPhysicsProperties().massDistribution();
+        if (distribution == null) {
+            return bodyPos;
+        }
+        Vector3f originOffset = structure.getOriginOffset();
+        Vector3f local = new Vector3f((float) distribution.centerX() + originOffset.x,
+                (float) distribution.centerY() + originOffset.y, (float) distribution.centerZ() + originOffset.z);
+        return new Quaternionf(state[3], state[4], state[5], state[6]).transform(local).add(bodyPos);
+    }
+
+    /**
+     * Copies a detached part out of {@code parent} into its own local frame, meshes it and
+     * creates its entity. Returns null, leaving the parent untouched, if the part has nothing
+     * collidable or no entity could be created.
+     */
+    private static DetachedPart prepareDetachedPart(ServerLevel level, ServerLevel shipyard,
+                                                    ShipyardManager.ShipyardRegion region, PhysicsStructure parent,
+                                                    LongArrayList part, int shellDepth, DecompositionStrategy strategy) {
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < part.size(); i++) {
+            long key = part.getLong(i);
+            minX = Math.min(minX, BlockPos.getX(key));
+            minY = Math.min(minY, BlockPos.getY(key));
+            minZ = Math.min(minZ, BlockPos.getZ(key));
+            maxX = Math.max(maxX, BlockPos.getX(key));
+            maxY = Math.max(maxY, BlockPos.getY(key));
+            maxZ = Math.max(maxZ, BlockPos.getZ(key));
+        }
+
+        LongArrayList keys = new LongArrayList(part.size());
+        Long2ObjectOpenHashMap<StructureBlockData> original = new Long2ObjectOpenHashMap<>(part.size());
+        Long2ObjectOpenHashMap<StructureBlockData> blocks = new Long2ObjectOpenHashMap<>(part.size());
+        LongOpenHashSet collidable = new LongOpenHashSet();
+        Map<BlockPos, BlockState> renderBlocks = new HashMap<>(part.size());
+        Map<BlockPos, CompoundTag> renderBlockEntities = new HashMap<>();
+        for (int i = 0; i < part.size(); i++) {
+            long key = part.getLong(i);
+            StructureBlockData data = parent.getBlock(key);
+            if (data == null) {
+                continue;
+            }
+            keys.add(key);
+            original.put(key, data);
+            if (region != null && data.blockEntityTag() != null) {
+                // The shipyard copy is the live one; the cached tag only changes with the block state.
+                BlockEntity blockEntity = shipyard.getBlockEntity(ShipyardManager.toWorld(region, BlockPos.of(key)));
+                if (blockEntity != null) {
+                    data = new StructureBlockData(data.state(), blockEntity.saveWithId(shipyard.registryAccess()), data.collidable());
+                }
+            }
+            BlockPos localPos = new BlockPos(BlockPos.getX(key) - minX, BlockPos.getY(key) - minY, BlockPos.getZ(key) - minZ);
+            long localKey = localPos.asLong();
+            blocks.put(localKey, data);
+            if (data.collidable()) {
+                collidable.add(localKey);
+            }
+            renderBlocks.put(localPos, data.state());
+            if (data.blockEntityTag() != null && !data.blockEntityTag().isEmpty()) {
+                renderBlockEntities.put(localPos, data.blockEntityTag());
+            }
+        }
+        if (collidable.isEmpty()) {
+            return null;
+        }
+        CollisionMesh mesh = meshCollidable(collidable, shellDepth, strategy);
+        if (mesh.boxes().isEmpty()) {
+            return null;
+        }
+        PhysicsStructureEntity entity = ModEntities.PHYSICS_STRUCTURE.get().create(level);
+        if (entity == null) {
+            return null;
+        }
+        entity.setStructure(renderBlocks, renderBlockEntities);
+        return new DetachedPart(keys, original, blocks, collidable, mesh, entity,
+                new BlockPos(minX, minY, minZ), new BlockPos(maxX - minX + 1, maxY - minY + 1, maxZ - minZ + 1));
+    }
+
+    /**
+     * Creates the body for a prepared part, whose blocks the parent has already given up, and
+     * moves the part's shipyard blocks into a region of its own. Returns false if no body could
+     * be created; nothing has changed then.
+     */
+    private static boolean spawnDetachedPart(ServerLevel level, NativePhysicsEngine engine, ServerLevel shipyard,
+                                             ShipyardManager.ShipyardRegion region, PhysicsStructure parent,
+                                             DetachedPart part, float[] parentState, Vector3f parentCenterOfMass) {
+        // Create the part as if the parent were unrotated, then turn it into place about the parent's position.
+        CollisionMesh mesh = part.mesh();
+        Vector3f parentPos = new Vector3f(parentState[0], parentState[1], parentState[2]);
+        Quaternionf rotation = new Quaternionf(parentState[3], parentState[4], parentState[5], parentState[6]);
+        Vector3f worldOrigin = new Vector3f(parent.getOriginOffset()).add(part.min().getX(), part.min().getY(), part.min().getZ()).add(parentPos);
+        List<AABB> worldBoxes = offsetBoxes(mesh.boxes(), worldOrigin);
+        StructurePhysicsProperties physicsProperties = StructurePhysicsProperties.fromBlocks(part.blocks());
+        MassDistribution distribution = mesh.distributionAt(physicsProperties, worldOrigin);
+        long bodyId = engine.createRigidBody(worldBoxes, physicsProperties.snapshot(), distribution);
+        if (bodyId <= 0) {
+            return false;
+        }
+
+        float[] state = new float[13];
+        engine.getBodyState(bodyId, state);
+        Vector3f createdPos = new Vector3f(state[0], state[1], state[2]);
+        Vector3f originOffset = new Vector3f(worldOrigin).sub(createdPos);
+        Vector3f lever = rotation.transform(new Vector3f(createdPos).sub(parentPos));
+        Vector3f bodyPos = new Vector3f(parentPos).add(lever);
+        // Velocities are those of the centers of mass, which sit off the body positions.
+        Vector3f centerOfMass = distribution != null
+                ? new Vector3f((float) distribution.centerX(), (float) distribution.centerY(), (float) distribution.centerZ())
+                : new Vector3f(createdPos);
+        Vector3f comLever = rotation.transform(centerOfMass.sub(parentPos)).add(parentPos).sub(parentCenterOfMass);
+        Vector3f angular = new Vector3f(parentState[10], parentState[11], parentState[12]);
+        Vector3f linear = new Vector3f(angular).cross(comLever).add(parentState[7], parentState[8], parentState[9]);
+        if (!engine.setBodyState(bodyId, new float[]{
+                bodyPos.x, bodyPos.y, bodyPos.z,
+                rotation.x, rotation.y, rotation.z, rotation.w,
+                linear.x, linear.y, linear.z,
+                angular.x, angular.y, angular.z})) {
+            bodyPos.set(createdPos);
+            rotation.identity();
+        }
+
+        if (region != null) {
+            ShipyardManager.clearBlocks(shipyard, region, part.keys());
+        }
+
+        Vector3f originWorld = rotation.transform(new Vector3f(originOffset)).add(bodyPos);
+        PhysicsStructure structure = new PhysicsStructure(level.dimension(), bodyId,
+                BlockPos.containing(originWorld.x, originWorld.y, originWorld.z),
+                originOffset, part.blocks(), part.collidable(), physicsProperties);
+        structure.setDecomposition(mesh.isShell() ? null : new BoxDecomposition(mesh.boxes()));
+        registerStructure(structure);
+
+        PhysicsColliderManager.registerAndSyncBody(level, bodyId, worldBoxes, createdPos);
+        PhysicsColliderManager.updateAndSyncBody(level, bodyId, offsetBoxes(mesh.boxes(), originOffset));
+        PhysicsColliderManager.updateBodyTransform(bodyId, bodyPos.x, bodyPos.y, bodyPos.z, rotation);
+
+        PhysicsStructureEntity entity = part.entity();
+        entity.setPos(bodyPos.x, bodyPos.y - entity.getBodyYOffset(), bodyPos.z);
+        entity.setBodyId(bodyId);
+        entity.setOriginOffset(originOffset);
+        level.addFreshEntity(entity);
+        PhysicsWorldManager.registerEntity(entity);
+        structure.setEntityId(entity.getId());
+
+        if (region != null) {
+            BlockPos size = part.size();
+            ShipyardManager.ShipyardRegion partRegion = ShipyardManager.ensureRegion(shipyard, entity.getUUID(), bodyId,
+                    size.getX(), size.getY(), size.getZ());
+            ShipyardManager.placeBlocks(shipyard, partRegion, part.blocks());
+            ShipyardManager.queueNeighborUpdates(partRegion, part.blocks());
+        }
+        return true;
+    }
+
+    /**
+     * Freezes structures with no player within the freeze distance, or whose chunks are not
+     * loaded, and thaws them once a player is back and the world colliders under the body
+     * are ready. Bodies exactly at the freeze distance keep their current state so they do
+     * not flip on every check.
+     */
+    private static void updateObserved(ServerLevel level, DimensionStructures index) {
+        NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
+        if (engine == null) {
+            return;
+        }
+        ServerLevel shipyard = ShipyardManager.getShipyardLevel(level.getServer());
+        int distance = Config.PHYSICS_FREEZE_DISTANCE_CHUNKS.get();
+        for (PhysicsStructure structure : index.structures.values()) {
+            if (distance <= 0) {
+                if (structure.isFrozen()) {
+                    thaw(level, shipyard, engine, structure);
+                }
+                continue;
+            }
+            AABB bounds = PhysicsColliderManager.getBodyBounds(structure.getBodyId());
+            if (bounds == null) {
+                continue;
+            }
+            int minChunkX = Mth.floor(bounds.minX) >> 4;
+            int minChunkZ = Mth.floor(bounds.minZ) >> 4;
+            int maxChunkX = Mth.floor(bounds.maxX) >> 4;
+            int maxChunkZ = Mth.floor(bounds.maxZ) >> 4;
+            int nearest = Integer.MAX_VALUE;
+            for (ServerPlayer player : level.players()) {
+                int chunkX = player.chunkPosition().x;
+                int chunkZ = player.chunkPosition().z;
+                int dx = Math.max(0, Math.max(minChunkX - chunkX, chunkX - maxChunkX));
+                int dz = Math.max(0, Math.max(minChunkZ - chunkZ, chunkZ - maxChunkZ));
+                nearest = Math.min(nearest, Math.max(dx, dz));
+            }
+            if (structure.isFrozen()) {
+                if (nearest < distance && worldCollidersReady(level, minChunkX, minChunkZ, maxChunkX, maxChunkZ)) {
+                    thaw(level, shipyard, engine, structure);
+                }
+            } else if (nearest > distance || !chunksLoaded(level, minChunkX, minChunkZ, maxChunkX, maxChunkZ)) {
+                freeze(shipyard, engine, structure);
+            }
+        }
+    }
+
+    /**
+     * Puts structures back into the world once their body has slept for the configured time.
+     * Sleep is read from the bulk snapshot, so this only counts whole observer intervals.
+     * A body that cannot settle (tilted or obstructed) waits another full interval.
+     */
+    private static void settleResting(ServerLevel level, DimensionStructures index) {
+        int settleTicks = Config.PHYSICS_SETTLE_SLEEP_TICKS.get();
+        if (settleTicks <= 0 || !PhysicsWorldManager.hasSnapshot()) {
+            return;
+        }
+        List<PhysicsStructure> ready = null;
+        for (PhysicsStructure structure : index.structures.values()) {
+            if (structure.isFrozen()) {
+                continue;
+            }
+            if (PhysicsWorldManager.readSnapshotState(structure.getBodyId(), structure.getStateBuffer())) {
+                structure.setSleepTicks(0);
+                continue;
+            }
+            int slept = structure.getSleepTicks() + OBSERVER_CHECK_INTERVAL_TICKS;
+            structure.setSleepTicks(slept);
+            if (slept >= settleTicks && !structure.isDirty() && !structure.isRebuildRunning()) {
+                if (ready == null) {
+                    ready = new ArrayList<>();
+                }
+                ready.add(structure);
+            }
+        }
+        if (ready == null) {
+            return;
+        }
+        double maxAngle = Config.PHYSICS_SETTLE_MAX_ANGLE_DEGREES.get();
+        for (PhysicsStructure structure : ready) {
+            if (StructureDisassembler.disassemble(level, structure, maxAngle) != StructureDisassembler.Result.SETTLED) {
+                structure.setSleepTicks(0);
+            }
+        }
+    }
+
+    private static void freeze(ServerLevel shipyard, NativePhysicsEngine engine, PhysicsStructure structure) {
+        if (!engine.setBodyEnabled(structure.getBodyId(), false)) {
+            return;
+        }
+        structure.setFrozen(true);
+        ShipyardManager.setRegionForced(shipyard, ShipyardManager.getRegion(structure.getBodyId()), false);
+    }
+
+    private static void thaw(ServerLevel level, ServerLevel shipyard, NativePhysicsEngine engine, PhysicsStructure structure) {
+        if (!engine.setBodyEnabled(structure.getBodyId(), true)) {
+            return;
+        }
+        structure.setFrozen(false);
+        // Mass updates are skipped while the body is out of the simulation.
+        syncBodyMaterial(level, structure);
+        ShipyardManager.setRegionForced(shipyard, ShipyardManager.getRegion(structure.getBodyId()), true);
+    }
+
+    private static boolean chunksLoaded(ServerLevel level, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                if (!level.hasChunk(cx, cz)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean worldCollidersReady(ServerLevel level, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        boolean ready = true;
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                if (!level.hasChunk(cx, cz)) {
+                    return false;
+                }
+                ChunkPos chunkPos = new ChunkPos(cx, cz);
+                if (!WorldCollisionManager.isChunkColliderReady(level, chunkPos)) {
+                    WorldCollisionManager.ensureChunkCollider(level, chunkPos);
+                    ready = false;
+                }
+            }
+        }
+        return ready;
+    }
+
+    private static void ensureWorldColliders(ServerLevel level, DimensionStructures index) {
         int budget = 32;
-        for (PhysicsStructure structure : STRUCTURES.values()) {
-            if (structure.getDimension() != level.dimension()) {
+        for (PhysicsStructure structure : index.structures.values()) {
+            if (structure.isFrozen()) {
                 continue;
             }
             AABB bounds = PhysicsColliderManager.getBodyBounds(structure.getBodyId());
@@ -551,24 +1130,40 @@ public class StructurePhysicsManager {
         }
     }
 
-    private static void applyLevitation(ServerLevel level) {
+    private static void applyLevitation(DimensionStructures index) {
+        if (index.levitating.isEmpty()) {
+            return;
+        }
         NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
         if (engine == null) {
             return;
         }
-        for (PhysicsStructure structure : STRUCTURES.values()) {
-            if (structure.getDimension() != level.dimension()) {
+        for (PhysicsStructure structure : index.levitating.values()) {
+            if (structure.isFrozen()) {
                 continue;
             }
             StructurePhysicsProperties.MaterialSummary material = structure.getPhysicsProperties().snapshot();
-            if (material.mass() <= 0.0f || material.levitationAccel() <= 0.0f) {
-                continue;
-            }
-            engine.applyForce(structure.getBodyId(), new Vector3f(0.0f, material.mass() * material.levitationAccel(), 0.0f));
+            engine.applyForce(structure.getBodyId(), LEVITATION_FORCE.set(0.0f, material.mass() * material.levitationAccel(), 0.0f));
             engine.activateBody(structure.getBodyId());
         }
     }
 
+    /**
+     * Meshes collidable blocks (structure-local). With a positive shell depth, solid interiors
+     * are left out of the collision boxes and the full-volume mass distribution is returned
+     * alongside so the body still balances and spins like a solid.
+     */
+    static CollisionMesh meshCollidable(LongOpenHashSet collidable, int shellDepth, DecompositionStrategy strategy) {
+        List<AABB> shell = VoxelShapeOptimizer.optimizeShell(collidable, shellDepth);
+        if (shell != null) {
+            return new CollisionMesh(shell, MassDistribution.of(collidable));
+        }
+        List<AABB> boxes = strategy == DecompositionStrategy.GREEDY
+                ? VoxelShapeOptimizer.optimizeLongSet(collidable)
+                : VoxelShapeOptimizer.decomposeCheapest(collidable, DecompositionStrategy.GREEDY, strategy).boxes();
+        return new CollisionMesh(boxes, null);
+    }
+
     private static List<AABB> offsetBoxes(List<AABB> boxes, Vector3f offset) {
         if (boxes.isEmpty()) {
             return List.of();
@@ -583,6 +1178,22 @@ public class StructurePhysicsManager {
         return result;
     }
 
+    /**
+     * The structure the player is looking at: the nearest body along the view ray in the
+     * dimension, so an entity whose bounds merely cover another body is not picked through it.
+     * Falls back to the targeted entity's body when the ray meets no structure's colliders,
+     * e.g. when it only passes non-collidable blocks.
+     */
+    private static PhysicsStructure pickStructure(Player player, long targetBodyId) {
+        PhysicsColliderManager.BodyRayHit hit = PhysicsColliderManager.raycastAll(player.level().dimension(),
+                player.getEyePosition(), player.getViewVector(1.0f), player.blockInteractionRange());
+        PhysicsStructure structure = hit != null ? STRUCTURES.get(hit.bodyId()) : null;
+        if (structure == null && targetBodyId > 0) {
+            structure = STRUCTURES.get(targetBodyId);
+        }
+        return structure != null && structure.getDimension() == player.level().dimension() ? structure : null;
+    }
+
     private static StructureHit raycastStructure(Player player, PhysicsStructure structure, NativePhysicsEngine engine) {
         float[] state = structure.getStateBuffer();
         engine.getBodyState(structure.getBodyId(), state);
@@ -649,7 +1260,7 @@ public class StructurePhysicsManager {
         Direction lastFace = null;
         while (t <= reach) {
             long key = BlockPos.asLong(x, y, z);
-            if (structure.getBlocks().containsKey(key)) {
+            if (structure.containsBlock(key)) {
                 return new LocalRayHit(new BlockPos(x, y, z), lastFace);
             }
 
@@ -749,13 +1360,14 @@ public class StructurePhysicsManager {
         if (data == null) {
             return;
         }
-        structure.getPhysicsProperties().removeState(data.state());
+        structure.getPhysicsProperties().removeState(data.state(), hit.blockKey);
+        queueSplitCheck(structure);
 
+        ServerLevel level = (ServerLevel) player.level();
         if (data.collidable()) {
-            structure.markDirty();
+            repairShapeOrMarkDirty(level, structure, hit.blockKey, false);
         }
 
-        ServerLevel level = (ServerLevel) player.level();
         if (!player.getAbilities().instabuild) {
             BlockStateDrops drops = collectDrops(level, hit.worldBlockPos, data, player);
             for (ItemStack stack : drops.items()) {
@@ -793,19 +1405,16 @@ public class StructurePhysicsManager {
     }
 
     private static Map<BlockPos, BlockState> buildRenderBlocks(PhysicsStructure structure) {
-        Map<BlockPos, BlockState> renderBlocks = new HashMap<>(structure.getBlocks().size());
-        structure.getBlocks().long2ObjectEntrySet().forEach(entry -> {
-            renderBlocks.put(BlockPos.of(entry.getLongKey()), entry.getValue().state());
-        });
+        Map<BlockPos, BlockState> renderBlocks = new HashMap<>(structure.getBlockCount());
+        structure.forEachBlock((key, state, tag, collidable) -> renderBlocks.put(BlockPos.of(key), state));
         return renderBlocks;
     }
 
     private static Map<BlockPos, CompoundTag> buildRenderBlockEntities(PhysicsStructure structure) {
         Map<BlockPos, CompoundTag> renderBlockEntities = new HashMap<>();
-        structure.getBlocks().long2ObjectEntrySet().forEach(entry -> {
-            CompoundTag tag = entry.getValue().blockEntityTag();
+        structure.forEachBlock((key, state, tag, collidable) -> {
             if (tag != null && !tag.isEmpty()) {
-                renderBlockEntities.put(BlockPos.of(entry.getLongKey()), tag);
+                renderBlockEntities.put(BlockPos.of(key), tag);
             }
         });
         return renderBlockEntities;
@@ -856,12 +1465,20 @@ public class StructurePhysicsManager {
     }
 
     private static void syncBodyMaterial(ServerLevel level, PhysicsStructure structure) {
+        updateLevitating(structure);
         NativePhysicsEngine engine = PhysicsWorldManager.getEngine();
         if (engine == null) {
             return;
         }
-        StructurePhysicsProperties.MaterialSummary material = structure.getPhysicsProperties().snapshot();
+        StructurePhysicsProperties physicsProperties = structure.getPhysicsProperties();
+        StructurePhysicsProperties.MaterialSummary material = physicsProperties.snapshot();
         engine.setBodyMaterial(structure.getBodyId(), material);
+        MassDistribution distribution = physicsProperties.massDistribution();
+        if (distribution != null) {
+            Vector3f originOffset = structure.getOriginOffset();
+            engine.setBodyMassProperties(structure.getBodyId(),
+                    distribution.offset(originOffset.x, originOffset.y, originOffset.z), material.mass());
+        }
         if (material.levitationAccel() > 0.0f) {
             engine.activateBody(structure.getBodyId());
         }
@@ -904,6 +1521,47 @@ public class StructurePhysicsManager {
         });
     }
 
+    /**
+     * A detached part ready to become its own structure: its keys and blocks in the parent's
+     * frame, and its blocks, mesh and entity in its own, which starts at {@code min}.
+     */
+    private record DetachedPart(LongArrayList keys, Long2ObjectOpenHashMap<StructureBlockData> original,
+                                Long2ObjectOpenHashMap<StructureBlockData> blocks, LongOpenHashSet collidable,
+                                CollisionMesh mesh, PhysicsStructureEntity entity, BlockPos min, BlockPos size) {
+    }
+
+    /**
+     * Structure-local collision boxes; {@code massDistribution} is set only when the boxes
+     * cover just the surface of the collidable blocks.
+     */
+    record CollisionMesh(List<AABB> boxes, MassDistribution massDistribution) {
+        boolean isShell() {
+            return massDistribution != null;
+        }
+
+        /**
+         * The density-weighted distribution from {@code properties} if it covers every block,
+         * otherwise the uniform one of a shell mesh, moved by {@code offset}.
+         */
+        MassDistribution distributionAt(StructurePhysicsProperties properties, Vector3f offset) {
+            MassDistribution distribution = properties != null ? properties.massDistribution() : null;
+            if (distribution == null) {
+                distribution = massDistribution;
+            }
+            return distribution == null ? null : distribution.offset(offset.x, offset.y, offset.z);
+        }
+    }
+
+    /**
+     * Structures of one dimension, so per-tick work never filters the global map.
+     */
+    private static final class DimensionStructures {
+        private final Long2ObjectOpenHashMap<PhysicsStructure> structures = new Long2ObjectOpenHashMap<>();
+        private final Long2ObjectOpenHashMap<PhysicsStructure> levitating = new Long2ObjectOpenHashMap<>();
+        private final StructureRebuildScheduler rebuilds = new StructureRebuildScheduler();
+        private final Long2ObjectOpenHashMap<PhysicsStructure> splitChecks = new Long2ObjectOpenHashMap<>();
+    }
+
     private record LocalRayHit(BlockPos pos, Direction face) {
     }
 
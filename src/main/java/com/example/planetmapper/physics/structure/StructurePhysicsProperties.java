@@ -2,10 +2,20 @@ package com.example.planetmapper.physics.structure;
 
 import com.example.planetmapper.physics.BlockPhysicsProfile;
 import com.example.planetmapper.physics.BlockPhysicsProfiles;
+import com.example.planetmapper.physics.MassDistribution;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.block.state.BlockState;
 
+/**
+ * Running totals over a structure's blocks: mass, mass-weighted material averages and, for
+ * blocks added with a position, the first and second moments of mass in structure-local
+ * space. Every add or remove is O(1), so the center of mass and inertia never need a full pass.
+ */
 public final class StructurePhysicsProperties {
+    // A unit cube about its own center: (1 + 1) / 12 per axis.
+    private static final double CELL_INERTIA = 1.0 / 6.0;
+
     private double totalMass;
     private double sumFriction;
     private double sumRestitution;
@@ -13,6 +23,21 @@ public final class StructurePhysicsProperties {
     private double sumAngularDamping;
     private double sumLevitation;
     private int blockCount;
+    // Moments of block centers, weighted by mass.
+    private double momentX;
+    private double momentY;
+    private double momentZ;
+    private double momentXX;
+    private double momentYY;
+    private double momentZZ;
+    private double momentXY;
+    private double momentXZ;
+    private double momentYZ;
+    // Blocks added without a position; the moments are incomplete while any are present.
+    private int unplacedCount;
+    private MassDistribution cachedDistribution;
+    // Rebuilt lazily after the next add/remove; summaries are immutable so callers can share it.
+    private MaterialSummary cachedSummary;
 
     public static StructurePhysicsProperties fromBlocks(Long2ObjectOpenHashMap<StructureBlockData> blocks) {
         StructurePhysicsProperties props = new StructurePhysicsProperties();
@@ -22,18 +47,23 @@ public final class StructurePhysicsProperties {
         blocks.long2ObjectEntrySet().fastForEach(entry -> {
             StructureBlockData data = entry.getValue();
             if (data != null && data.state() != null && !data.state().isAir()) {
-                props.addState(data.state());
+                props.addState(data.state(), entry.getLongKey());
             }
         });
         return props;
     }
 
+    /**
+     * Counts the block's mass and materials but not its position, so {@link #massDistribution()}
+     * is unavailable until it is removed again.
+     */
     public void addState(BlockState state) {
         if (state == null || state.isAir()) {
             return;
         }
         BlockPhysicsProfile profile = BlockPhysicsProfiles.profileFor(state);
         addProfile(profile);
+        unplacedCount++;
     }
 
     public void removeState(BlockState state) {
@@ -42,6 +72,97 @@ public final class StructurePhysicsProperties {
         }
         BlockPhysicsProfile profile = BlockPhysicsProfiles.profileFor(state);
         removeProfile(profile);
+        unplacedCount = Math.max(0, unplacedCount - 1);
+    }
+
+    public void addState(BlockState state, long localKey) {
+        if (state == null || state.isAir()) {
+            return;
+        }
+        BlockPhysicsProfile profile = BlockPhysicsProfiles.profileFor(state);
+        addProfile(profile);
+        addMoments(Math.max(0.0f, profile.density()), localKey);
+    }
+
+    public void removeState(BlockState state, long localKey) {
+        if (state == null || state.isAir()) {
+            return;
+        }
+        BlockPhysicsProfile profile = BlockPhysicsProfiles.profileFor(state);
+        removeProfile(profile);
+        addMoments(-Math.max(0.0f, profile.density()), localKey);
+    }
+
+    /**
+     * Moves every counted position by (dx, dy, dz), matching {@link PhysicsStructure#shiftLocal}.
+     */
+    public void translate(int dx, int dy, int dz) {
+        if (dx == 0 && dy == 0 && dz == 0) {
+            return;
+        }
+        double mass = totalMass;
+        // Sum m(a + da)(b + db) = Sum mab + db Sum ma + da Sum mb + da db Sum m; update the
+        // second moments first so they still see the unshifted first moments.
+        momentXX += 2.0 * dx * momentX + (double) dx * dx * mass;
+        momentYY += 2.0 * dy * momentY + (double) dy * dy * mass;
+        momentZZ += 2.0 * dz * momentZ + (double) dz * dz * mass;
+        momentXY += dy * momentX + dx * momentY + (double) dx * dy * mass;
+        momentXZ += dz * momentX + dx * momentZ + (double) dx * dz * mass;
+        momentYZ += dz * momentY + dy * momentZ + (double) dy * dz * mass;
+        momentX += dx * mass;
+        momentY += dy * mass;
+        momentZ += dz * mass;
+        cachedDistribution = null;
+    }
+
+    /**
+     * Density-weighted center of mass and inertia per unit mass in structure-local space, or
+     * null if the structure has no mass or some blocks were added without a position.
+     */
+    public MassDistribution massDistribution() {
+        MassDistribution distribution = cachedDistribution;
+        if (distribution == null) {
+            distribution = computeDistribution();
+            cachedDistribution = distribution;
+        }
+        return distribution;
+    }
+
+    private MassDistribution computeDistribution() {
+        if (unplacedCount > 0 || totalMass <= 1.0E-6) {
+            return null;
+        }
+        double cx = momentX / totalMass;
+        double cy = momentY / totalMass;
+        double cz = momentZ / totalMass;
+        // Central second moments via E[ab] - E[a]E[b].
+        double mxx = momentXX / totalMass - cx * cx;
+        double myy = momentYY / totalMass - cy * cy;
+        double mzz = momentZZ / totalMass - cz * cz;
+        double mxy = momentXY / totalMass - cx * cy;
+        double mxz = momentXZ / totalMass - cx * cz;
+        double myz = momentYZ / totalMass - cy * cz;
+        return new MassDistribution(blockCount, cx, cy, cz,
+                myy + mzz + CELL_INERTIA, mxx + mzz + CELL_INERTIA, mxx + myy + CELL_INERTIA,
+                -mxy, -mxz, -myz);
+    }
+
+    private void addMoments(double mass, long localKey) {
+        if (mass == 0.0) {
+            return;
+        }
+        double x = BlockPos.getX(localKey) + 0.5;
+        double y = BlockPos.getY(localKey) + 0.5;
+        double z = BlockPos.getZ(localKey) + 0.5;
+        momentX += mass * x;
+        momentY += mass * y;
+        momentZ += mass * z;
+        momentXX += mass * x * x;
+        momentYY += mass * y * y;
+        momentZZ += mass * z * z;
+        momentXY += mass * x * y;
+        momentXZ += mass * x * z;
+        momentYZ += mass * y * z;
     }
 
     private void addProfile(BlockPhysicsProfile profile) {
@@ -53,6 +174,8 @@ public final class StructurePhysicsProperties {
         sumAngularDamping += profile.angularDamping() * mass;
         sumLevitation += profile.levitationAccel() * mass;
         blockCount++;
+        cachedSummary = null;
+        cachedDistribution = null;
     }
 
     private void removeProfile(BlockPhysicsProfile profile) {
@@ -64,9 +187,20 @@ public final class StructurePhysicsProperties {
         sumAngularDamping = Math.max(0.0, sumAngularDamping - profile.angularDamping() * mass);
         sumLevitation = Math.max(0.0, sumLevitation - profile.levitationAccel() * mass);
         blockCount = Math.max(0, blockCount - 1);
+        cachedSummary = null;
+        cachedDistribution = null;
     }
 
     public MaterialSummary snapshot() {
+        MaterialSummary summary = cachedSummary;
+        if (summary == null) {
+            summary = computeSummary();
+            cachedSummary = summary;
+        }
+        return summary;
+    }
+
+    private MaterialSummary computeSummary() {
         if (totalMass <= 1.0E-6) {
             BlockPhysicsProfile defaults = BlockPhysicsProfiles.DEFAULT;
             return new MaterialSummary(0.0f,
@@ -97,5 +231,8 @@ public final class StructurePhysicsProperties {
                                   float angularDamping,
                                   float levitationAccel,
                                   int blockCount) {
+        public boolean isLevitating() {
+            return mass > 0.0f && levitationAccel > 0.0f;
+        }
     }
 }
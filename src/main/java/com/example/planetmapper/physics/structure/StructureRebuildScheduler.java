@@ -0,0 +1,108 @@
+package com.example.planetmapper.physics.structure;
+
+import com.example.planetmapper.Config;
+import com.example.planetmapper.physics.NativePhysicsEngine;
+import com.example.planetmapper.physics.PhysicsColliderManager;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import org.joml.Vector3f;
+
+import java.util.List;
+
+/**
+ * Decides when dirty structures of one dimension get their full collision rebuild.
+ * A structure waits until edits have been quiet for a while, or until it has been dirty
+ * for the maximum latency, both counted in game ticks. Ready structures start in priority
+ * order into whatever slots are left under the global cap on concurrent rebuilds.
+ */
+final class StructureRebuildScheduler {
+    // Bodies further than this from every player sort as if they were exactly this far.
+    private static final double FAR_DISTANCE = 512.0;
+
+    private final Long2ObjectOpenHashMap<PhysicsStructure> pending = new Long2ObjectOpenHashMap<>();
+    private final ObjectArrayList<Candidate> candidates = new ObjectArrayList<>();
+
+    void add(PhysicsStructure structure) {
+        pending.put(structure.getBodyId(), structure);
+    }
+
+    void remove(PhysicsStructure structure) {
+        pending.remove(structure.getBodyId(), structure);
+    }
+
+    /**
+     * Removes and returns up to {@code slots} structures that should start rebuilding this tick,
+     * most urgent first. Overdue structures come first, then those closest to a player, scaled
+     * down by how fast the body moves.
+     */
+    List<PhysicsStructure> pollReady(ServerLevel level, NativePhysicsEngine engine, int slots) {
+        if (pending.isEmpty() || slots <= 0) {
+            return List.of();
+        }
+        long now = level.getGameTime();
+        int quietTicks = Config.PHYSICS_REBUILD_QUIET_TICKS.get();
+        int maxLatencyTicks = Config.PHYSICS_REBUILD_MAX_LATENCY_TICKS.get();
+
+        candidates.clear();
+        var iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            PhysicsStructure structure = iterator.next();
+            if (!structure.isDirty()) {
+                iterator.remove();
+                continue;
+            }
+            if (structure.isFrozen()) {
+                // Rebuilt once it thaws; the native shape is not in use meanwhile.
+                continue;
+            }
+            if (structure.isRebuildRunning()) {
+                // Stays pending; it becomes ready again once the running rebuild lands.
+                continue;
+            }
+            boolean overdue = now - structure.getDirtySinceTick() >= maxLatencyTicks;
+            if (!overdue && now - structure.getLastEditTick() < quietTicks) {
+                continue;
+            }
+            candidates.add(new Candidate(structure, overdue, score(level, engine, structure)));
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        candidates.sort((a, b) -> a.overdue != b.overdue
+                ? (a.overdue ? -1 : 1)
+                : Double.compare(a.score, b.score));
+        int count = Math.min(slots, candidates.size());
+        List<PhysicsStructure> ready = new ObjectArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PhysicsStructure structure = candidates.get(i).structure;
+            pending.remove(structure.getBodyId());
+            ready.add(structure);
+        }
+        candidates.clear();
+        return ready;
+    }
+
+    private static double score(ServerLevel level, NativePhysicsEngine engine, PhysicsStructure structure) {
+        double distance = FAR_DISTANCE;
+        Vector3f center = PhysicsColliderManager.getBodyCenter(structure.getBodyId());
+        if (center != null) {
+            for (ServerPlayer player : level.players()) {
+                double dx = player.getX() - center.x;
+                double dy = player.getY() - center.y;
+                double dz = player.getZ() - center.z;
+                distance = Math.min(distance, Math.sqrt(dx * dx + dy * dy + dz * dz));
+            }
+        }
+        float[] state = structure.getStateBuffer();
+        engine.getBodyState(structure.getBodyId(), state);
+        double speed = Math.sqrt(state[7] * state[7] + state[8] * state[8] + state[9] * state[9])
+                + Math.sqrt(state[10] * state[10] + state[11] * state[11] + state[12] * state[12]);
+        return distance / (1.0 + speed);
+    }
+
+    private record Candidate(PhysicsStructure structure, boolean overdue, double score) {
+    }
+}
@@ -1,19 +1,19 @@
 package com.example.planetmapper.physics.structure;
 
+import com.example.planetmapper.Config;
 import com.example.planetmapper.entity.PhysicsStructureEntity;
+import com.example.planetmapper.physics.DecompositionStrategy;
 import com.example.planetmapper.physics.NativePhysicsEngine;
 import com.example.planetmapper.physics.PhysicsColliderManager;
 import com.example.planetmapper.physics.PhysicsWorldManager;
-import com.example.planetmapper.physics.VoxelShapeOptimizer;
 import com.example.planetmapper.physics.WorldCollisionManager;
+import com.example.planetmapper.util.SectionBlockWriter;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.ChunkPos;
-import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
@@ -72,6 +72,7 @@ public final class WorldStructureSpawner {
         Map<BlockPos, BlockState> renderBlocks = new HashMap<>();
         Map<BlockPos, net.minecraft.nbt.CompoundTag> renderBlockEntities = new HashMap<>();
 
+        SectionBlockWriter remover = new SectionBlockWriter(level);
         iterator = positions.iterator();
         while (iterator.hasNext()) {
             long key = iterator.nextLong();
@@ -85,7 +86,7 @@ public final class WorldStructureSpawner {
             }
 
             boolean collidableBlock = !state.getCollisionShape(level, worldPos).isEmpty();
-            BlockEntity blockEntity = level.getBlockEntity(worldPos);
+            BlockEntity blockEntity = state.hasBlockEntity() ? level.getBlockEntity(worldPos) : null;
             net.minecraft.nbt.CompoundTag blockEntityTag = blockEntity != null ? blockEntity.saveWithId(level.registryAccess()) : null;
 
             int lx = wx - minX;
@@ -104,15 +105,20 @@ public final class WorldStructureSpawner {
                 renderBlockEntities.put(localPos, blockEntityTag);
             }
 
-            level.setBlock(worldPos, Blocks.AIR.defaultBlockState(), Block.UPDATE_CLIENTS | Block.UPDATE_SUPPRESS_DROPS);
-            WorldCollisionManager.markChunkDirtyNow(level, new ChunkPos(worldPos));
+            remover.remove(worldPos);
+        }
+        LongIterator chunks = remover.flush().iterator();
+        while (chunks.hasNext()) {
+            WorldCollisionManager.markChunkDirtyNow(level, new ChunkPos(chunks.nextLong()));
         }
 
         if (blocks.isEmpty() || collidable.isEmpty()) {
             return false;
         }
 
-        List<AABB> localBoxes = VoxelShapeOptimizer.optimizeLongSet(collidable);
+        StructurePhysicsManager.CollisionMesh mesh = StructurePhysicsManager.meshCollidable(collidable,
+                Config.PHYSICS_SHELL_DEPTH.get(), DecompositionStrategy.GREEDY);
+        List<AABB> localBoxes = mesh.boxes();
         Vector3f worldOrigin = new Vector3f(minX, minY, minZ);
         List<AABB> worldBoxes = offsetBoxes(localBoxes, worldOrigin);
         if (worldBoxes.isEmpty()) {
@@ -126,7 +132,7 @@ public final class WorldStructureSpawner {
 
         StructurePhysicsProperties physicsProperties = StructurePhysicsProperties.fromBlocks(blocks);
         StructurePhysicsProperties.MaterialSummary material = physicsProperties.snapshot();
-        long bodyId = engine.createRigidBody(worldBoxes, material);
+        long bodyId = engine.createRigidBody(worldBoxes, material, mesh.distributionAt(physicsProperties, worldOrigin));
         if (bodyId <= 0) {
             return false;
         }
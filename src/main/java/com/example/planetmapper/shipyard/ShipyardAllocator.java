@@ -0,0 +1,238 @@
+package com.example.planetmapper.shipyard;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Chunk-aligned placement for shipyard regions. Every region reserves the chunk columns under
+ * its bounds plus padding. A new region goes into the best-fitting freed rectangle, otherwise
+ * bottom-left onto a skyline over a fixed-width strip, so space from removed regions is reused
+ * before the shipyard grows. Freed rectangles may go stale or overlap; a candidate is checked
+ * against the reservations before it is used.
+ */
+final class ShipyardAllocator {
+    static final int WIDTH_CHUNKS = 256;
+
+    // Chunk key -> number of regions reserving it; expansion can make neighbours overlap.
+    private final Long2IntOpenHashMap reserved = new Long2IntOpenHashMap();
+    // Per column: the first chunk z above every reservation.
+    private final int[] skyline = new int[WIDTH_CHUNKS];
+    private final List<Rect> free = new ArrayList<>();
+
+    /**
+     * Best position for a {@code width} x {@code depth} chunk footprint, without claiming it.
+     */
+    Rect find(int width, int depth) {
+        Rect best = null;
+        long bestArea = Long.MAX_VALUE;
+        for (Rect rect : free) {
+            if (rect.width < width || rect.depth < depth) {
+                continue;
+            }
+            long area = (long) rect.width * rect.depth;
+            if (area < bestArea && isFree(rect.x, rect.z, width, depth)) {
+                best = new Rect(rect.x, rect.z, width, depth);
+                bestArea = area;
+            }
+        }
+        return best != null ? best : onSkyline(width, depth);
+    }
+
+    /**
+     * Reserves a position returned by {@link #find}, splitting the freed rectangle it came from.
+     */
+    void claim(Rect placed) {
+        for (int i = 0; i < free.size(); i++) {
+            Rect rect = free.get(i);
+            if (rect.x != placed.x || rect.z != placed.z || rect.width < placed.width || rect.depth < placed.depth) {
+                continue;
+            }
+            free.remove(i);
+            // Guillotine split along the longer leftover so the larger remainder stays whole.
+            int restX = rect.width - placed.width;
+            int restZ = rect.depth - placed.depth;
+            if (restX > restZ) {
+                addFree(new Rect(rect.x + placed.width, rect.z, restX, rect.depth));
+                addFree(new Rect(rect.x, rect.z + placed.depth, placed.width, restZ));
+            } else {
+                addFree(new Rect(rect.x + placed.width, rect.z, restX, placed.depth));
+                addFree(new Rect(rect.x, rect.z + placed.depth, rect.width, restZ));
+            }
+            break;
+        }
+        reserve(placed);
+    }
+
+    /**
+     * Counts {@code footprint} as held without touching the free list, e.g. for loaded regions.
+     */
+    void reserve(Rect footprint) {
+        for (int cx = footprint.x; cx < footprint.x + footprint.width; cx++) {
+            for (int cz = footprint.z; cz < footprint.z + footprint.depth; cz++) {
+                reserved.addTo(ChunkPos.asLong(cx, cz), 1);
+            }
+            if (cx >= 0 && cx < WIDTH_CHUNKS) {
+                skyline[cx] = Math.max(skyline[cx], footprint.z + footprint.depth);
+            }
+        }
+    }
+
+    void release(Rect footprint) {
+        for (int cx = footprint.x; cx < footprint.x + footprint.width; cx++) {
+            for (int cz = footprint.z; cz < footprint.z + footprint.depth; cz++) {
+                long key = ChunkPos.asLong(cx, cz);
+                if (reserved.addTo(key, -1) <= 1) {
+                    reserved.remove(key);
+                }
+            }
+        }
+        // Columns whose top was freed drop back to their highest remaining reservation.
+        for (int cx = Math.max(0, footprint.x); cx < Math.min(WIDTH_CHUNKS, footprint.x + footprint.width); cx++) {
+            while (skyline[cx] > 0 && !reserved.containsKey(ChunkPos.asLong(cx, skyline[cx] - 1))) {
+                skyline[cx]--;
+            }
+        }
+        addFree(footprint);
+        free.removeIf(this::isAboveSkyline);
+    }
+
+    void clear() {
+        reserved.clear();
+        Arrays.fill(skyline, 0);
+        free.clear();
+    }
+
+    /**
+     * Skyline followed by the freed rectangles as x, z, width, depth quadruples.
+     */
+    int[] save() {
+        IntArrayList packed = new IntArrayList(WIDTH_CHUNKS + free.size() * 4);
+        packed.addElements(0, skyline);
+        for (Rect rect : free) {
+            packed.add(rect.x);
+            packed.add(rect.z);
+            packed.add(rect.width);
+            packed.add(rect.depth);
+        }
+        return packed.toIntArray();
+    }
+
+    /**
+     * Restores what {@link #save} wrote on top of the current reservations. The skyline only
+     * rises, so it still covers every reservation.
+     */
+    void load(int[] packed) {
+        if (packed == null || packed.length < WIDTH_CHUNKS) {
+            return;
+        }
+        for (int cx = 0; cx < WIDTH_CHUNKS; cx++) {
+            skyline[cx] = Math.max(skyline[cx], packed[cx]);
+        }
+        for (int i = WIDTH_CHUNKS; i + 3 < packed.length; i += 4) {
+            addFree(new Rect(packed[i], packed[i + 1], packed[i + 2], packed[i + 3]));
+        }
+    }
+
+    /**
+     * Chunk columns covering the given block bounds plus {@code padding} on every side.
+     */
+    static Rect footprint(int minX, int minZ, int sizeX, int sizeZ, int padding) {
+        int minCX = Math.floorDiv(minX - padding, 16);
+        int minCZ = Math.floorDiv(minZ - padding, 16);
+        int maxCX = Math.floorDiv(minX + sizeX - 1 + padding, 16);
+        int maxCZ = Math.floorDiv(minZ + sizeZ - 1 + padding, 16);
+        return new Rect(minCX, minCZ, maxCX - minCX + 1, maxCZ - minCZ + 1);
+    }
+
+    private Rect onSkyline(int width, int depth) {
+        if (width >= WIDTH_CHUNKS) {
+            int top = 0;
+            for (int height : skyline) {
+                top = Math.max(top, height);
+            }
+            return new Rect(0, top, width, depth);
+        }
+        int bestX = 0;
+        int bestZ = Integer.MAX_VALUE;
+        for (int x = 0; x + width <= WIDTH_CHUNKS; x++) {
+            int z = 0;
+            for (int cx = x; cx < x + width; cx++) {
+                z = Math.max(z, skyline[cx]);
+            }
+            if (z < bestZ) {
+                bestZ = z;
+                bestX = x;
+            }
+        }
+        return new Rect(bestX, bestZ, width, depth);
+    }
+
+    private boolean isFree(int x, int z, int width, int depth) {
+        for (int cx = x; cx < x + width; cx++) {
+            for (int cz = z; cz < z + depth; cz++) {
+                if (reserved.containsKey(ChunkPos.asLong(cx, cz))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isAboveSkyline(Rect rect) {
+        for (int cx = Math.max(0, rect.x); cx < Math.min(WIDTH_CHUNKS, rect.x + rect.width); cx++) {
+            if (rect.z < skyline[cx]) {
+                return false;
+            }
+        }
+        return rect.x >= 0 && rect.x + rect.width <= WIDTH_CHUNKS;
+    }
+
+    /**
+     * Adds a freed rectangle, merging it with neighbours that share a full edge.
+     */
+    private void addFree(Rect rect) {
+        if (rect.width <= 0 || rect.depth <= 0) {
+            return;
+        }
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < free.size(); i++) {
+                Rect other = free.get(i);
+                Rect joined = join(rect, other);
+                if (joined != null) {
+                    free.remove(i);
+                    rect = joined;
+                    merged = true;
+                    break;
+                }
+            }
+        }
+        free.add(rect);
+    }
+
+    private static Rect join(Rect a, Rect b) {
+        if (a.x == b.x && a.width == b.width) {
+            if (a.z + a.depth == b.z || b.z + b.depth == a.z) {
+                return new Rect(a.x, Math.min(a.z, b.z), a.width, a.depth + b.depth);
+            }
+        }
+        if (a.z == b.z && a.depth == b.depth) {
+            if (a.x + a.width == b.x || b.x + b.width == a.x) {
+                return new Rect(Math.min(a.x, b.x), a.z, a.width + b.width, a.depth);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rectangle of chunk columns: {@code width} along x and {@code depth} along z from (x, z).
+     */
+    record Rect(int x, int z, int width, int depth) {
+    }
+}
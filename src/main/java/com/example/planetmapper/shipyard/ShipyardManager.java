@@ -1,37 +1,57 @@
 package com.example.planetmapper.shipyard;
 
+import com.example.planetmapper.Config;
 import com.example.planetmapper.PlanetMapper;
 import com.example.planetmapper.physics.structure.StructureBlockData;
 import com.example.planetmapper.physics.structure.StructurePhysicsManager;
+import com.example.planetmapper.util.SectionBlockWriter;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.level.ThreadedLevelLightEngine;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.levelgen.Heightmap;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 public final class ShipyardManager {
     private static final int BASE_Y = 64;
     private static final int PADDING = 4;
-    private static final int MAX_ROW_WIDTH = 4096;
     private static final int UPDATES_PER_TICK = 2000;
+    private static final int CLEAR_SECTIONS_PER_TICK = 64;
 
     private static final Map<UUID, ShipyardRegion> REGIONS_BY_OWNER = new HashMap<>();
     private static final Long2ObjectOpenHashMap<ShipyardRegion> REGIONS_BY_BODY = new Long2ObjectOpenHashMap<>();
+    // Chunk key -> regions overlapping that chunk column. Only touched on the server thread,
+    // which is where every region change and block change lookup happens.
+    private static final Long2ObjectOpenHashMap<ObjectArrayList<ShipyardRegion>> REGIONS_BY_CHUNK = new Long2ObjectOpenHashMap<>();
     private static final ArrayDeque<PendingUpdate> PENDING_UPDATES = new ArrayDeque<>();
-    private static int nextX = 0;
-    private static int nextZ = 0;
-    private static int rowDepth = 0;
+    private static final ArrayDeque<PendingClear> PENDING_CLEARS = new ArrayDeque<>();
+    // Only touched on the server thread, like the chunk index.
+    private static final ShipyardAllocator ALLOCATOR = new ShipyardAllocator();
     private static boolean loaded = false;
     private static final ThreadLocal<Boolean> SUPPRESS_UPDATES = ThreadLocal.withInitial(() -> Boolean.FALSE);
 
@@ -121,12 +141,16 @@ public final class ShipyardManager {
         ChunkPos newMin = new ChunkPos(newOrigin);
         ChunkPos newMaxChunk = new ChunkPos(newMax);
 
+        indexChunks(region, false);
+        ALLOCATOR.release(footprint(region));
         region.origin = newOrigin;
         region.sizeX = newSizeX;
         region.sizeY = newSizeY;
         region.sizeZ = newSizeZ;
         region.minChunk = newMin;
         region.maxChunk = newMaxChunk;
+        indexChunks(region, true);
+        ALLOCATOR.reserve(footprint(region));
 
         if (shipyard != null) {
             for (int cx = oldMin.x; cx <= oldMax.x; cx++) {
@@ -141,6 +165,7 @@ public final class ShipyardManager {
             }
             ShipyardSavedData data = ShipyardSavedData.get(shipyard);
             data.putRegion(region.ownerId, new ShipyardSavedData.RegionData(newOrigin, newSizeX, newSizeY, newSizeZ));
+            data.putAllocator(ALLOCATOR.save());
         }
 
         return new ExpansionResult(shift, region);
@@ -150,21 +175,24 @@ public final class ShipyardManager {
         if (worldPos == null) {
             return null;
         }
-        synchronized (REGIONS_BY_OWNER) {
-            for (ShipyardRegion region : REGIONS_BY_OWNER.values()) {
-                BlockPos origin = region.origin();
-                if (worldPos.getX() < origin.getX()
-                        || worldPos.getY() < origin.getY()
-                        || worldPos.getZ() < origin.getZ()) {
-                    continue;
-                }
-                if (worldPos.getX() > origin.getX() + region.sizeX() - 1
-                        || worldPos.getY() > origin.getY() + region.sizeY() - 1
-                        || worldPos.getZ() > origin.getZ() + region.sizeZ() - 1) {
-                    continue;
-                }
-                return region;
+        ObjectArrayList<ShipyardRegion> candidates = REGIONS_BY_CHUNK.get(ChunkPos.asLong(worldPos.getX() >> 4, worldPos.getZ() >> 4));
+        if (candidates == null) {
+            return null;
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            ShipyardRegion region = candidates.get(i);
+            BlockPos origin = region.origin();
+            if (worldPos.getX() < origin.getX()
+                    || worldPos.getY() < origin.getY()
+                    || worldPos.getZ() < origin.getZ()) {
+                continue;
             }
+            if (worldPos.getX() > origin.getX() + region.sizeX() - 1
+                    || worldPos.getY() > origin.getY() + region.sizeY() - 1
+                    || worldPos.getZ() > origin.getZ() + region.sizeZ() - 1) {
+                continue;
+            }
+            return region;
         }
         return null;
     }
@@ -211,32 +239,30 @@ public final class ShipyardManager {
         }
     }
 
+    /**
+     * Writes the blocks straight into section storage; block entities are loaded from their
+     * tags. Neighbours are not notified, see {@link #queueNeighborUpdates}.
+     */
     public static void placeBlocks(ServerLevel shipyard, ShipyardRegion region, Long2ObjectOpenHashMap<StructureBlockData> blocks) {
         if (shipyard == null || region == null || blocks == null || blocks.isEmpty()) {
             return;
         }
-        runWithSuppressedUpdates(() -> {
-            int flags = Block.UPDATE_NONE | Block.UPDATE_SUPPRESS_DROPS;
-            BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
-            for (Long2ObjectMap.Entry<StructureBlockData> entry : blocks.long2ObjectEntrySet()) {
-                StructureBlockData data = entry.getValue();
-                if (data == null) {
-                    continue;
-                }
-                BlockPos local = BlockPos.of(entry.getLongKey());
-                cursor.set(region.origin().getX() + local.getX(),
-                        region.origin().getY() + local.getY(),
-                        region.origin().getZ() + local.getZ());
-                BlockState state = data.state();
-                shipyard.setBlock(cursor, state, flags);
-                if (data.blockEntityTag() != null && !data.blockEntityTag().isEmpty()) {
-                    BlockEntity blockEntity = BlockEntity.loadStatic(cursor, state, data.blockEntityTag(), shipyard.registryAccess());
-                    if (blockEntity != null) {
-                        shipyard.setBlockEntity(blockEntity);
-                    }
-                }
+        ensureRegionChunksLoaded(shipyard, region);
+        SectionBlockWriter writer = new SectionBlockWriter(shipyard);
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        for (Long2ObjectMap.Entry<StructureBlockData> entry : blocks.long2ObjectEntrySet()) {
+            StructureBlockData data = entry.getValue();
+            if (data == null) {
+                continue;
             }
-        });
+            long key = entry.getLongKey();
+            cursor.set(region.origin().getX() + BlockPos.getX(key),
+                    region.origin().getY() + BlockPos.getY(key),
+                    region.origin().getZ() + BlockPos.getZ(key));
+            writer.set(cursor, data.state(), data.blockEntityTag());
+        }
+        // Shape updates at the surface may still reach Level.setBlock on neighbours.
+        runWithSuppressedUpdates(writer::flush);
     }
 
     public static void queueNeighborUpdates(ShipyardRegion region, Long2ObjectOpenHashMap<StructureBlockData> blocks) {
@@ -258,24 +284,25 @@ public final class ShipyardManager {
         }
     }
 
-    public static void clearRegion(ServerLevel shipyard, ShipyardRegion region) {
-        if (shipyard == null || region == null) {
+    /**
+     * Clears the given region-local positions without reporting the change to the owning
+     * structure. Block entities are dropped without spilling their contents.
+     */
+    public static void clearBlocks(ServerLevel shipyard, ShipyardRegion region, LongArrayList localKeys) {
+        if (shipyard == null || region == null || localKeys == null || localKeys.isEmpty()) {
             return;
         }
-        runWithSuppressedUpdates(() -> {
-            BlockPos min = region.origin();
-            BlockPos max = region.getMax();
-            int flags = Block.UPDATE_NONE | Block.UPDATE_SUPPRESS_DROPS;
-            BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
-            for (int x = min.getX(); x <= max.getX(); x++) {
-                for (int y = min.getY(); y <= max.getY(); y++) {
-                    for (int z = min.getZ(); z <= max.getZ(); z++) {
-                        cursor.set(x, y, z);
-                        shipyard.setBlock(cursor, net.minecraft.world.level.block.Blocks.AIR.defaultBlockState(), flags);
-                    }
-                }
-            }
-        });
+        SectionBlockWriter writer = new SectionBlockWriter(shipyard);
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        LongIterator iterator = localKeys.iterator();
+        while (iterator.hasNext()) {
+            long key = iterator.nextLong();
+            cursor.set(region.origin().getX() + BlockPos.getX(key),
+                    region.origin().getY() + BlockPos.getY(key),
+                    region.origin().getZ() + BlockPos.getZ(key));
+            writer.remove(cursor);
+        }
+        runWithSuppressedUpdates(writer::flush);
     }
 
     public static void removeRegion(ServerLevel shipyard, long bodyId) {
@@ -289,12 +316,8 @@ public final class ShipyardManager {
         synchronized (REGIONS_BY_OWNER) {
             REGIONS_BY_OWNER.remove(region.ownerId);
         }
-        clearRegion(shipyard, region);
-        forceChunks(shipyard, region, false);
-        if (shipyard != null) {
-            ShipyardSavedData data = ShipyardSavedData.get(shipyard);
-            data.removeRegion(region.ownerId);
-        }
+        indexChunks(region, false);
+        retireRegion(shipyard, region);
     }
 
     public static void removeRegionByOwner(ServerLevel shipyard, UUID ownerId) {
@@ -313,12 +336,26 @@ public final class ShipyardManager {
                 REGIONS_BY_BODY.remove(region.bodyId);
             }
         }
-        clearRegion(shipyard, region);
-        forceChunks(shipyard, region, false);
-        if (shipyard != null) {
-            ShipyardSavedData data = ShipyardSavedData.get(shipyard);
-            data.removeRegion(ownerId);
+        indexChunks(region, false);
+        retireRegion(shipyard, region);
+    }
+
+    /**
+     * Queues a removed region's blocks for clearing. Its chunks stay forced and its footprint
+     * reserved until the clear finishes, so nothing new is placed over blocks still being cleared.
+     * The clear is saved with the shipyard and picked up again after a restart.
+     */
+    private static void retireRegion(ServerLevel shipyard, ShipyardRegion region) {
+        if (shipyard == null) {
+            ALLOCATOR.release(footprint(region));
+            return;
         }
+        ShipyardSavedData.RegionData bounds = new ShipyardSavedData.RegionData(region.origin, region.sizeX, region.sizeY, region.sizeZ);
+        ShipyardSavedData data = ShipyardSavedData.get(shipyard);
+        data.removeRegion(region.ownerId);
+        data.addClearing(bounds);
+        data.putAllocator(ALLOCATOR.save());
+        PENDING_CLEARS.add(new PendingClear(bounds, footprint(region)));
     }
 
     public static void handleBlockChange(ServerLevel shipyard, BlockPos pos, BlockState newState) {
@@ -364,11 +401,23 @@ public final class ShipyardManager {
         forceChunks(shipyard, region, true);
     }
 
+    /**
+     * Forces or releases the region's chunks, e.g. while its structure is frozen.
+     */
+    public static void setRegionForced(ServerLevel shipyard, ShipyardRegion region, boolean forced) {
+        forceChunks(shipyard, region, forced);
+    }
+
     public static void tick(ServerLevel shipyard) {
         if (shipyard == null || !isShipyardLevel(shipyard)) {
             return;
         }
         ensureLoaded(shipyard);
+        int compactionInterval = Config.SHIPYARD_COMPACTION_INTERVAL_TICKS.get();
+        if (compactionInterval > 0 && shipyard.getGameTime() % compactionInterval == 0) {
+            compact(shipyard);
+        }
+        processClears(shipyard, CLEAR_SECTIONS_PER_TICK);
         int budget = UPDATES_PER_TICK;
         while (budget > 0) {
             PendingUpdate task;
@@ -409,6 +458,15 @@ public final class ShipyardManager {
         }
     }
 
+    /**
+     * Runs every queued region clear to the end, e.g. before the server stops.
+     */
+    public static void finishPendingClears(ServerLevel shipyard) {
+        if (shipyard != null) {
+            processClears(shipyard, Integer.MAX_VALUE);
+        }
+    }
+
     public static void reset() {
         synchronized (REGIONS_BY_OWNER) {
             REGIONS_BY_OWNER.clear();
@@ -416,13 +474,203 @@ public final class ShipyardManager {
         synchronized (REGIONS_BY_BODY) {
             REGIONS_BY_BODY.clear();
         }
+        REGIONS_BY_CHUNK.clear();
+        ALLOCATOR.clear();
         synchronized (PENDING_UPDATES) {
             PENDING_UPDATES.clear();
         }
+        PENDING_CLEARS.clear();
         loaded = false;
-        nextX = 0;
-        nextZ = 0;
-        rowDepth = 0;
+    }
+
+    /**
+     * Moves one region into freed space closer in, trying the regions reaching furthest out
+     * first, so the skyline can drop. Only regions without a live structure move: nothing reads
+     * their blocks until the structure entity loads again and restores from wherever the region
+     * is then. A region keeps its last body id after the body goes, so the id alone is no test.
+     */
+    private static void compact(ServerLevel shipyard) {
+        List<ShipyardRegion> candidates = new ArrayList<>();
+        synchronized (REGIONS_BY_OWNER) {
+            for (ShipyardRegion region : REGIONS_BY_OWNER.values()) {
+                if (StructurePhysicsManager.getStructure(region.bodyId) == null && !hasPendingUpdates(region.ownerId)) {
+                    candidates.add(region);
+                }
+            }
+        }
+        candidates.sort((a, b) -> Integer.compare(footprintTop(b), footprintTop(a)));
+        for (ShipyardRegion candidate : candidates) {
+            ShipyardAllocator.Rect target = ALLOCATOR.find(chunksFor(candidate.sizeX), chunksFor(candidate.sizeZ));
+            if (target.z() + target.depth() < footprintTop(candidate)
+                    && relocate(shipyard, candidate, footprint(candidate), target)) {
+                return;
+            }
+        }
+    }
+
+    private static int footprintTop(ShipyardRegion region) {
+        ShipyardAllocator.Rect footprint = footprint(region);
+        return footprint.z() + footprint.depth();
+    }
+
+    private static boolean relocate(ServerLevel shipyard, ShipyardRegion region, ShipyardAllocator.Rect from, ShipyardAllocator.Rect to) {
+        BlockPos oldOrigin = region.origin;
+        BlockPos newOrigin = new BlockPos((to.x() << 4) + PADDING, oldOrigin.getY(), (to.z() << 4) + PADDING);
+        int dx = newOrigin.getX() - oldOrigin.getX();
+        int dz = newOrigin.getZ() - oldOrigin.getZ();
+        if (!ensureRegionChunksLoaded(shipyard, region)) {
+            return false;
+        }
+        for (int cx = to.x(); cx < to.x() + to.width(); cx++) {
+            for (int cz = to.z(); cz < to.z() + to.depth(); cz++) {
+                shipyard.getChunk(cx, cz);
+            }
+        }
+        ALLOCATOR.claim(to);
+
+        // The two footprints are disjoint, so one writer can empty the old cells and fill the new ones.
+        SectionBlockWriter writer = new SectionBlockWriter(shipyard);
+        BlockPos max = region.getMax();
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        BlockPos.MutableBlockPos target = new BlockPos.MutableBlockPos();
+        for (int cx = region.minChunk.x; cx <= region.maxChunk.x; cx++) {
+            for (int cz = region.minChunk.z; cz <= region.maxChunk.z; cz++) {
+                LevelChunk chunk = shipyard.getChunk(cx, cz);
+                for (int sy = oldOrigin.getY() >> 4; sy <= max.getY() >> 4; sy++) {
+                    int index = chunk.getSectionIndexFromSectionY(sy);
+                    if (index < 0 || index >= chunk.getSectionsCount() || chunk.getSection(index).hasOnlyAir()) {
+                        continue;
+                    }
+                    LevelChunkSection section = chunk.getSection(index);
+                    int x0 = Math.max(oldOrigin.getX(), cx << 4);
+                    int x1 = Math.min(max.getX(), (cx << 4) + 15);
+                    int y0 = Math.max(oldOrigin.getY(), sy << 4);
+                    int y1 = Math.min(max.getY(), (sy << 4) + 15);
+                    int z0 = Math.max(oldOrigin.getZ(), cz << 4);
+                    int z1 = Math.min(max.getZ(), (cz << 4) + 15);
+                    for (int y = y0; y <= y1; y++) {
+                        for (int z = z0; z <= z1; z++) {
+                            for (int x = x0; x <= x1; x++) {
+                                BlockState state = section.getBlockState(x & 15, y & 15, z & 15);
+                                if (state.isAir()) {
+                                    continue;
+                                }
+                                cursor.set(x, y, z);
+                                BlockEntity blockEntity = state.hasBlockEntity() ? chunk.getBlockEntity(cursor) : null;
+                                net.minecraft.nbt.CompoundTag tag = blockEntity != null ? blockEntity.saveWithId(shipyard.registryAccess()) : null;
+                                writer.set(target.set(x + dx, y, z + dz), state, tag);
+                                writer.remove(cursor);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        runWithSuppressedUpdates(writer::flush);
+
+        indexChunks(region, false);
+        forceChunks(shipyard, region, false);
+        region.origin = newOrigin;
+        region.minChunk = new ChunkPos(newOrigin);
+        region.maxChunk = new ChunkPos(region.getMax());
+        indexChunks(region, true);
+        ALLOCATOR.release(from);
+
+        ShipyardSavedData data = ShipyardSavedData.get(shipyard);
+        data.putRegion(region.ownerId, new ShipyardSavedData.RegionData(newOrigin, region.sizeX, region.sizeY, region.sizeZ));
+        data.putAllocator(ALLOCATOR.save());
+        return true;
+    }
+
+    /**
+     * Clears up to {@code budget} sections of queued regions. Sections fully inside a region are
+     * swapped for empty ones; sections it only partly covers go through a {@link SectionBlockWriter}.
+     */
+    private static void processClears(ServerLevel shipyard, int budget) {
+        if (PENDING_CLEARS.isEmpty()) {
+            return;
+        }
+        SectionBlockWriter writer = new SectionBlockWriter(shipyard);
+        Set<LevelChunk> swapped = new HashSet<>();
+        while (budget > 0 && !PENDING_CLEARS.isEmpty()) {
+            PendingClear clear = PENDING_CLEARS.peek();
+            LevelChunk chunk = shipyard.getChunk(clear.chunkX, clear.chunkZ);
+            int index = chunk.getSectionIndexFromSectionY(clear.sectionY);
+            if (index >= 0 && index < chunk.getSectionsCount() && !chunk.getSection(index).hasOnlyAir()) {
+                if (clear.coversSection()) {
+                    swapEmptySection(shipyard, chunk, index, clear.sectionY);
+                    swapped.add(chunk);
+                } else {
+                    clear.removeCells(chunk.getSection(index), writer);
+                }
+            }
+            budget--;
+            if (!clear.advance()) {
+                PENDING_CLEARS.poll();
+                finishClear(shipyard, clear);
+            }
+        }
+        runWithSuppressedUpdates(writer::flush);
+
+        ThreadedLevelLightEngine lightEngine = shipyard.getChunkSource().getLightEngine();
+        for (LevelChunk chunk : swapped) {
+            Set<Heightmap.Types> heightmaps = EnumSet.noneOf(Heightmap.Types.class);
+            for (Map.Entry<Heightmap.Types, Heightmap> heightmap : chunk.getHeightmaps()) {
+                heightmaps.add(heightmap.getKey());
+            }
+            Heightmap.primeHeightmaps(chunk, heightmaps);
+            chunk.setUnsaved(true);
+            ClientboundLevelChunkWithLightPacket packet = new ClientboundLevelChunkWithLightPacket(chunk, lightEngine, null, null);
+            for (ServerPlayer player : shipyard.getChunkSource().chunkMap.getPlayers(chunk.getPos(), false)) {
+                player.connection.send(packet);
+            }
+        }
+    }
+
+    private static void swapEmptySection(ServerLevel shipyard, LevelChunk chunk, int index, int sectionY) {
+        LevelChunkSection old = chunk.getSection(index);
+        if (old.maybeHas(BlockState::hasBlockEntity)) {
+            List<BlockPos> inSection = new ArrayList<>();
+            for (BlockPos pos : chunk.getBlockEntities().keySet()) {
+                if (SectionPos.blockToSectionCoord(pos.getY()) == sectionY) {
+                    inSection.add(pos);
+                }
+            }
+            for (BlockPos pos : inSection) {
+                chunk.removeBlockEntity(pos);
+            }
+        }
+        chunk.getSections()[index] = new LevelChunkSection(
+                new PalettedContainer<>(Block.BLOCK_STATE_REGISTRY, Blocks.AIR.defaultBlockState(), PalettedContainer.Strategy.SECTION_STATES),
+                old.getBiomes());
+        shipyard.getChunkSource().getLightEngine()
+                .updateSectionStatus(SectionPos.of(chunk.getPos(), sectionY), true);
+    }
+
+    private static void finishClear(ServerLevel shipyard, PendingClear clear) {
+        ShipyardAllocator.Rect footprint = clear.footprint;
+        for (int cx = clear.minChunkX; cx <= clear.maxChunkX; cx++) {
+            for (int cz = clear.minChunkZ; cz <= clear.maxChunkZ; cz++) {
+                if (REGIONS_BY_CHUNK.get(ChunkPos.asLong(cx, cz)) == null) {
+                    shipyard.setChunkForced(cx, cz, false);
+                }
+            }
+        }
+        ALLOCATOR.release(footprint);
+        ShipyardSavedData data = ShipyardSavedData.get(shipyard);
+        data.removeClearing(clear.bounds);
+        data.putAllocator(ALLOCATOR.save());
+    }
+
+    private static boolean hasPendingUpdates(UUID ownerId) {
+        synchronized (PENDING_UPDATES) {
+            for (PendingUpdate update : PENDING_UPDATES) {
+                if (update.ownerId.equals(ownerId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     private static void runWithSuppressedUpdates(Runnable task) {
@@ -451,33 +699,25 @@ public final class ShipyardManager {
                     new ChunkPos(region.origin()),
                     new ChunkPos(region.getMax()));
             REGIONS_BY_OWNER.put(ownerId, loadedRegion);
-        }
-        recomputeAllocator();
+            indexChunks(loadedRegion, true);
+            ALLOCATOR.reserve(footprint(loadedRegion));
+        }
+        // Clears cut short by a stop start over; cells already cleared are skipped quickly.
+        for (ShipyardSavedData.RegionData bounds : data.getClearing()) {
+            ShipyardAllocator.Rect footprint = ShipyardAllocator.footprint(bounds.origin().getX(), bounds.origin().getZ(),
+                    bounds.sizeX(), bounds.sizeZ(), PADDING);
+            ALLOCATOR.reserve(footprint);
+            PENDING_CLEARS.add(new PendingClear(bounds, footprint));
+        }
+        // Worlds saved before the allocator only get the skyline back from their regions.
+        ALLOCATOR.load(data.getAllocator());
         loaded = true;
     }
 
-    private static void recomputeAllocator() {
-        int maxZ = 0;
-        for (ShipyardRegion region : REGIONS_BY_OWNER.values()) {
-            BlockPos max = region.getMax();
-            maxZ = Math.max(maxZ, max.getZ() + PADDING);
-        }
-        nextX = 0;
-        nextZ = maxZ;
-        rowDepth = 0;
-    }
-
     private static ShipyardRegion allocateRegion(UUID ownerId, long bodyId, int sizeX, int sizeY, int sizeZ) {
-        int paddedX = sizeX + PADDING * 2;
-        int paddedZ = sizeZ + PADDING * 2;
-        if (nextX + paddedX > MAX_ROW_WIDTH) {
-            nextX = 0;
-            nextZ += rowDepth;
-            rowDepth = 0;
-        }
-        BlockPos origin = new BlockPos(nextX + PADDING, BASE_Y, nextZ + PADDING);
-        nextX += paddedX;
-        rowDepth = Math.max(rowDepth, paddedZ);
+        ShipyardAllocator.Rect spot = ALLOCATOR.find(chunksFor(sizeX), chunksFor(sizeZ));
+        ALLOCATOR.claim(spot);
+        BlockPos origin = new BlockPos((spot.x() << 4) + PADDING, BASE_Y, (spot.z() << 4) + PADDING);
 
         BlockPos max = new BlockPos(origin.getX() + sizeX - 1, origin.getY() + sizeY - 1, origin.getZ() + sizeZ - 1);
         ChunkPos minChunk = new ChunkPos(origin);
@@ -498,6 +738,33 @@ public final class ShipyardManager {
         }
     }
 
+    // Chunk columns a region of this size needs, padding included on both sides.
+    private static int chunksFor(int size) {
+        return (size + PADDING * 2 + 15) >> 4;
+    }
+
+    private static ShipyardAllocator.Rect footprint(ShipyardRegion region) {
+        return ShipyardAllocator.footprint(region.origin.getX(), region.origin.getZ(), region.sizeX, region.sizeZ, PADDING);
+    }
+
+    private static void indexChunks(ShipyardRegion region, boolean add) {
+        ChunkPos min = region.minChunk();
+        ChunkPos max = region.maxChunk();
+        for (int cx = min.x; cx <= max.x; cx++) {
+            for (int cz = min.z; cz <= max.z; cz++) {
+                long key = ChunkPos.asLong(cx, cz);
+                if (add) {
+                    REGIONS_BY_CHUNK.computeIfAbsent(key, k -> new ObjectArrayList<>(1)).add(region);
+                    continue;
+                }
+                ObjectArrayList<ShipyardRegion> regions = REGIONS_BY_CHUNK.get(key);
+                if (regions != null && regions.remove(region) && regions.isEmpty()) {
+                    REGIONS_BY_CHUNK.remove(key);
+                }
+            }
+        }
+    }
+
     private static void registerRegion(ServerLevel shipyard, ShipyardRegion region, boolean persist) {
         if (region == null) {
             return;
@@ -505,6 +772,7 @@ public final class ShipyardManager {
         synchronized (REGIONS_BY_OWNER) {
             REGIONS_BY_OWNER.put(region.ownerId, region);
         }
+        indexChunks(region, true);
         if (region.bodyId > 0) {
             synchronized (REGIONS_BY_BODY) {
                 REGIONS_BY_BODY.put(region.bodyId, region);
@@ -514,6 +782,7 @@ public final class ShipyardManager {
         if (persist && shipyard != null) {
             ShipyardSavedData data = ShipyardSavedData.get(shipyard);
             data.putRegion(region.ownerId, new ShipyardSavedData.RegionData(region.origin, region.sizeX, region.sizeY, region.sizeZ));
+            data.putAllocator(ALLOCATOR.save());
         }
     }
 
@@ -579,6 +848,77 @@ public final class ShipyardManager {
     public record ExpansionResult(BlockPos shift, ShipyardRegion region) {
     }
 
+    /**
+     * A removed region's bounds being cleared one section at a time, chunk column by column.
+     */
+    private static final class PendingClear {
+        private final ShipyardSavedData.RegionData bounds;
+        private final BlockPos min;
+        private final BlockPos max;
+        private final ShipyardAllocator.Rect footprint;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int maxChunkX;
+        private final int maxChunkZ;
+        private int chunkX;
+        private int chunkZ;
+        private int sectionY;
+
+        private PendingClear(ShipyardSavedData.RegionData bounds, ShipyardAllocator.Rect footprint) {
+            this.bounds = bounds;
+            this.min = bounds.origin();
+            this.max = bounds.getMax();
+            this.footprint = footprint;
+            this.minChunkX = min.getX() >> 4;
+            this.minChunkZ = min.getZ() >> 4;
+            this.maxChunkX = max.getX() >> 4;
+            this.maxChunkZ = max.getZ() >> 4;
+            this.chunkX = minChunkX;
+            this.chunkZ = minChunkZ;
+            this.sectionY = min.getY() >> 4;
+        }
+
+        private boolean coversSection() {
+            return min.getX() <= chunkX << 4 && max.getX() >= (chunkX << 4) + 15
+                    && min.getY() <= sectionY << 4 && max.getY() >= (sectionY << 4) + 15
+                    && min.getZ() <= chunkZ << 4 && max.getZ() >= (chunkZ << 4) + 15;
+        }
+
+        private void removeCells(LevelChunkSection section, SectionBlockWriter writer) {
+            BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+            int x0 = Math.max(min.getX(), chunkX << 4);
+            int x1 = Math.min(max.getX(), (chunkX << 4) + 15);
+            int y0 = Math.max(min.getY(), sectionY << 4);
+            int y1 = Math.min(max.getY(), (sectionY << 4) + 15);
+            int z0 = Math.max(min.getZ(), chunkZ << 4);
+            int z1 = Math.min(max.getZ(), (chunkZ << 4) + 15);
+            for (int y = y0; y <= y1; y++) {
+                for (int z = z0; z <= z1; z++) {
+                    for (int x = x0; x <= x1; x++) {
+                        if (!section.getBlockState(x & 15, y & 15, z & 15).isAir()) {
+                            writer.remove(cursor.set(x, y, z));
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Steps to the next section; false once every section has been visited.
+         */
+        private boolean advance() {
+            if (++sectionY <= max.getY() >> 4) {
+                return true;
+            }
+            sectionY = min.getY() >> 4;
+            if (++chunkZ <= maxChunkZ) {
+                return true;
+            }
+            chunkZ = minChunkZ;
+            return ++chunkX <= maxChunkX;
+        }
+    }
+
     private record PendingUpdate(UUID ownerId, LongIterator iterator) {
         private PendingUpdate(UUID ownerId, LongArrayList keys) {
             this(ownerId, keys.iterator());
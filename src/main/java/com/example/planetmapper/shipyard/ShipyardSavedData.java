@@ -9,13 +9,17 @@ import net.minecraft.util.datafix.DataFixTypes;
 import net.minecraft.world.level.saveddata.SavedData;
 import net.minecraft.server.level.ServerLevel;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 public class ShipyardSavedData extends SavedData {
     private static final String DATA_NAME = "planetmapper_shipyard";
     private final Map<UUID, RegionData> regions = new HashMap<>();
+    private final List<RegionData> clearing = new ArrayList<>();
+    private int[] allocator;
 
     public static ShipyardSavedData load(CompoundTag tag, HolderLookup.Provider provider) {
         ShipyardSavedData data = new ShipyardSavedData();
@@ -23,13 +27,14 @@ public class ShipyardSavedData extends SavedData {
         for (int i = 0; i < list.size(); i++) {
             CompoundTag entry = list.getCompound(i);
             UUID owner = entry.getUUID("Owner");
-            int x = entry.getInt("X");
-            int y = entry.getInt("Y");
-            int z = entry.getInt("Z");
-            int sizeX = entry.getInt("SizeX");
-            int sizeY = entry.getInt("SizeY");
-            int sizeZ = entry.getInt("SizeZ");
-            data.regions.put(owner, new RegionData(new BlockPos(x, y, z), sizeX, sizeY, sizeZ));
+            data.regions.put(owner, readBounds(entry));
+        }
+        ListTag clearingList = tag.getList("Clearing", Tag.TAG_COMPOUND);
+        for (int i = 0; i < clearingList.size(); i++) {
+            data.clearing.add(readBounds(clearingList.getCompound(i)));
+        }
+        if (tag.contains("Allocator", Tag.TAG_INT_ARRAY)) {
+            data.allocator = tag.getIntArray("Allocator");
         }
         return data;
     }
@@ -40,20 +45,38 @@ public class ShipyardSavedData extends SavedData {
         for (Map.Entry<UUID, RegionData> entry : regions.entrySet()) {
             CompoundTag regionTag = new CompoundTag();
             regionTag.putUUID("Owner", entry.getKey());
-            RegionData region = entry.getValue();
-            BlockPos origin = region.origin();
-            regionTag.putInt("X", origin.getX());
-            regionTag.putInt("Y", origin.getY());
-            regionTag.putInt("Z", origin.getZ());
-            regionTag.putInt("SizeX", region.sizeX());
-            regionTag.putInt("SizeY", region.sizeY());
-            regionTag.putInt("SizeZ", region.sizeZ());
+            writeBounds(regionTag, entry.getValue());
             list.add(regionTag);
         }
         tag.put("Regions", list);
+        ListTag clearingList = new ListTag();
+        for (RegionData bounds : clearing) {
+            CompoundTag clearingTag = new CompoundTag();
+            writeBounds(clearingTag, bounds);
+            clearingList.add(clearingTag);
+        }
+        tag.put("Clearing", clearingList);
+        if (allocator != null) {
+            tag.putIntArray("Allocator", allocator);
+        }
         return tag;
     }
 
+    private static RegionData readBounds(CompoundTag tag) {
+        BlockPos origin = new BlockPos(tag.getInt("X"), tag.getInt("Y"), tag.getInt("Z"));
+        return new RegionData(origin, tag.getInt("SizeX"), tag.getInt("SizeY"), tag.getInt("SizeZ"));
+    }
+
+    private static void writeBounds(CompoundTag tag, RegionData region) {
+        BlockPos origin = region.origin();
+        tag.putInt("X", origin.getX());
+        tag.putInt("Y", origin.getY());
+        tag.putInt("Z", origin.getZ());
+        tag.putInt("SizeX", region.sizeX());
+        tag.putInt("SizeY", region.sizeY());
+        tag.putInt("SizeZ", region.sizeZ());
+    }
+
     public static ShipyardSavedData get(ServerLevel level) {
         return level.getDataStorage().computeIfAbsent(
                 new SavedData.Factory<>(
@@ -73,12 +96,42 @@ public class ShipyardSavedData extends SavedData {
         setDirty();
     }
 
+    /**
+     * Free map of the region allocator, or null for worlds saved before it existed.
+     */
+    public int[] getAllocator() {
+        return allocator;
+    }
+
+    public void putAllocator(int[] allocator) {
+        this.allocator = allocator;
+        setDirty();
+    }
+
     public void removeRegion(UUID ownerId) {
         if (regions.remove(ownerId) != null) {
             setDirty();
         }
     }
 
+    /**
+     * Bounds of removed regions whose blocks are still being cleared.
+     */
+    public List<RegionData> getClearing() {
+        return clearing;
+    }
+
+    public void addClearing(RegionData bounds) {
+        clearing.add(bounds);
+        setDirty();
+    }
+
+    public void removeClearing(RegionData bounds) {
+        if (clearing.remove(bounds)) {
+            setDirty();
+        }
+    }
+
     public record RegionData(BlockPos origin, int sizeX, int sizeY, int sizeZ) {
         public BlockPos getMax() {
             return new BlockPos(origin.getX() + sizeX - 1, origin.getY() + sizeY - 1, origin.getZ() + sizeZ - 1);
@@ -0,0 +1,246 @@
+package com.example.planetmapper.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundSectionBlocksUpdatePacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.level.ThreadedLevelLightEngine;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.EntityBlock;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.lighting.LightEngine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes blocks straight into chunk section storage instead of calling {@code setBlock}
+ * per block. Queued writes are applied a section at a time: one
+ * {@link ClientboundSectionBlocksUpdatePacket} per section, light rechecked only on the
+ * surface of the written volume (and at placed or replaced light sources), and each chunk
+ * reported once.
+ * Replaced block entities are dropped without spilling their contents and placed blocks get
+ * no {@code onPlace} or neighbour updates beyond shape updates at the surface, so callers
+ * must capture what they need before {@link #flush()}.
+ */
+public final class SectionBlockWriter {
+    private static final int[][] DIRECTIONS = {
+            {1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1}
+    };
+
+    private final ServerLevel level;
+    // SectionPos key -> queued writes.
+    private final Long2ObjectOpenHashMap<SectionWrites> sections = new Long2ObjectOpenHashMap<>();
+
+    public SectionBlockWriter(ServerLevel level) {
+        this.level = level;
+    }
+
+    public void remove(BlockPos pos) {
+        set(pos, Blocks.AIR.defaultBlockState(), null);
+    }
+
+    /**
+     * Queues {@code state} at {@code pos}. A block entity for it is loaded from
+     * {@code blockEntityTag} when given, otherwise created fresh.
+     */
+    public void set(BlockPos pos, BlockState state, CompoundTag blockEntityTag) {
+        SectionWrites writes = sections.computeIfAbsent(SectionPos.asLong(pos), key -> new SectionWrites());
+        int index = cellIndex(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+        writes.states[index] = state;
+        if (blockEntityTag != null && !blockEntityTag.isEmpty()) {
+            if (writes.tags == null) {
+                writes.tags = new Int2ObjectOpenHashMap<>();
+            }
+            writes.tags.put(index, blockEntityTag);
+        } else if (writes.tags != null) {
+            writes.tags.remove(index);
+        }
+    }
+
+    public boolean isEmpty() {
+        return sections.isEmpty();
+    }
+
+    /**
+     * Applies every queued write and returns the keys of the chunks that changed.
+     * Writes into unloaded chunks are dropped.
+     */
+    public LongOpenHashSet flush() {
+        LongOpenHashSet chunks = new LongOpenHashSet();
+        if (sections.isEmpty()) {
+            return chunks;
+        }
+        ThreadedLevelLightEngine lightEngine = level.getChunkSource().getLightEngine();
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+
+        for (Long2ObjectMap.Entry<SectionWrites> entry : sections.long2ObjectEntrySet()) {
+            long sectionKey = entry.getLongKey();
+            BlockState[] states = entry.getValue().states;
+            Int2ObjectOpenHashMap<CompoundTag> tags = entry.getValue().tags;
+            int sectionX = SectionPos.x(sectionKey);
+            int sectionY = SectionPos.y(sectionKey);
+            int sectionZ = SectionPos.z(sectionKey);
+            if (sectionY < level.getMinSection() || sectionY >= level.getMaxSection() || !level.hasChunk(sectionX, sectionZ)) {
+                Arrays.fill(states, null);
+                continue;
+            }
+            LevelChunk chunk = level.getChunk(sectionX, sectionZ);
+            LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sectionY));
+            boolean wasEmpty = section.hasOnlyAir();
+            ShortOpenHashSet changed = new ShortOpenHashSet();
+            List<Packet<?>> blockEntityPackets = new ArrayList<>();
+
+            for (int index = 0; index < states.length; index++) {
+                BlockState state = states[index];
+                if (state == null) {
+                    continue;
+                }
+                int x = index & 15;
+                int y = index >>> 8;
+                int z = (index >>> 4) & 15;
+                BlockState old = section.getBlockState(x, y, z);
+                CompoundTag tag = tags != null ? tags.get(index) : null;
+                if (old == state && tag == null) {
+                    states[index] = null;
+                    continue;
+                }
+                cursor.set(SectionPos.sectionToBlockCoord(sectionX, x), SectionPos.sectionToBlockCoord(sectionY, y),
+                        SectionPos.sectionToBlockCoord(sectionZ, z));
+                if (old.getLightEmission() > 0) {
+                    entry.getValue().markOldEmitter(index);
+                }
+                if (old.hasBlockEntity()) {
+                    chunk.removeBlockEntity(cursor);
+                }
+                section.setBlockState(x, y, z, state, false);
+                for (Map.Entry<Heightmap.Types, Heightmap> heightmap : chunk.getHeightmaps()) {
+                    heightmap.getValue().update(x, cursor.getY(), z, state);
+                }
+                if (LightEngine.hasDifferentLightProperties(chunk, cursor, old, state)) {
+                    chunk.getSkyLightSources().update(chunk, x, cursor.getY(), z);
+                }
+                level.onBlockStateChange(cursor, old, state);
+                if (state.hasBlockEntity()) {
+                    BlockEntity blockEntity = createBlockEntity(cursor.immutable(), state, tag);
+                    if (blockEntity != null) {
+                        chunk.addAndRegisterBlockEntity(blockEntity);
+                        Packet<?> packet = blockEntity.getUpdatePacket();
+                        if (packet != null) {
+                            blockEntityPackets.add(packet);
+                        }
+                    }
+                }
+                changed.add(SectionPos.sectionRelativePos(cursor));
+            }
+            if (changed.isEmpty()) {
+                continue;
+            }
+
+            chunk.setUnsaved(true);
+            SectionPos sectionPos = SectionPos.of(sectionX, sectionY, sectionZ);
+            if (wasEmpty != section.hasOnlyAir()) {
+                lightEngine.updateSectionStatus(sectionPos, section.hasOnlyAir());
+            }
+            ClientboundSectionBlocksUpdatePacket packet = new ClientboundSectionBlocksUpdatePacket(sectionPos, changed, section);
+            for (ServerPlayer player : level.getChunkSource().chunkMap.getPlayers(chunk.getPos(), false)) {
+                player.connection.send(packet);
+                for (Packet<?> blockEntityPacket : blockEntityPackets) {
+                    player.connection.send(blockEntityPacket);
+                }
+            }
+            chunks.add(ChunkPos.asLong(sectionX, sectionZ));
+        }
+
+        // Light and neighbour shapes only change where the written volume meets the rest of the world.
+        for (Long2ObjectMap.Entry<SectionWrites> entry : sections.long2ObjectEntrySet()) {
+            long sectionKey = entry.getLongKey();
+            BlockState[] states = entry.getValue().states;
+            BitSet oldEmitters = entry.getValue().oldEmitters;
+            int baseX = SectionPos.sectionToBlockCoord(SectionPos.x(sectionKey));
+            int baseY = SectionPos.sectionToBlockCoord(SectionPos.y(sectionKey));
+            int baseZ = SectionPos.sectionToBlockCoord(SectionPos.z(sectionKey));
+            for (int index = 0; index < states.length; index++) {
+                BlockState state = states[index];
+                if (state == null) {
+                    continue;
+                }
+                int x = baseX + (index & 15);
+                int y = baseY + (index >>> 8);
+                int z = baseZ + ((index >>> 4) & 15);
+                boolean surface = isSurface(x, y, z);
+                // An interior light source that was removed or replaced still has to take its light with it.
+                if (!surface && state.getLightEmission() == 0 && (oldEmitters == null || !oldEmitters.get(index))) {
+                    continue;
+                }
+                cursor.set(x, y, z);
+                lightEngine.checkBlock(cursor);
+                if (surface) {
+                    state.updateNeighbourShapes(level, cursor, Block.UPDATE_CLIENTS, 511);
+                }
+            }
+        }
+        sections.clear();
+        return chunks;
+    }
+
+    private BlockEntity createBlockEntity(BlockPos pos, BlockState state, CompoundTag tag) {
+        if (tag != null) {
+            BlockEntity loaded = BlockEntity.loadStatic(pos, state, tag, level.registryAccess());
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+        return state.getBlock() instanceof EntityBlock entityBlock ? entityBlock.newBlockEntity(pos, state) : null;
+    }
+
+    private boolean isSurface(int x, int y, int z) {
+        for (int[] d : DIRECTIONS) {
+            if (!isWritten(x + d[0], y + d[1], z + d[2])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isWritten(int x, int y, int z) {
+        SectionWrites writes = sections.get(SectionPos.asLong(x >> 4, y >> 4, z >> 4));
+        return writes != null && writes.states[cellIndex(x & 15, y & 15, z & 15)] != null;
+    }
+
+    private static int cellIndex(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    private static final class SectionWrites {
+        // Indexed y << 8 | z << 4 | x; null where nothing is queued.
+        private final BlockState[] states = new BlockState[4096];
+        private Int2ObjectOpenHashMap<CompoundTag> tags;
+        // Cells whose replaced state emitted light; null until one is written.
+        private BitSet oldEmitters;
+
+        private void markOldEmitter(int index) {
+            if (oldEmitters == null) {
+                oldEmitters = new BitSet(4096);
+            }
+            oldEmitters.set(index);
+        }
+    }
+}